@@ -52,18 +52,82 @@ CREATE TABLE IF NOT EXISTS news_articles (
 );
 
 -- 사용자 뉴스 상호작용 테이블 (클릭, 좋아요, 공유 등)
+-- interaction_time 기준 월별 RANGE 파티션. 파티션 테이블은 외래 키를 가질 수 없고 PK에 파티션 키가 포함되어야 한다.
+-- 기동 시 p_future를 이번 달 이전(p_history)과 월별 파티션으로 나누고, 이후 월 파티션 생성과 보존 기간(jibmusil.analytics.retention-days)이 지난 파티션 삭제는 InteractionPartitionManager가 수행
 CREATE TABLE IF NOT EXISTS user_news_interactions (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT AUTO_INCREMENT,
     user_id BIGINT NOT NULL,
     news_article_id BIGINT NOT NULL,
     interaction_type ENUM('VIEW', 'CLICK', 'LIKE', 'SHARE', 'SAVE', 'DISLIKE') NOT NULL,
-    interaction_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    interaction_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     reading_time_seconds INT DEFAULT 0,
-    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (news_article_id) REFERENCES news_articles(id) ON DELETE CASCADE,
+    PRIMARY KEY (id, interaction_time),
     INDEX idx_user_interaction (user_id, interaction_type),
+    INDEX idx_user_time (user_id, interaction_time),
     INDEX idx_article_interaction (news_article_id, interaction_type),
     INDEX idx_interaction_time (interaction_time)
+)
+PARTITION BY RANGE COLUMNS (interaction_time) (
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- 파티션 삭제 전에 남기는 일별 상호작용 집계
+CREATE TABLE IF NOT EXISTS interaction_daily_rollups (
+    rollup_date DATE NOT NULL,
+    news_article_id BIGINT NOT NULL,
+    interaction_type ENUM('VIEW', 'CLICK', 'LIKE', 'SHARE', 'SAVE', 'DISLIKE') NOT NULL,
+    interaction_count BIGINT NOT NULL,
+    unique_users BIGINT NOT NULL,
+    total_reading_seconds BIGINT NOT NULL,
+    PRIMARY KEY (rollup_date, news_article_id, interaction_type),
+    INDEX idx_rollup_article (news_article_id, rollup_date)
+);
+
+-- news-view / user-activity 이벤트의 분 단위 집계 (EngagementWindowConsumer)
+CREATE TABLE IF NOT EXISTS article_engagement_minutes (
+    window_start DATETIME NOT NULL,
+    news_article_id BIGINT NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    activities BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (window_start, news_article_id),
+    INDEX idx_engagement_article (news_article_id, window_start)
+);
+
+CREATE TABLE IF NOT EXISTS category_engagement_minutes (
+    window_start DATETIME NOT NULL,
+    category_id BIGINT NOT NULL,
+    views BIGINT NOT NULL DEFAULT 0,
+    activities BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (window_start, category_id),
+    INDEX idx_engagement_category (category_id, window_start)
+);
+
+-- 분 단위 집계에 반영한 파티션별 다음 오프셋. 집계와 같은 트랜잭션으로 갱신해 재전달 시 중복 집계를 막는다
+CREATE TABLE IF NOT EXISTS engagement_consumer_offsets (
+    topic VARCHAR(100) NOT NULL,
+    partition_id INT NOT NULL,
+    next_offset BIGINT NOT NULL,
+    PRIMARY KEY (topic, partition_id)
+);
+
+-- 트랜잭셔널 아웃박스: 기사 저장과 같은 트랜잭션에 기록하고 OutboxRelay가 발행 후 sent_at을 채운다
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    event_key VARCHAR(100),
+    payload VARBINARY(16384) NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    sent_at DATETIME(3) NULL,
+    claimed_until DATETIME(3) NULL,  -- 발행 중인 인스턴스의 리스, 만료되면 다른 인스턴스가 다시 가져간다
+    INDEX idx_outbox_unsent (sent_at, id)
+);
+
+-- 감정 분석 원문 (sentiment-analysis 이벤트는 content_hash만 싣는다)
+CREATE TABLE IF NOT EXISTS sentiment_texts (
+    content_hash BINARY(16) PRIMARY KEY,
+    text MEDIUMTEXT NOT NULL,
+    created_at DATETIME NOT NULL,
+    INDEX idx_sentiment_texts_created (created_at)
 );
 
 -- 사용자 개인화 프로필 테이블
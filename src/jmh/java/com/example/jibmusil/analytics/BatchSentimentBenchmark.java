@@ -0,0 +1,88 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10,000건 묶음 감정 분석 처리량(texts/s)을 건별 순차 호출과 parallelism별 BatchSentimentService로 비교한다.
+ * 결과 캐시는 끄고(용량 0, NoOpCacheManager) 모든 텍스트를 실제로 분석한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchSentimentBenchmark {
+
+    private static final int BATCH = 10_000;
+    private static final String[] SENTENCES = {
+            "Shares surged after the company reported record profits and strong guidance.",
+            "Factory fire killed three workers and forced an emergency shutdown.",
+            "Analysts said risks from tariffs could weigh on growth later in the year.",
+            "반도체 수출이 3개월 연속 상승세를 이어가며 무역수지가 흑자로 돌아섰다.",
+            "전문가들은 중국 경기 둔화가 위험 요인이라며 낙관하기는 이르다고 경고했다.",
+            "The central bank left rates unchanged at its Tuesday meeting."
+    };
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private List<String> texts;
+    private SentimentAnalysisService sentimentAnalysisService;
+    private BatchSentimentService batchSentimentService;
+
+    @Setup
+    public void setUp() {
+        texts = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            texts.add(SENTENCES[i % SENTENCES.length] + " " + SENTENCES[(i / SENTENCES.length) % SENTENCES.length]
+                      + " #" + i);
+        }
+        LexiconSentimentScorer scorer = new LexiconSentimentScorer(
+                new Resource[]{new ClassPathResource("sentiment/lexicon-en.tsv"),
+                               new ClassPathResource("sentiment/lexicon-ko.tsv")}, 3, 2, 2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sentimentAnalysisService = new SentimentAnalysisService(scorer, new HashedFeatureSentimentModel(""), new SentimentResultCache(
+                new NoOpCacheManager(), meterRegistry, 0, Duration.ofMinutes(1), scorer.identity()));
+        // 기사 조회(analyzeArticles)는 측정하지 않으므로 저장소는 필요 없다
+        batchSentimentService = new BatchSentimentService(sentimentAnalysisService, null,
+                                                          meterRegistry, parallelism, 16, BATCH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchSentimentService.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<SentimentResult> sequential() {
+        List<SentimentResult> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(sentimentAnalysisService.analyze(text));
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<SentimentResult> forkJoin() {
+        return batchSentimentService.analyzeTexts(texts);
+    }
+}
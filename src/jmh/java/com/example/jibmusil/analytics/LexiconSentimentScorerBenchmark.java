@@ -0,0 +1,101 @@
+package com.example.jibmusil.analytics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기사 한 건(제목 + 본문 요약) 감성 점수 처리량(articles/s)을 이전 키워드 contains 방식과 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LexiconSentimentScorerBenchmark {
+
+    private static final String ENGLISH = """
+            Chipmakers rally as AI server demand lifts quarterly guidance. Shares of the largest memory producers \
+            surged on Tuesday after the company reported record profits and said demand for high-bandwidth chips \
+            was not slowing, easing concerns about a downturn. Analysts said the outlook remains strong, although \
+            risks from tariffs and export restrictions could weigh on growth later in the year, and some investors \
+            worried that valuations are very stretched after the recent gains.""";
+
+    private static final String KOREAN = """
+            반도체 수출이 3개월 연속 상승세를 이어가며 무역수지가 흑자로 돌아섰다. 정부는 하반기에도 수요 회복이 \
+            이어질 것으로 기대한다고 밝혔지만, 일부 전문가들은 미국의 관세 인상과 중국 경기 둔화가 위험 요인이라며 \
+            낙관하기는 이르다고 경고했다. 증시는 외국인 매수세에 힘입어 크게 올랐으나 환율 변동성에 대한 우려는 \
+            여전히 해소되지 않았다.""";
+
+    @Param({"en", "ko"})
+    public String language;
+
+    private String text;
+    private LexiconSentimentScorer scorer;
+
+    @Setup
+    public void setUp() {
+        text = language.equals("en") ? ENGLISH : KOREAN;
+        scorer = new LexiconSentimentScorer(new Resource[]{new ClassPathResource("sentiment/lexicon-en.tsv"),
+                                                           new ClassPathResource("sentiment/lexicon-ko.tsv")}, 3, 2, 2);
+    }
+
+    @Benchmark
+    public double keywordContains() {
+        return LegacyKeywordSentiment.score(text);
+    }
+
+    @Benchmark
+    public double lexicon() {
+        return scorer.score(text);
+    }
+
+    // 사전 기반 엔진 도입 전 SentimentAnalysisService.keywordBasedSentimentAnalysis와 같은 로직
+    static final class LegacyKeywordSentiment {
+
+        static double score(String text) {
+            String lowerText = text.toLowerCase();
+            String[] positiveWords = {
+                "good", "great", "excellent", "amazing", "wonderful", "fantastic", "awesome",
+                "positive", "success", "win", "victory", "achievement", "breakthrough", "progress",
+                "love", "like", "enjoy", "happy", "pleased", "satisfied", "excited", "thrilled",
+                "best", "better", "improved", "upgrade", "advance", "growth", "opportunity"
+            };
+            String[] negativeWords = {
+                "bad", "terrible", "awful", "horrible", "disaster", "crisis", "problem", "issue",
+                "fail", "failure", "loss", "defeat", "decline", "crash", "collapse", "emergency",
+                "hate", "dislike", "angry", "upset", "disappointed", "frustrated", "concerned",
+                "worst", "worse", "decline", "drop", "fall", "threat", "risk", "danger"
+            };
+            String[] neutralWords = {
+                "said", "according", "reported", "announced", "stated", "mentioned", "noted",
+                "analysis", "study", "research", "data", "statistics", "information", "details"
+            };
+            int positiveCount = count(lowerText, positiveWords);
+            int negativeCount = count(lowerText, negativeWords);
+            int neutralCount = count(lowerText, neutralWords);
+            int total = positiveCount + negativeCount;
+            if (total == 0 || neutralCount > total) {
+                return 0;
+            }
+            return (double) (positiveCount - negativeCount) / total;
+        }
+
+        private static int count(String text, String[] keywords) {
+            int count = 0;
+            for (String keyword : keywords) {
+                if (text.contains(keyword)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jibmusil.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SentimentAnalysisService.sentimentScore의 기사당 처리량과 할당량(gc.alloc.rate.norm)을
+ * 사전 기반 점수와 메모리 매핑한 해시 특징 모델(2^18 가중치, 1MB)로 비교한다.
+ * 가중치는 임의 값이라 점수 자체는 의미가 없고 추론 비용만 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SentimentModelBenchmark {
+
+    private static final String ARTICLE = """
+            Chipmakers rally as AI server demand lifts quarterly guidance. Shares of the largest memory producers \
+            surged on Tuesday after the company reported record profits, easing concerns about a downturn. \
+            반도체 수출이 3개월 연속 상승세를 이어가며 무역수지가 흑자로 돌아섰지만 일부 전문가들은 관세 인상이 \
+            위험 요인이라며 낙관하기는 이르다고 경고했다.""";
+
+    @Param({"lexicon", "model"})
+    public String scorer;
+
+    private SentimentAnalysisService sentimentAnalysisService;
+
+    @Setup
+    public void setUp() throws IOException {
+        HashedFeatureSentimentModel model = new HashedFeatureSentimentModel("");
+        if (scorer.equals("model")) {
+            float[] weights = new float[1 << 18];
+            Random random = new Random(42);
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = (float) random.nextGaussian() * 0.1f;
+            }
+            Path file = Files.createTempFile("sentiment-model", ".bin");
+            file.toFile().deleteOnExit();
+            HashedFeatureSentimentModel.write(file, 0f, weights);
+            model = new HashedFeatureSentimentModel(file.toString());
+        }
+        LexiconSentimentScorer lexicon = new LexiconSentimentScorer(
+                new Resource[]{new ClassPathResource("sentiment/lexicon-en.tsv"),
+                               new ClassPathResource("sentiment/lexicon-ko.tsv")}, 3, 2, 2);
+        sentimentAnalysisService = new SentimentAnalysisService(lexicon, model, new SentimentResultCache(
+                new NoOpCacheManager(), new SimpleMeterRegistry(), 0, Duration.ofMinutes(1),
+                model.isLoaded() ? model.identity() : lexicon.identity()));
+    }
+
+    @Benchmark
+    public double sentimentScore() {
+        return sentimentAnalysisService.sentimentScore(ARTICLE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.jibmusil.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * in-memory 백엔드의 발행 처리량(events/s)과 발행에서 구독자 수신까지의 지연을 잰다.
+ * 지연은 페이로드에 담은 발행 시각(nanoTime)으로 구독자가 계산해 tearDown에서 평균/최대를 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RingBufferEventBusBenchmark {
+
+    private RingBufferEventBus bus;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EventBusSubscriber subscriber = new EventBusSubscriber() {
+            @Override
+            public Set<String> topics() {
+                return Set.of();
+            }
+
+            @Override
+            public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+                long now = System.nanoTime();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    long latency = now - readLong(record.value());
+                    latencyNanos.add(latency);
+                    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                }
+                received.add(records.size());
+            }
+        };
+        bus = new RingBufferEventBus(List.of(subscriber), new SimpleMeterRegistry(), 65536, 1024,
+                                     Duration.ofSeconds(10), Duration.ofSeconds(10), false, null, false,
+                                     Duration.ofSeconds(1), 1, Duration.ZERO, null);
+        bus.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        bus.stop();
+        long count = received.sum();
+        System.out.printf("%nreceived=%d avg latency=%.1fus max latency=%.1fus%n", count,
+                          count > 0 ? latencyNanos.sum() / 1000.0 / count : 0.0, maxLatencyNanos.get() / 1000.0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object publishSingleProducer() {
+        return bus.publish("news-view", "1", timestamped());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object publishFourProducers() {
+        return bus.publish("news-view", "1", timestamped());
+    }
+
+    private static byte[] timestamped() {
+        long now = System.nanoTime();
+        byte[] payload = new byte[18];
+        for (int i = 0; i < 8; i++) {
+            payload[i] = (byte) (now >>> (56 - 8 * i));
+        }
+        return payload;
+    }
+
+    private static long readLong(byte[] bytes) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
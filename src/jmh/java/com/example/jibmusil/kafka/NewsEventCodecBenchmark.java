@@ -0,0 +1,86 @@
+package com.example.jibmusil.kafka;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이벤트 한 건 직렬화 처리량(events/s)과 크기(bytes/event)를 이전 JsonSerializer + DTO 경로와 비교한다.
+ * 크기는 setUp에서 한 번 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NewsEventCodecBenchmark {
+
+    private JsonSerializer<Object> jsonSerializer;
+    private LegacyProcessedEvent legacyProcessed;
+    private LegacyViewEvent legacyView;
+    private NewsEvent.Processed processed;
+    private NewsEvent.View view;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        LocalDateTime publishedAt = LocalDateTime.of(2026, 10, 19, 8, 30);
+        LocalDateTime now = publishedAt.plusMinutes(5);
+        String title = "Chipmakers rally as AI server demand lifts quarterly guidance";
+        String url = "https://news.example.com/business/2026/10/19/chipmakers-rally-ai-server-demand";
+
+        legacyProcessed = new LegacyProcessedEvent(1234567L, title, url, 3L, new BigDecimal("0.35"),
+                                                   new BigDecimal("128"), publishedAt, now);
+        legacyView = new LegacyViewEvent(1234567L, now);
+        processed = new NewsEvent.Processed(1234567L, title, url, 3L, 0.35f, 128f,
+                                            publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                                            now.toInstant(ZoneOffset.UTC).toEpochMilli());
+        view = new NewsEvent.View(1234567L, now.toInstant(ZoneOffset.UTC).toEpochMilli(), 1);
+
+        System.out.printf("%nbytes/event processed: json=%d binary=%d, view: json=%d binary=%d%n",
+                          jsonProcessed().length, binaryProcessed().length, jsonView().length, binaryView().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+    }
+
+    @Benchmark
+    public byte[] jsonProcessed() {
+        return jsonSerializer.serialize("news-processed", legacyProcessed);
+    }
+
+    @Benchmark
+    public byte[] binaryProcessed() {
+        return NewsEventCodec.encode(processed);
+    }
+
+    @Benchmark
+    public byte[] jsonView() {
+        return jsonSerializer.serialize("news-view", legacyView);
+    }
+
+    @Benchmark
+    public byte[] binaryView() {
+        return NewsEventCodec.encode(view);
+    }
+
+    // 바이너리 코덱 도입 전 NewsKafkaProducer DTO와 같은 모양 (Object 점수, LocalDateTime)
+    public record LegacyProcessedEvent(Long articleId, String title, String url, Long categoryId,
+                                       Object sentimentScore, Object popularityScore,
+                                       LocalDateTime publishedAt, LocalDateTime processedAt) {
+    }
+
+    public record LegacyViewEvent(Long articleId, LocalDateTime viewedAt) {
+    }
+}
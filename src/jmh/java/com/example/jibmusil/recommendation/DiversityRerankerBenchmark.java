@@ -0,0 +1,68 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 후보 200개를 20개로 MMR 재정렬하는 비용 측정 (목표: 수백 마이크로초 이내).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiversityRerankerBenchmark {
+
+    private static final String[] KEYWORDS = {"ai", "technology", "business", "politics", "health", "sports", "economy"};
+    private static final String[] SOURCES = {"Reuters", "BBC News", "The Verge", "Bloomberg", "연합뉴스", "TechCrunch"};
+    private static final String[] WORDS = {"market", "election", "launch", "record", "growth", "crisis", "update",
+            "season", "model", "study", "policy", "startup", "team", "vaccine", "chip", "funding"};
+
+    @Param({"200"})
+    private int candidates;
+
+    @Param({"20"})
+    private int limit;
+
+    private DiversityReranker reranker;
+    private List<NewsArticle> articles;
+    private float[] relevance;
+
+    @Setup
+    public void setUp() {
+        reranker = new DiversityReranker(0.7f, 0.4f, 0.2f, 0.4f);
+        Random random = new Random(42);
+        articles = new ArrayList<>(candidates);
+        relevance = new float[candidates];
+        for (int i = 0; i < candidates; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            articles.add(NewsArticle.builder()
+                    .id((long) i + 1)
+                    .title(title.toString())
+                    .categoryId((long) random.nextInt(6))
+                    .sourceName(SOURCES[random.nextInt(SOURCES.length)])
+                    .keywords(new String[]{KEYWORDS[random.nextInt(KEYWORDS.length)], KEYWORDS[random.nextInt(KEYWORDS.length)]})
+                    .entities(new String[]{"PERSON"})
+                    .build());
+            relevance[i] = random.nextFloat();
+        }
+    }
+
+    @Benchmark
+    public DiversityReranker.Result rerank() {
+        return reranker.rerank(articles, relevance, limit);
+    }
+}
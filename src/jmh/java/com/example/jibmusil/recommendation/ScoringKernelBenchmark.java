@@ -0,0 +1,111 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.user.UserPreferenceProfile;
+import com.example.jibmusil.util.LongFloatHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 후보 10k개를 선호도 × 품질 prior로 점수화해 상위 50개를 고르는 비용 비교.
+ * bigDecimal은 기존 코드처럼 비교/가중합마다 BigDecimal을 만들고 정렬하는 방식,
+ * primitiveKernel은 ScoringKernel로 열 배열을 한 번 펼친 뒤 float 계산과 힙 선택만 하는 방식이다.
+ * 할당량은 -prof gc(build.gradle 기본값)의 gc.alloc.rate.norm으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScoringKernelBenchmark {
+
+    @Param({"10000"})
+    private int candidates;
+
+    @Param({"50"})
+    private int limit;
+
+    private List<NewsArticle> articles;
+    private Map<Long, UserPreferenceProfile> profiles;
+    private LongFloatHashMap categoryPreference;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        articles = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            articles.add(NewsArticle.builder()
+                    .id((long) i + 1)
+                    .categoryId((long) random.nextInt(12))
+                    .popularityScore(BigDecimal.valueOf(random.nextInt(50_000), 2))
+                    .factCheckScore(BigDecimal.valueOf(random.nextInt(101), 2))
+                    .build());
+        }
+        profiles = new HashMap<>();
+        categoryPreference = new LongFloatHashMap(12);
+        for (long category = 0; category < 12; category++) {
+            UserPreferenceProfile profile = UserPreferenceProfile.withScore(
+                    1L, category, BigDecimal.valueOf(random.nextInt(10_001), 4));
+            profiles.put(category, profile);
+            if (profile.isHighPreference()) {
+                categoryPreference.put(category, profile.preferenceValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<NewsArticle> bigDecimal() {
+        BigDecimal maxPopularity = BigDecimal.ONE;
+        for (NewsArticle article : articles) {
+            maxPopularity = maxPopularity.max(article.getPopularityScore());
+        }
+
+        List<Map.Entry<NewsArticle, BigDecimal>> scored = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            UserPreferenceProfile profile = profiles.get(article.getCategoryId());
+            BigDecimal preference = profile != null
+                    && profile.getPreferenceScore().compareTo(new BigDecimal("0.7")) >= 0
+                    ? profile.getPreferenceScore() : BigDecimal.ZERO;
+            BigDecimal quality = new BigDecimal("0.7")
+                    .add(new BigDecimal("0.2").multiply(
+                            article.getPopularityScore().divide(maxPopularity, 4, RoundingMode.HALF_UP)))
+                    .add(new BigDecimal("0.1").multiply(article.getFactCheckScore()));
+            scored.add(Map.entry(article, preference.multiply(quality)));
+        }
+        scored.sort(Map.Entry.<NewsArticle, BigDecimal>comparingByValue(Comparator.reverseOrder()));
+
+        List<NewsArticle> top = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            top.add(scored.get(i).getKey());
+        }
+        return top;
+    }
+
+    @Benchmark
+    public List<NewsArticle> primitiveKernel() {
+        ScoringKernel.Features features = ScoringKernel.Features.of(articles);
+        float[] scores = new float[features.size()];
+        ScoringKernel.score(features, categoryPreference, scores);
+        int[] top = ScoringKernel.topK(scores, scores.length, limit);
+
+        List<NewsArticle> result = new ArrayList<>(top.length);
+        for (int index : top) {
+            result.add(articles.get(index));
+        }
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.jibmusil.analytics;
 
 import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.TrendingEngine;
 import com.example.jibmusil.user.UserNewsInteractionRepository;
 import com.example.jibmusil.user.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,6 +26,7 @@ import java.util.Map;
 public class AnalyticsController {
     
     private final NewsRepository newsRepository;
+    private final TrendingEngine trendingEngine;
     private final UserRepository userRepository;
     private final UserNewsInteractionRepository interactionRepository;
     
@@ -50,7 +52,7 @@ public class AnalyticsController {
             Map<String, Object> sentimentStats = getSentimentStatistics();
             
             // 인기 뉴스
-            List<Object> topNews = newsRepository.findTrendingNews(5)
+            List<Object> topNews = trendingEngine.getTrending(5)
                     .stream()
                     .map(article -> (Object) Map.of(
                             "id", (Object) article.getId(),
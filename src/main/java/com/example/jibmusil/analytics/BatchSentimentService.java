@@ -0,0 +1,143 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 여러 텍스트의 감정 분석을 코어 수만큼의 전용 ForkJoinPool에서 나눠 처리한다.
+ * 입력을 leaf-size 이하 구간이 될 때까지 반으로 쪼개 work-stealing으로 분배하며,
+ * 각 텍스트는 SentimentAnalysisService.analyze(결과 캐시 포함)를 거친다.
+ * 공용 풀(ForkJoinPool.commonPool)을 쓰지 않아 병렬 스트림 등 다른 작업과 경쟁하지 않는다.
+ */
+@Service
+public class BatchSentimentService {
+
+    private final SentimentAnalysisService sentimentAnalysisService;
+    private final NewsRepository newsRepository;
+    private final ForkJoinPool pool;
+    private final int leafSize;
+    private final int maxItems;
+    private final Timer batchTimer;
+    private final Counter itemCounter;
+
+    public BatchSentimentService(
+            SentimentAnalysisService sentimentAnalysisService,
+            NewsRepository newsRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.sentiment.batch.parallelism:0}") int parallelism,
+            @Value("${jibmusil.sentiment.batch.leaf-size:16}") int leafSize,
+            @Value("${jibmusil.sentiment.batch.max-items:10000}") int maxItems) {
+        this.sentimentAnalysisService = sentimentAnalysisService;
+        this.newsRepository = newsRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.leafSize = Math.max(1, leafSize);
+        this.maxItems = maxItems;
+        this.batchTimer = meterRegistry.timer("sentiment.batch");
+        this.itemCounter = meterRegistry.counter("sentiment.batch.items");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public int maxItems() {
+        return maxItems;
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * texts와 같은 순서의 결과 목록.
+     */
+    public List<SentimentResult> analyzeTexts(List<String> texts) {
+        return submit(texts).join();
+    }
+
+    /**
+     * 풀에 제출만 하고 바로 돌려준다. 스트리밍 응답에서 이전 묶음을 쓰는 동안 다음 묶음을 계산할 때 쓴다.
+     */
+    public ForkJoinTask<List<SentimentResult>> submit(List<String> texts) {
+        if (texts.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " texts per batch");
+        }
+        return pool.submit(() -> {
+            SentimentResult[] results = new SentimentResult[texts.size()];
+            batchTimer.record(() -> new AnalyzeRange(texts, results, 0, texts.size()).invoke());
+            itemCounter.increment(texts.size());
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * 기사 ID별 결과(요청 순서). 없는 기사는 빠진다. 텍스트는 수집 시와 같은 제목 + 설명이다.
+     */
+    public Map<Long, SentimentResult> analyzeArticles(Collection<Long> articleIds) {
+        if (articleIds.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " articles per batch");
+        }
+        Map<Long, String> texts = new LinkedHashMap<>();
+        articleIds.forEach(id -> texts.put(id, null));
+        for (NewsArticle article : newsRepository.findAllById(articleIds)) {
+            texts.put(article.getId(), sentimentText(article));
+        }
+        texts.values().removeIf(Objects::isNull);
+
+        List<SentimentResult> results = analyzeTexts(List.copyOf(texts.values()));
+        Map<Long, SentimentResult> byArticle = new LinkedHashMap<>();
+        int i = 0;
+        for (Long articleId : texts.keySet()) {
+            byArticle.put(articleId, results.get(i++));
+        }
+        return byArticle;
+    }
+
+    public static String sentimentText(NewsArticle article) {
+        return article.getTitle() + " " + article.getDescription();
+    }
+
+    private final class AnalyzeRange extends RecursiveAction {
+        private final List<String> texts;
+        private final SentimentResult[] results;
+        private final int from;
+        private final int to;
+
+        AnalyzeRange(List<String> texts, SentimentResult[] results, int from, int to) {
+            this.texts = texts;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = sentimentAnalysisService.analyze(texts.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AnalyzeRange(texts, results, from, mid), new AnalyzeRange(texts, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.util.LongIntHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 분 단위 텀블링 윈도우의 기사/카테고리별 조회, 활동 수를 누적 upsert한다.
+ * 같은 윈도우가 여러 poll에 걸쳐 오거나 늦게 도착해도 더해지므로 결과가 같다.
+ * 누적 upsert는 멱등이 아니므로, Kafka 배치는 파티션별로 반영한 오프셋을 같은 트랜잭션에 기록해
+ * 재전달된 레코드를 두 번 더하지 않는다.
+ */
+@Slf4j
+@Component
+public class EngagementWindowStore {
+
+    private static final String ARTICLE_UPSERT_SQL = """
+            INSERT INTO article_engagement_minutes (window_start, news_article_id, views, activities)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE views = views + VALUES(views), activities = activities + VALUES(activities)
+            """;
+
+    private static final String CATEGORY_UPSERT_SQL = """
+            INSERT INTO category_engagement_minutes (window_start, category_id, views, activities)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE views = views + VALUES(views), activities = activities + VALUES(activities)
+            """;
+
+    private static final String OFFSET_INIT_SQL = """
+            INSERT IGNORE INTO engagement_consumer_offsets (topic, partition_id, next_offset) VALUES (?, ?, 0)
+            """;
+
+    private static final String OFFSET_LOCK_SQL = """
+            SELECT next_offset FROM engagement_consumer_offsets WHERE topic = ? AND partition_id = ? FOR UPDATE
+            """;
+
+    private static final String OFFSET_UPDATE_SQL = """
+            UPDATE engagement_consumer_offsets SET next_offset = ? WHERE topic = ? AND partition_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rowCounter;
+    private final Timer writeTimer;
+
+    public EngagementWindowStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rowCounter = meterRegistry.counter("analytics.engagement.window.rows");
+        this.writeTimer = meterRegistry.timer("analytics.engagement.window.write");
+    }
+
+    /**
+     * 한 배치의 윈도우를 모두 한 트랜잭션으로 기록한다. 중간에 실패하면 아무것도 남지 않는다.
+     */
+    public void write(Collection<Window> windows) {
+        transactionTemplate.executeWithoutResult(status -> windows.forEach(this::write));
+    }
+
+    /**
+     * 파티션별로 이미 반영한 다음 오프셋을 잠가 읽고 aggregator에 넘긴 뒤, aggregator가 만든 윈도우와
+     * nextOffsets를 같은 트랜잭션으로 기록한다. aggregator는 반영된 오프셋 이전 레코드를 걸러내야 한다.
+     * 리밸런스나 커밋 실패로 같은 poll을 다시 받아도, 동시에 두 consumer가 받아도 한 번만 더해진다.
+     */
+    public void write(Map<TopicPartition, Long> nextOffsets,
+                      Function<Map<TopicPartition, Long>, Collection<Window>> aggregator) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<TopicPartition, Long> applied = lockOffsets(nextOffsets.keySet());
+            aggregator.apply(applied).forEach(this::write);
+            nextOffsets.forEach((partition, next) -> {
+                if (next > applied.get(partition)) {
+                    jdbcTemplate.update(OFFSET_UPDATE_SQL, next, partition.topic(), partition.partition());
+                }
+            });
+        });
+    }
+
+    private Map<TopicPartition, Long> lockOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> applied = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            jdbcTemplate.update(OFFSET_INIT_SQL, partition.topic(), partition.partition());
+            applied.put(partition, jdbcTemplate.queryForObject(
+                    OFFSET_LOCK_SQL, Long.class, partition.topic(), partition.partition()));
+        }
+        return applied;
+    }
+
+    private void write(Window window) {
+        Timestamp windowStart = new Timestamp(window.startMillis());
+        List<Object[]> articleRows = rows(windowStart, window.articleViews(), window.articleActivities());
+        List<Object[]> categoryRows = rows(windowStart, window.categoryViews(), window.categoryActivities());
+        writeTimer.record(() -> {
+            if (!articleRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(ARTICLE_UPSERT_SQL, articleRows);
+            }
+            if (!categoryRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(CATEGORY_UPSERT_SQL, categoryRows);
+            }
+        });
+        rowCounter.increment(articleRows.size() + categoryRows.size());
+        log.debug("Wrote engagement window {}: {} articles, {} categories",
+                  windowStart, articleRows.size(), categoryRows.size());
+    }
+
+    private static List<Object[]> rows(Timestamp windowStart, LongIntHashMap views, LongIntHashMap activities) {
+        List<Object[]> rows = new ArrayList<>(views.size() + activities.size());
+        views.forEach((id, count) -> rows.add(new Object[]{windowStart, id, count, activities.get(id, 0)}));
+        activities.forEach((id, count) -> {
+            if (!views.containsKey(id)) {
+                rows.add(new Object[]{windowStart, id, 0, count});
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * [startMillis, startMillis + 1분) 구간의 집계.
+     */
+    public record Window(long startMillis,
+                         LongIntHashMap articleViews, LongIntHashMap articleActivities,
+                         LongIntHashMap categoryViews, LongIntHashMap categoryActivities) {
+
+        public Window(long startMillis) {
+            this(startMillis, new LongIntHashMap(), new LongIntHashMap(), new LongIntHashMap(), new LongIntHashMap());
+        }
+    }
+}
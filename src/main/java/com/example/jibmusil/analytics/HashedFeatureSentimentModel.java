@@ -0,0 +1,157 @@
+package com.example.jibmusil.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * SentimentModelTrainer가 학습한 해시 특징 로지스틱 회귀 감성 모델.
+ * 가중치 파일을 메모리 매핑해 힙에 올리지 않고 여러 인스턴스가 페이지 캐시를 공유한다.
+ * score는 특징마다 매핑된 가중치를 읽어 더할 뿐이라 호출당 할당이 없다.
+ *
+ * <p>파일 형식(little-endian): magic "JSM1", version, bits, bias(float), weights(float × 2^bits).
+ * jibmusil.sentiment.model.path가 비어 있거나 파일을 읽을 수 없으면 isLoaded()가 false이고,
+ * SentimentAnalysisService는 사전 기반 점수를 쓴다.
+ */
+@Slf4j
+@Component
+public class HashedFeatureSentimentModel {
+
+    static final int MAGIC = 0x314D534A; // "JSM1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int MIN_BITS = 10;
+    static final int MAX_BITS = 26;
+
+    private final FloatBuffer weights;
+    private final float bias;
+    private final int mask;
+    private final HashedSentimentFeatures.Sink weightLookup;
+    private final String identity;
+
+    @Autowired
+    public HashedFeatureSentimentModel(@Value("${jibmusil.sentiment.model.path:}") String path) {
+        this(load(path));
+    }
+
+    HashedFeatureSentimentModel(ByteBuffer buffer) {
+        if (buffer == null) {
+            this.weights = null;
+            this.bias = 0f;
+            this.mask = 0;
+            this.weightLookup = null;
+            this.identity = null;
+            return;
+        }
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int bits = validateHeader(data);
+        this.bias = data.getFloat(12);
+        this.mask = (1 << bits) - 1;
+        this.weights = data.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        // 절대 위치 get만 쓰므로 여러 스레드가 같은 버퍼를 동시에 읽어도 된다
+        FloatBuffer view = this.weights;
+        this.weightLookup = (index, sign) -> sign * view.get(index);
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate().clear());
+        this.identity = "model-" + bits + "-" + Long.toHexString(checksum.getValue());
+    }
+
+    public boolean isLoaded() {
+        return weights != null;
+    }
+
+    /**
+     * 헤더와 가중치 전체의 CRC32C로 만든 모델 식별자. 다시 학습한 모델은 다른 값을 가진다. 모델이 없으면 null.
+     */
+    public String identity() {
+        return identity;
+    }
+
+    /**
+     * -1(매우 부정) ~ 1(매우 긍정). 긍정 확률 p를 2p - 1로 옮긴 값이다.
+     */
+    public double score(CharSequence text) {
+        if (weights == null) {
+            throw new IllegalStateException("Sentiment model is not loaded");
+        }
+        double dot = HashedSentimentFeatures.normalizedSum(text, mask, weightLookup);
+        if (Double.isNaN(dot)) {
+            return 0;
+        }
+        return 2.0 * sigmoid(bias + dot) - 1.0;
+    }
+
+    static double sigmoid(double z) {
+        return 1.0 / (1.0 + Math.exp(-z));
+    }
+
+    /**
+     * 학습 결과를 위 형식으로 쓴다. weights 길이는 2의 거듭제곱이어야 한다.
+     */
+    static void write(Path path, float bias, float[] weights) throws IOException {
+        ByteBuffer buffer = encode(bias, weights);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    static ByteBuffer encode(float bias, float[] weights) {
+        int bits = Integer.numberOfTrailingZeros(weights.length);
+        if (Integer.bitCount(weights.length) != 1 || bits < MIN_BITS || bits > MAX_BITS) {
+            throw new IllegalArgumentException("Weight count must be 2^" + MIN_BITS + " .. 2^" + MAX_BITS);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * weights.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(bits).putFloat(bias);
+        buffer.asFloatBuffer().put(weights);
+        return buffer.rewind();
+    }
+
+    private static ByteBuffer load(String path) {
+        if (path == null || path.isBlank()) {
+            log.info("No sentiment model configured; using the lexicon scorer");
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지된다
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            validateHeader(mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+            log.info("Mapped sentiment model {} ({} bytes)", path, channel.size());
+            return mapped;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to load sentiment model {}; falling back to the lexicon scorer", path, e);
+            return null;
+        }
+    }
+
+    private static int validateHeader(ByteBuffer data) {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a sentiment model file");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported sentiment model version " + data.getInt(4));
+        }
+        int bits = data.getInt(8);
+        if (bits < MIN_BITS || bits > MAX_BITS || data.capacity() != HEADER_BYTES + 4L * (1 << bits)) {
+            throw new IllegalArgumentException("Corrupt sentiment model: bits=" + bits + ", size=" + data.capacity());
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.jibmusil.analytics;
+
+/**
+ * 감성 모델의 해시 특징 추출. 학습(SentimentModelTrainer)과 추론(HashedFeatureSentimentModel)이 같은 루프를 쓴다.
+ * 토큰 경계는 LexiconSentimentScorer와 같고, 특징마다 할당 없이 sink를 호출한다.
+ * <ul>
+ *   <li>단어 unigram</li>
+ *   <li>같은 문장 안의 인접 단어 bigram</li>
+ *   <li>세 음절 이상 한글 어절의 앞 두 음절(조사/어미를 뗀 어간 근사)</li>
+ * </ul>
+ * 특징 해시의 하위 비트는 가중치 위치, 최상위 비트는 부호(signed hashing trick)라 충돌이 서로 상쇄된다.
+ */
+final class HashedSentimentFeatures {
+
+    private static final long BIGRAM_SALT = 0x5bd1e9955bd1e995L;
+    private static final long STEM_SALT = 0x27d4eb2f165667c5L;
+
+    // 특징 개수만 센다
+    static final Sink COUNT = (index, sign) -> 1.0;
+
+    private HashedSentimentFeatures() {
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        /**
+         * 특징 하나를 받아 점수 기여분을 돌려준다. forEach는 기여분의 합을 돌려준다.
+         */
+        double accept(int index, float sign);
+    }
+
+    /**
+     * text의 모든 특징을 mask(2^bits - 1)로 접어 sink에 넘기고, 반환값의 합을 돌려준다.
+     */
+    static double forEach(CharSequence text, int mask, Sink sink) {
+        return sum(text, mask, sink, false);
+    }
+
+    /**
+     * 기여분의 합을 특징 수의 제곱근으로 나눈 값. 특징이 없으면 NaN이다.
+     * 특징 수와 합을 한 번의 순회로 구하므로 COUNT로 따로 세지 않아도 된다.
+     */
+    static double normalizedSum(CharSequence text, int mask, Sink sink) {
+        return sum(text, mask, sink, true);
+    }
+
+    private static double sum(CharSequence text, int mask, Sink sink, boolean normalize) {
+        double total = 0;
+        int features = 0;
+        long previous = 0;
+        boolean hasPrevious = false;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!LexiconSentimentScorer.isWordChar(c)) {
+                if (c == '.' || c == '!' || c == '?' || c == '\n') {
+                    hasPrevious = false;
+                }
+                i++;
+                continue;
+            }
+            int start = i;
+            long state = SentimentLexicon.EMPTY_STATE;
+            long stemState = 0;
+            while (i < length && (LexiconSentimentScorer.isWordChar(c = text.charAt(i))
+                                  || LexiconSentimentScorer.isInnerApostrophe(text, i))) {
+                state = SentimentLexicon.update(state, c);
+                if (i - start == 1) {
+                    stemState = state;
+                }
+                i++;
+            }
+
+            long token = mix(state);
+            total += emit(token, mask, sink);
+            features++;
+            if (hasPrevious) {
+                total += emit(mix(previous ^ Long.rotateLeft(token, 29) ^ BIGRAM_SALT), mask, sink);
+                features++;
+            }
+            if (i - start >= 3 && isHangul(text.charAt(start))) {
+                total += emit(mix(stemState ^ STEM_SALT), mask, sink);
+                features++;
+            }
+            previous = token;
+            hasPrevious = true;
+        }
+        if (!normalize) {
+            return total;
+        }
+        return features > 0 ? total / Math.sqrt(features) : Double.NaN;
+    }
+
+    private static double emit(long feature, int mask, Sink sink) {
+        return sink.accept((int) feature & mask, feature < 0 ? -1f : 1f);
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.jibmusil.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사전 기반 감성 점수. 텍스트를 한 번 훑으며 단어 경계로 토큰을 나누고 각 토큰을 SentimentLexicon에서 찾는다.
+ * 토큰마다 할당이 없으며(부분 문자열을 만들지 않는다) 같은 단어가 여러 번 나오면 모두 센다.
+ * <ul>
+ *   <li>부정어(not, 안, 못...) 뒤 negation-window 토큰 안의 감성어는 NEGATION_FACTOR를 곱한다.</li>
+ *   <li>후치 부정어(않다, 없다...)는 post-negation-window 토큰 안의 직전 감성어를 뒤집는다.</li>
+ *   <li>강조어(very, 매우...)는 다음 감성어에 배율을 곱한다.</li>
+ *   <li>문장 부호(. ! ? 줄바꿈)에서 부정/강조 범위가 끝난다.</li>
+ * </ul>
+ * 합계는 VADER와 같은 방식으로 x / sqrt(x² + 15) 정규화해 -1 ~ 1로 만든다.
+ */
+@Slf4j
+@Component
+public class LexiconSentimentScorer {
+
+    static final float NEGATION_FACTOR = -0.74f;
+    private static final double NORMALIZATION_ALPHA = 15.0;
+
+    private final SentimentLexicon lexicon;
+    private final int negationWindow;
+    private final int postNegationWindow;
+    private final int intensifierWindow;
+
+    @Autowired
+    public LexiconSentimentScorer(
+            @Value("${jibmusil.sentiment.lexicon.locations:classpath:sentiment/lexicon-en.tsv,classpath:sentiment/lexicon-ko.tsv}") Resource[] locations,
+            @Value("${jibmusil.sentiment.lexicon.negation-window:3}") int negationWindow,
+            @Value("${jibmusil.sentiment.lexicon.post-negation-window:2}") int postNegationWindow,
+            @Value("${jibmusil.sentiment.lexicon.intensifier-window:2}") int intensifierWindow) {
+        this(SentimentLexicon.load(locations), negationWindow, postNegationWindow, intensifierWindow);
+        log.info("Loaded sentiment lexicon with {} entries", lexicon.size());
+    }
+
+    LexiconSentimentScorer(SentimentLexicon lexicon, int negationWindow, int postNegationWindow, int intensifierWindow) {
+        this.lexicon = lexicon;
+        this.negationWindow = negationWindow;
+        this.postNegationWindow = postNegationWindow;
+        this.intensifierWindow = intensifierWindow;
+    }
+
+    /**
+     * 사전 내용과 창 크기로 만든 식별자. 둘 중 하나라도 바뀌면 점수가 달라질 수 있으므로 다른 값이 된다.
+     */
+    public String identity() {
+        return "lexicon-" + Long.toHexString(lexicon.fingerprint().high()) + "-"
+                + negationWindow + "." + postNegationWindow + "." + intensifierWindow;
+    }
+
+    /**
+     * -1(매우 부정) ~ 1(매우 긍정). 감성어가 없으면 0.
+     */
+    public double score(CharSequence text) {
+        double total = 0;
+        int tokenIndex = 0;
+        int negatedUntil = -1;
+        int boostedUntil = -1;
+        float boost = 1f;
+        int lastTermIndex = Integer.MIN_VALUE;
+        double lastContribution = 0;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!isWordChar(c)) {
+                if (c == '.' || c == '!' || c == '?' || c == '\n') {
+                    negatedUntil = -1;
+                    boostedUntil = -1;
+                    lastTermIndex = Integer.MIN_VALUE;
+                }
+                i++;
+                continue;
+            }
+            // 토큰 경계를 찾으며 해시도 함께 누적한다
+            int start = i;
+            long state = SentimentLexicon.EMPTY_STATE;
+            while (i < length && (isWordChar(c = text.charAt(i)) || isInnerApostrophe(text, i))) {
+                state = SentimentLexicon.update(state, c);
+                i++;
+            }
+
+            int slot = lexicon.find(text, start, i, state);
+            if (slot < 0) {
+                slot = lexicon.findPrefix(text, start, i);
+            }
+            if (slot >= 0) {
+                switch (lexicon.kind(slot)) {
+                    case SentimentLexicon.NEGATE -> negatedUntil = tokenIndex + negationWindow;
+                    case SentimentLexicon.INTENSIFY -> {
+                        boost = tokenIndex <= boostedUntil ? boost * lexicon.value(slot) : lexicon.value(slot);
+                        boostedUntil = tokenIndex + intensifierWindow;
+                    }
+                    case SentimentLexicon.POST_NEGATE -> {
+                        if (tokenIndex - lastTermIndex <= postNegationWindow) {
+                            total += lastContribution * (NEGATION_FACTOR - 1);
+                            lastTermIndex = Integer.MIN_VALUE;
+                        }
+                    }
+                    default -> {
+                        double contribution = lexicon.value(slot);
+                        if (tokenIndex <= boostedUntil) {
+                            contribution *= boost;
+                            boostedUntil = -1;
+                        }
+                        if (tokenIndex <= negatedUntil) {
+                            contribution *= NEGATION_FACTOR;
+                        }
+                        total += contribution;
+                        lastTermIndex = tokenIndex;
+                        lastContribution = contribution;
+                    }
+                }
+            }
+            tokenIndex++;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        return Math.max(-1.0, Math.min(1.0, total / Math.sqrt(total * total + NORMALIZATION_ALPHA)));
+    }
+
+    static boolean isWordChar(char c) {
+        if (c < 128) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        }
+        return (c >= '가' && c <= '힣') || Character.isLetterOrDigit(c);
+    }
+
+    // don't, isn’t 처럼 단어 안의 아포스트로피는 토큰에 포함한다
+    static boolean isInnerApostrophe(CharSequence text, int i) {
+        char c = text.charAt(i);
+        return (c == '\'' || c == '’') && i + 1 < text.length() && isWordChar(text.charAt(i + 1));
+    }
+}
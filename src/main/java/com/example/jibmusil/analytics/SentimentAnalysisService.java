@@ -5,10 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 // Spring AI imports - 임시로 주석 처리
 // import org.springframework.ai.chat.ChatClient;
 // import org.springframework.ai.chat.ChatResponse;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
@@ -18,10 +18,15 @@ import java.util.regex.Pattern;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SentimentAnalysisService {
 
     // private final ChatClient chatClient; // 임시 주석
 
+    private final LexiconSentimentScorer lexiconSentimentScorer;
+    private final HashedFeatureSentimentModel hashedFeatureSentimentModel;
+    private final SentimentResultCache sentimentResultCache;
+
     private static final String SENTIMENT_ANALYSIS_PROMPT = """
             Analyze the sentiment of the following text and return a score between -1.0 and 1.0:
             - -1.0 = Very Negative
@@ -37,33 +42,54 @@ public class SentimentAnalysisService {
 
     private static final Pattern SCORE_PATTERN = Pattern.compile("(-?[01](?:\\.[0-9]+)?)");
 
-    @Cacheable(value = "sentiment", key = "#text.hashCode()")
+    private static final SentimentResult NEUTRAL = new SentimentResult(BigDecimal.ZERO, "Neutral", 0.5);
+
     public Mono<BigDecimal> analyzeSentiment(String text) {
+        return Mono.fromCallable(() -> analyze(text).score());
+    }
+
+    public Mono<SentimentResult> analyzeSentimentDetailed(String text) {
+        return Mono.fromCallable(() -> analyze(text));
+    }
+
+    /**
+     * 같은 내용의 텍스트(재수집, 전재 기사)는 분석하지 않고 SentimentResultCache의 결과를 돌려준다.
+     */
+    public SentimentResult analyze(String text) {
         if (text == null || text.trim().isEmpty()) {
-            return Mono.just(BigDecimal.ZERO);
+            return NEUTRAL;
         }
+        return sentimentResultCache.get(text, this::analyzeUncached);
+    }
 
-        return Mono.fromCallable(() -> {
-            try {
-                log.debug("Analyzing sentiment for text: {}", text.substring(0, Math.min(100, text.length())));
-                
-                // AI 분석 대신 키워드 기반 분석 사용
-                return keywordBasedSentimentAnalysis(text);
-                
-            } catch (Exception e) {
-                log.warn("Failed to analyze sentiment, using neutral score", e);
-                return BigDecimal.ZERO;
-            }
-        });
+    private SentimentResult analyzeUncached(String text) {
+        BigDecimal score;
+        try {
+            log.debug("Analyzing sentiment for text: {}", text.substring(0, Math.min(100, text.length())));
+            
+            // AI 분석 대신 학습된 모델(없으면 사전 기반 분석) 사용
+            score = BigDecimal.valueOf(sentimentScore(text)).setScale(2, RoundingMode.HALF_UP);
+
+        } catch (Exception e) {
+            log.warn("Failed to analyze sentiment, using neutral score", e);
+            score = BigDecimal.ZERO;
+        }
+        return new SentimentResult(score, getSentimentLabel(score), calculateConfidence(text, score));
     }
 
-    public Mono<SentimentResult> analyzeSentimentDetailed(String text) {
-        return analyzeSentiment(text)
-                .map(score -> {
-                    String label = getSentimentLabel(score);
-                    double confidence = calculateConfidence(text, score);
-                    return new SentimentResult(score, label, confidence);
-                });
+    /**
+     * -1 ~ 1 점수만 계산한다(캐시, 라벨 없음). 학습된 모델이 설정돼 있으면 모델을, 없거나 실패하면 사전 점수를 쓴다.
+     * 두 경로 모두 호출당 할당이 없다.
+     */
+    public double sentimentScore(CharSequence text) {
+        if (hashedFeatureSentimentModel.isLoaded()) {
+            try {
+                return hashedFeatureSentimentModel.score(text);
+            } catch (RuntimeException e) {
+                log.warn("Sentiment model failed, falling back to the lexicon scorer", e);
+            }
+        }
+        return lexiconSentimentScorer.score(text);
     }
 
     private BigDecimal parseSentimentScore(String result, String originalText) {
@@ -79,58 +105,15 @@ public class SentimentAnalysisService {
             }
         }
         
-        log.warn("AI response did not contain valid sentiment score, falling back to keyword analysis");
-        return keywordBasedSentimentAnalysis(originalText);
+        log.warn("AI response did not contain valid sentiment score, falling back to lexicon analysis");
+        return lexiconSentimentAnalysis(originalText);
     }
 
-    private BigDecimal keywordBasedSentimentAnalysis(String text) {
-        String lowerText = text.toLowerCase();
-        
-        String[] positiveWords = {
-            "good", "great", "excellent", "amazing", "wonderful", "fantastic", "awesome", 
-            "positive", "success", "win", "victory", "achievement", "breakthrough", "progress",
-            "love", "like", "enjoy", "happy", "pleased", "satisfied", "excited", "thrilled",
-            "best", "better", "improved", "upgrade", "advance", "growth", "opportunity"
-        };
-        
-        String[] negativeWords = {
-            "bad", "terrible", "awful", "horrible", "disaster", "crisis", "problem", "issue",
-            "fail", "failure", "loss", "defeat", "decline", "crash", "collapse", "emergency",
-            "hate", "dislike", "angry", "upset", "disappointed", "frustrated", "concerned",
-            "worst", "worse", "decline", "drop", "fall", "threat", "risk", "danger"
-        };
-        
-        String[] neutralWords = {
-            "said", "according", "reported", "announced", "stated", "mentioned", "noted",
-            "analysis", "study", "research", "data", "statistics", "information", "details"
-        };
-        
-        int positiveCount = countKeywords(lowerText, positiveWords);
-        int negativeCount = countKeywords(lowerText, negativeWords);
-        int neutralCount = countKeywords(lowerText, neutralWords);
-        
-        int totalSentimentWords = positiveCount + negativeCount;
-        
-        if (totalSentimentWords == 0 || neutralCount > totalSentimentWords) {
-            return BigDecimal.ZERO;
-        }
-        
-        double score = (double) (positiveCount - negativeCount) / totalSentimentWords;
-        score = Math.max(-1.0, Math.min(1.0, score));
-        
+    private BigDecimal lexiconSentimentAnalysis(String text) {
+        double score = lexiconSentimentScorer.score(text);
         return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
     }
     
-    private int countKeywords(String text, String[] keywords) {
-        int count = 0;
-        for (String keyword : keywords) {
-            if (text.contains(keyword)) {
-                count++;
-            }
-        }
-        return count;
-    }
-    
     private String getSentimentLabel(BigDecimal score) {
         double value = score.doubleValue();
         
@@ -156,5 +139,5 @@ public class SentimentAnalysisService {
             BigDecimal score,
             String label,
             double confidence
-    ) {}
+    ) implements Serializable {}
 }
\ No newline at end of file
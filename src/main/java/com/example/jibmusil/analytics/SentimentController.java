@@ -0,0 +1,175 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/sentiment")
+@Tag(name = "Sentiment", description = "감정 분석 API")
+public class SentimentController {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final BatchSentimentService batchSentimentService;
+    private final ObjectMapper objectMapper;
+    private final int streamChunkSize;
+
+    public SentimentController(BatchSentimentService batchSentimentService,
+                               ObjectMapper objectMapper,
+                               @Value("${jibmusil.sentiment.batch.stream-chunk-size:256}") int streamChunkSize) {
+        this.batchSentimentService = batchSentimentService;
+        this.objectMapper = objectMapper;
+        this.streamChunkSize = streamChunkSize;
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "감정 일괄 분석", description = "texts 또는 articleIds의 감정을 병렬로 분석해 요청 순서대로 돌려줍니다. 없는 기사는 빠집니다.")
+    public ResponseEntity<?> analyzeBatch(@RequestBody BatchRequest request) {
+        if (request.size() > batchSentimentService.maxItems()) {
+            return tooManyItems();
+        }
+        return ResponseEntity.ok(analyze(request));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = NDJSON_VALUE)
+    @Operation(summary = "감정 일괄 분석 (NDJSON 응답)", description = "결과를 한 줄에 하나씩 stream-chunk-size 단위로 내보냅니다.")
+    public ResponseEntity<?> analyzeBatchNdjson(@RequestBody BatchRequest request) {
+        if (request.size() > batchSentimentService.maxItems()) {
+            return tooManyItems();
+        }
+        List<BatchItem> items = analyze(request);
+        StreamingResponseBody body = out -> {
+            for (int i = 0; i < items.size(); i++) {
+                writeLine(out, items.get(i));
+                if ((i + 1) % streamChunkSize == 0) {
+                    out.flush();
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE, produces = NDJSON_VALUE)
+    @Operation(summary = "감정 스트림 분석 (NDJSON)", description = "한 줄에 {\"text\": ...} 하나씩인 본문을 읽는 대로 묶음 단위로 분석해 NDJSON으로 내보냅니다. 개수 제한이 없습니다.")
+    public ResponseEntity<StreamingResponseBody> analyzeStream(InputStream input) {
+        StreamingResponseBody body = out -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            int index = 0;
+            // 앞 묶음 결과를 쓰는 동안 다음 묶음을 풀에서 계산한다
+            ForkJoinTask<List<SentimentResult>> pending = null;
+            int pendingStart = 0;
+            List<String> chunk = new ArrayList<>(streamChunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(parseText(line));
+                if (chunk.size() == streamChunkSize) {
+                    ForkJoinTask<List<SentimentResult>> next = batchSentimentService.submit(chunk);
+                    writeChunk(out, pending, pendingStart);
+                    pending = next;
+                    pendingStart = index;
+                    index += chunk.size();
+                    chunk = new ArrayList<>(streamChunkSize);
+                }
+            }
+            ForkJoinTask<List<SentimentResult>> last = chunk.isEmpty() ? null : batchSentimentService.submit(chunk);
+            writeChunk(out, pending, pendingStart);
+            writeChunk(out, last, index);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    private List<BatchItem> analyze(BatchRequest request) {
+        List<BatchItem> items = new ArrayList<>(request.size());
+        if (request.texts() != null && !request.texts().isEmpty()) {
+            List<SentimentResult> results = batchSentimentService.analyzeTexts(request.texts());
+            for (int i = 0; i < results.size(); i++) {
+                items.add(BatchItem.of(i, null, results.get(i)));
+            }
+        }
+        if (request.articleIds() != null && !request.articleIds().isEmpty()) {
+            int index = items.size();
+            for (Map.Entry<Long, SentimentResult> entry : batchSentimentService.analyzeArticles(request.articleIds()).entrySet()) {
+                items.add(BatchItem.of(index++, entry.getKey(), entry.getValue()));
+            }
+        }
+        return items;
+    }
+
+    private void writeChunk(OutputStream out, ForkJoinTask<List<SentimentResult>> task, int start) throws IOException {
+        if (task == null) {
+            return;
+        }
+        List<SentimentResult> results = task.join();
+        for (int i = 0; i < results.size(); i++) {
+            writeLine(out, BatchItem.of(start + i, null, results.get(i)));
+        }
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, BatchItem item) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write(NEWLINE);
+    }
+
+    private String parseText(String line) {
+        try {
+            return objectMapper.readValue(line, TextLine.class).text();
+        } catch (JsonProcessingException e) {
+            // 파싱할 수 없는 줄은 빈 텍스트(중립)로 자리만 유지해 인덱스가 입력 줄과 맞도록 한다
+            log.debug("Treating malformed sentiment stream line as empty: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> tooManyItems() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("status", "error",
+                "message", "At most " + batchSentimentService.maxItems() + " items per request; use the NDJSON stream for more"));
+    }
+
+    public record BatchRequest(List<String> texts, List<Long> articleIds) {
+
+        int size() {
+            return (texts != null ? texts.size() : 0) + (articleIds != null ? articleIds.size() : 0);
+        }
+    }
+
+    public record TextLine(String text) {
+    }
+
+    public record BatchItem(int index, Long articleId, BigDecimal score, String label, double confidence) {
+
+        static BatchItem of(int index, Long articleId, SentimentResult result) {
+            return new BatchItem(index, articleId, result.score(), result.label(), result.confidence());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.util.ContentHash;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 감성 어휘 사전. 빌드 시점에 hash-and-displace 방식의 완전 해시를 만들어 조회가 충돌 없이 해시 1회 + 키 비교 1회로 끝난다.
+ * 키는 하나의 char 배열에 이어 붙여 두고, 조회는 원문 문자열의 [start, end) 구간을 그대로 받아 부분 문자열을 만들지 않는다.
+ * 영문은 대소문자를 구분하지 않으며 ’는 '로 취급한다.
+ *
+ * 사전 파일 형식(UTF-8, 탭 구분, #은 주석):
+ * <pre>
+ * good        1.9          감성어, 가중치는 대략 -4 ~ 4
+ * 상승*       1.5          *로 끝나면 어간 매칭 (상승세, 상승했다 ...)
+ * not         NEGATE       뒤따르는 감성어를 뒤집는다
+ * 않*         POST_NEGATE  바로 앞 감성어를 뒤집는다 (좋지 않다)
+ * very        INTENSIFY 1.5  다음 감성어에 배율을 곱한다
+ * </pre>
+ * 같은 단어가 여러 번 나오면 나중 정의가 이긴다(기본 사전 뒤에 추가 사전을 덮어쓸 수 있다).
+ */
+public final class SentimentLexicon {
+
+    public static final byte TERM = 0;
+    public static final byte NEGATE = 1;
+    public static final byte POST_NEGATE = 2;
+    public static final byte INTENSIFY = 3;
+
+    /**
+     * 토큰을 읽으며 update로 누적하는 해시 상태의 초깃값. 누적한 상태를 find에 넘기면 해시를 다시 계산하지 않는다.
+     */
+    public static final long EMPTY_STATE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+    private static final int MAX_SEED = 1 << 22;
+
+    private final int[] seeds;
+    private final char[] keyChars;
+    private final int[] keyOffsets;
+    private final int[] keyLengths;
+    private final byte[] kinds;
+    private final float[] values;
+    private final boolean[] prefixes;
+    private final boolean[] prefixStarts;
+    private final int maxPrefixLength;
+    private final int size;
+    private final ContentHash fingerprint;
+
+    private SentimentLexicon(int[] seeds, char[] keyChars, int[] keyOffsets, int[] keyLengths, byte[] kinds,
+                             float[] values, boolean[] prefixes, boolean[] prefixStarts, int maxPrefixLength,
+                             int size, ContentHash fingerprint) {
+        this.seeds = seeds;
+        this.keyChars = keyChars;
+        this.keyOffsets = keyOffsets;
+        this.keyLengths = keyLengths;
+        this.kinds = kinds;
+        this.values = values;
+        this.prefixes = prefixes;
+        this.prefixStarts = prefixStarts;
+        this.maxPrefixLength = maxPrefixLength;
+        this.size = size;
+        this.fingerprint = fingerprint;
+    }
+
+    public static SentimentLexicon load(Resource... resources) {
+        Map<String, Term> terms = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                parse(reader, resource.getDescription(), terms);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read sentiment lexicon " + resource.getDescription(), e);
+            }
+        }
+        return build(terms.values());
+    }
+
+    static void parse(BufferedReader reader, String source, Map<String, Term> terms) throws IOException {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String[] fields = (comment >= 0 ? line.substring(0, comment) : line).trim().split("\\s+");
+            if (fields.length == 0 || fields[0].isEmpty()) {
+                continue;
+            }
+            try {
+                Term term = Term.parse(fields);
+                terms.remove(term.text());
+                terms.put(term.text(), term);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid lexicon entry at " + source + ":" + lineNumber + ": " + line, e);
+            }
+        }
+    }
+
+    public static SentimentLexicon build(Iterable<Term> terms) {
+        List<Term> list = new ArrayList<>();
+        terms.forEach(list::add);
+        int n = list.size();
+        int slotCount = Math.max(1, n + n / 8);
+        int bucketCount = Math.max(1, n / 3);
+
+        long[] hashes = new long[n];
+        List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buckets.add(new ArrayList<>(4));
+        }
+        int keyCharCount = 0;
+        for (int i = 0; i < n; i++) {
+            String text = list.get(i).text();
+            hashes[i] = hash(text, 0, text.length());
+            buckets.get(bucket(hashes[i], bucketCount)).add(i);
+            keyCharCount += text.length();
+        }
+
+        // 큰 버킷부터 모든 키가 빈 슬롯에 떨어지는 seed를 찾는다
+        Integer[] order = new Integer[bucketCount];
+        Arrays.setAll(order, b -> b);
+        Arrays.sort(order, Comparator.comparingInt((Integer b) -> buckets.get(b).size()).reversed());
+        int[] seeds = new int[bucketCount];
+        int[] slotOwner = new int[slotCount];
+        Arrays.fill(slotOwner, -1);
+        int[] candidate = new int[16];
+        for (int b : order) {
+            List<Integer> members = buckets.get(b);
+            if (members.isEmpty()) {
+                break;
+            }
+            if (candidate.length < members.size()) {
+                candidate = new int[members.size()];
+            }
+            int seed = 0;
+            while (!fits(members, hashes, seed, slotCount, slotOwner, candidate)) {
+                if (++seed == MAX_SEED) {
+                    throw new IllegalStateException("Cannot build perfect hash; duplicate keys in bucket " + members);
+                }
+            }
+            seeds[b] = seed;
+            for (int k = 0; k < members.size(); k++) {
+                slotOwner[candidate[k]] = members.get(k);
+            }
+        }
+
+        char[] keyChars = new char[keyCharCount];
+        int[] keyOffsets = new int[slotCount];
+        int[] keyLengths = new int[slotCount];
+        byte[] kinds = new byte[slotCount];
+        float[] values = new float[slotCount];
+        boolean[] prefixes = new boolean[slotCount];
+        boolean[] prefixStarts = new boolean[Character.MAX_VALUE + 1];
+        Arrays.fill(keyLengths, -1);
+        int offset = 0;
+        int maxPrefixLength = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slotOwner[slot] < 0) {
+                continue;
+            }
+            Term term = list.get(slotOwner[slot]);
+            for (int c = 0; c < term.text().length(); c++) {
+                keyChars[offset + c] = fold(term.text().charAt(c));
+            }
+            keyOffsets[slot] = offset;
+            keyLengths[slot] = term.text().length();
+            kinds[slot] = term.kind();
+            values[slot] = term.value();
+            prefixes[slot] = term.prefix();
+            if (term.prefix()) {
+                prefixStarts[keyChars[offset]] = true;
+                maxPrefixLength = Math.max(maxPrefixLength, term.text().length());
+            }
+            offset += term.text().length();
+        }
+        return new SentimentLexicon(seeds, keyChars, keyOffsets, keyLengths, kinds, values, prefixes,
+                                    prefixStarts, maxPrefixLength, n, fingerprint(list));
+    }
+
+    // 항목 순서와 무관하도록 단어순으로 정렬한 전체 항목의 해시
+    private static ContentHash fingerprint(List<Term> terms) {
+        StringBuilder canonical = new StringBuilder(terms.size() * 24);
+        terms.stream().sorted(Comparator.comparing(Term::text)).forEach(term -> canonical
+                .append(term.text()).append('\t').append(term.kind()).append('\t')
+                .append(term.value()).append('\t').append(term.prefix()).append('\n'));
+        return ContentHash.of(canonical.toString());
+    }
+
+    private static boolean fits(List<Integer> members, long[] hashes, int seed, int slotCount, int[] slotOwner,
+                                int[] candidate) {
+        for (int k = 0; k < members.size(); k++) {
+            int slot = slot(hashes[members.get(k)], seed, slotCount);
+            if (slotOwner[slot] >= 0) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                if (candidate[j] == slot) {
+                    return false;
+                }
+            }
+            candidate[k] = slot;
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 사전 내용(단어, 종류, 가중치, 어간 여부)이 같으면 같은 값. 결과 캐시 키에 쓴다.
+     */
+    public ContentHash fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * text[start, end)와 정확히 같은 항목의 슬롯, 없으면 -1.
+     */
+    public int find(CharSequence text, int start, int end) {
+        return lookup(text, start, end, hash(text, start, end));
+    }
+
+    /**
+     * find와 같지만 호출 측이 update로 누적한 해시 상태를 받는다.
+     */
+    public int find(CharSequence text, int start, int end, long state) {
+        return lookup(text, start, end, mix(state));
+    }
+
+    /**
+     * text[start, end)의 가장 긴 어간 항목(*로 등록된 것)의 슬롯, 없으면 -1. 정확 일치는 보지 않는다.
+     */
+    public int findPrefix(CharSequence text, int start, int end) {
+        if (end - start < 2 || !prefixStarts[fold(text.charAt(start))]) {
+            return -1;
+        }
+        int limit = Math.min(end - 1, start + maxPrefixLength);
+        int found = -1;
+        long state = EMPTY_STATE;
+        for (int i = start; i < limit; i++) {
+            state = update(state, text.charAt(i));
+            int slot = lookup(text, start, i + 1, mix(state));
+            if (slot >= 0 && prefixes[slot]) {
+                found = slot;
+            }
+        }
+        return found;
+    }
+
+    public byte kind(int slot) {
+        return kinds[slot];
+    }
+
+    public float value(int slot) {
+        return values[slot];
+    }
+
+    private int lookup(CharSequence text, int start, int end, long hash) {
+        int slot = slot(hash, seeds[bucket(hash, seeds.length)], keyLengths.length);
+        int length = end - start;
+        if (keyLengths[slot] != length) {
+            return -1;
+        }
+        int offset = keyOffsets[slot];
+        for (int i = 0; i < length; i++) {
+            if (keyChars[offset + i] != fold(text.charAt(start + i))) {
+                return -1;
+            }
+        }
+        return slot;
+    }
+
+    public static long update(long state, char c) {
+        return (state ^ fold(c)) * FNV_PRIME;
+    }
+
+    static long hash(CharSequence text, int start, int end) {
+        long state = EMPTY_STATE;
+        for (int i = start; i < end; i++) {
+            state = update(state, text.charAt(i));
+        }
+        return mix(state);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    private static int slot(long hash, int seed, int slotCount) {
+        return (int) (((mix(hash + seed * GOLDEN) >>> 32) * slotCount) >>> 32);
+    }
+
+    static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+        }
+        return c == '’' ? '\'' : Character.toLowerCase(c);
+    }
+
+    public record Term(String text, byte kind, float value, boolean prefix) {
+
+        static Term parse(String[] fields) {
+            String text = fields[0].toLowerCase(Locale.ROOT).replace('’', '\'');
+            boolean prefix = text.length() > 1 && text.endsWith("*");
+            if (prefix) {
+                text = text.substring(0, text.length() - 1);
+            }
+            return switch (fields[1]) {
+                case "NEGATE" -> new Term(text, NEGATE, 0f, prefix);
+                case "POST_NEGATE" -> new Term(text, POST_NEGATE, 0f, prefix);
+                case "INTENSIFY" -> new Term(text, INTENSIFY, Float.parseFloat(fields[2]), prefix);
+                default -> new Term(text, TERM, Float.parseFloat(fields[1]), prefix);
+            };
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.jibmusil.analytics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * HashedFeatureSentimentModel 가중치를 학습하는 오프라인 도구. 라벨이 붙은 CSV/TSV를 읽어
+ * 해시 특징(HashedSentimentFeatures) 위의 로지스틱 회귀를 SGD로 학습하고,
+ * 떼어 둔 검증 데이터의 정확도와 기사당 추론 지연을 출력한 뒤 가중치 파일을 쓴다.
+ *
+ * <p>입력은 한 줄에 label,text (.tsv는 탭 구분, .csv는 따옴표 이스케이프 지원)이며 라벨은
+ * positive/negative/neutral(긍정/부정/중립) 또는 -1 ~ 1 숫자다. 중립은 목표 확률 0.5로 학습한다.
+ *
+ * <pre>
+ * ./gradlew trainSentimentModel -PtrainArgs="--input=labelled.tsv --output=/data/sentiment-model.bin"
+ * </pre>
+ */
+public class SentimentModelTrainer {
+
+    private final int bits;
+    private final int epochs;
+    private final double learningRate;
+    private final double l2;
+    private final long seed;
+
+    public SentimentModelTrainer(int bits, int epochs, double learningRate, double l2, long seed) {
+        if (bits < HashedFeatureSentimentModel.MIN_BITS || bits > HashedFeatureSentimentModel.MAX_BITS) {
+            throw new IllegalArgumentException("bits must be between " + HashedFeatureSentimentModel.MIN_BITS
+                                               + " and " + HashedFeatureSentimentModel.MAX_BITS);
+        }
+        this.bits = bits;
+        this.epochs = epochs;
+        this.learningRate = learningRate;
+        this.l2 = l2;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("input") || !options.containsKey("output")) {
+            throw new IllegalArgumentException("Usage: --input=labelled.tsv --output=model.bin [--bits=18] [--epochs=8] "
+                                               + "[--learning-rate=0.5] [--l2=1e-6] [--holdout=0.1] [--seed=42]");
+        }
+        List<Example> examples = read(Path.of(options.get("input")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        List<Example> shuffled = new ArrayList<>(examples);
+        Collections.shuffle(shuffled, new Random(seed));
+        int holdout = (int) (shuffled.size() * Double.parseDouble(options.getOrDefault("holdout", "0.1")));
+        List<Example> validation = shuffled.subList(0, holdout);
+        List<Example> training = shuffled.subList(holdout, shuffled.size());
+
+        SentimentModelTrainer trainer = new SentimentModelTrainer(
+                Integer.parseInt(options.getOrDefault("bits", "18")),
+                Integer.parseInt(options.getOrDefault("epochs", "8")),
+                Double.parseDouble(options.getOrDefault("learning-rate", "0.5")),
+                Double.parseDouble(options.getOrDefault("l2", "1e-6")),
+                seed);
+        Weights weights = trainer.train(training);
+        Path output = Path.of(options.get("output"));
+        HashedFeatureSentimentModel.write(output, weights.bias(), weights.values());
+
+        HashedFeatureSentimentModel model = new HashedFeatureSentimentModel(output.toString());
+        System.out.printf("%nSentiment model: %d examples (%d training, %d validation), 2^%d weights -> %s%n",
+                          examples.size(), training.size(), validation.size(), trainer.bits, output);
+        System.out.printf("%-12s %8s %10s %14s%n", "split", "examples", "accuracy", "latency(us)");
+        printEvaluation("training", evaluate(model, training));
+        if (!validation.isEmpty()) {
+            printEvaluation("validation", evaluate(model, validation));
+        }
+    }
+
+    private static void printEvaluation(String split, Evaluation evaluation) {
+        System.out.printf("%-12s %8d %10.4f %14.2f%n", split, evaluation.examples(),
+                          evaluation.accuracy(), evaluation.nanosPerArticle() / 1000.0);
+    }
+
+    /**
+     * 예제를 매 epoch마다 섞어 한 건씩 갱신한다. 특징 벡터는 sqrt(특징 수)로 나눠 길이에 따른 포화를 막고,
+     * L2 감쇠는 해당 가중치를 갱신할 때만 적용한다.
+     */
+    public Weights train(List<Example> examples) {
+        Random random = new Random(seed);
+        int mask = (1 << bits) - 1;
+        Update update = new Update(new float[1 << bits]);
+        float bias = 0f;
+        List<Example> order = new ArrayList<>(examples);
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            Collections.shuffle(order, random);
+            double rate = learningRate / Math.sqrt(1.0 + epoch);
+            for (Example example : order) {
+                int count = (int) HashedSentimentFeatures.forEach(example.text(), mask, HashedSentimentFeatures.COUNT);
+                if (count == 0) {
+                    continue;
+                }
+                double scale = 1.0 / Math.sqrt(count);
+                double dot = HashedSentimentFeatures.forEach(example.text(), mask, update::dot);
+                double gradient = example.target() - HashedFeatureSentimentModel.sigmoid(bias + dot * scale);
+                bias += (float) (rate * gradient);
+                update.step = rate * gradient * scale;
+                update.decay = (float) (1.0 - rate * l2);
+                HashedSentimentFeatures.forEach(example.text(), mask, update);
+            }
+        }
+        return new Weights(bias, update.weights);
+    }
+
+    /**
+     * 점수를 SentimentAnalysisService와 같은 경계(±0.1)로 긍정/중립/부정으로 나눠 맞힌 비율과,
+     * 한 번 데워 둔 뒤 잰 기사당 평균 추론 시간.
+     */
+    public static Evaluation evaluate(HashedFeatureSentimentModel model, List<Example> examples) {
+        for (Example example : examples) {
+            model.score(example.text());
+        }
+        int correct = 0;
+        long started = System.nanoTime();
+        for (Example example : examples) {
+            if (polarity(model.score(example.text())) == polarity(2.0 * example.target() - 1.0)) {
+                correct++;
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        return new Evaluation(examples.size(), examples.isEmpty() ? 0 : (double) correct / examples.size(),
+                              examples.isEmpty() ? 0 : (double) elapsed / examples.size());
+    }
+
+    private static int polarity(double score) {
+        return score >= 0.1 ? 1 : score <= -0.1 ? -1 : 0;
+    }
+
+    public static List<Example> read(Path path) throws IOException {
+        char delimiter = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : ',';
+        List<Example> examples = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Example example = parseLine(line, delimiter);
+                if (example != null) {
+                    examples.add(example);
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            // 헤더 줄도 여기에 포함된다
+            System.err.printf("Skipped %d lines without a recognised label in %s%n", skipped, path);
+        }
+        if (examples.isEmpty()) {
+            throw new IllegalArgumentException("No labelled examples in " + path);
+        }
+        return examples;
+    }
+
+    static Example parseLine(String line, char delimiter) {
+        List<String> fields = split(line, delimiter);
+        if (fields.size() < 2) {
+            return null;
+        }
+        Double label = parseLabel(fields.get(0));
+        if (label == null) {
+            return null;
+        }
+        String text = String.join(" ", fields.subList(1, fields.size()));
+        return new Example(text, (float) ((Math.max(-1.0, Math.min(1.0, label)) + 1.0) / 2.0));
+    }
+
+    private static Double parseLabel(String field) {
+        String label = field.trim().toLowerCase(Locale.ROOT);
+        switch (label) {
+            case "positive", "pos", "긍정" -> {
+                return 1.0;
+            }
+            case "negative", "neg", "부정" -> {
+                return -1.0;
+            }
+            case "neutral", "neu", "중립" -> {
+                return 0.0;
+            }
+            default -> {
+                try {
+                    return Double.parseDouble(label);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    // CSV는 "..." 안의 구분자와 "" 이스케이프를 처리한다. TSV는 따옴표를 특별히 다루지 않는다
+    private static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (delimiter == ',' && c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * target은 긍정 확률(부정 0, 중립 0.5, 긍정 1).
+     */
+    public record Example(String text, float target) {
+    }
+
+    public record Weights(float bias, float[] values) {
+    }
+
+    public record Evaluation(int examples, double accuracy, double nanosPerArticle) {
+    }
+
+    // 학습 중 한 예제에 대한 내적과 갱신을 같은 특징 루프로 처리한다 (단일 스레드)
+    private static final class Update implements HashedSentimentFeatures.Sink {
+        private final float[] weights;
+        private double step;
+        private float decay;
+
+        Update(float[] weights) {
+            this.weights = weights;
+        }
+
+        double dot(int index, float sign) {
+            return sign * weights[index];
+        }
+
+        @Override
+        public double accept(int index, float sign) {
+            weights[index] = (float) (weights[index] * decay + step * sign);
+            return 0;
+        }
+    }
+}
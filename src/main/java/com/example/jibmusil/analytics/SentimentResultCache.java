@@ -0,0 +1,120 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import com.example.jibmusil.util.ContentHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 감정 분석 결과 캐시. 키는 원문의 128비트 내용 해시라 서로 다른 기사끼리 결과가 섞이지 않는다.
+ * 로컬 Caffeine(바이트 가중치 상한) → Redis("sentiment" 캐시) 순으로 찾고, 둘 다 없을 때만 분석한다.
+ * 같은 텍스트를 동시에 요청하면 한 번만 분석하며, Redis 장애 시에는 로컬 캐시와 분석만으로 동작한다.
+ * Redis 키에는 사용 중인 채점기의 식별자(모델 체크섬 또는 사전 지문)가 들어가 모델이나 사전을 바꾸면
+ * 이전 결과를 따로 지우지 않아도 쓰지 않게 되고, 남은 항목은 redis-ttl이 지나면 사라진다.
+ */
+@Slf4j
+@Component
+public class SentimentResultCache {
+
+    static final String CACHE_NAME = "sentiment";
+    // SentimentResult 형식이나 라벨, 신뢰도 계산이 바뀌면 올린다 (채점기 변경은 식별자가 알아서 반영한다)
+    private static final String FORMAT_VERSION = "r1";
+    // SentimentResult 객체 헤더, BigDecimal, 라벨 참조, 키(ContentHash)와 Caffeine 노드의 대략적인 크기
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final CacheManager cacheManager;
+    private final String keyPrefix;
+    private final Cache<ContentHash, SentimentResult> local;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    @Autowired
+    public SentimentResultCache(
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.sentiment.result-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${jibmusil.sentiment.result-cache.expire-after-access:PT6H}") Duration expireAfterAccess,
+            HashedFeatureSentimentModel model,
+            LexiconSentimentScorer lexiconScorer) {
+        // SentimentAnalysisService.sentimentScore와 같이 모델이 있으면 모델, 없으면 사전이 점수를 낸다
+        this(cacheManager, meterRegistry, maxBytes, expireAfterAccess,
+             model.isLoaded() ? model.identity() : lexiconScorer.identity());
+        log.info("Sentiment result cache key prefix: {}", keyPrefix);
+    }
+
+    SentimentResultCache(CacheManager cacheManager, MeterRegistry meterRegistry, long maxBytes,
+                         Duration expireAfterAccess, String scorerIdentity) {
+        this.cacheManager = cacheManager;
+        this.keyPrefix = FORMAT_VERSION + ":" + scorerIdentity + ":";
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ContentHash hash, SentimentResult result) ->
+                                 ENTRY_OVERHEAD_BYTES + (result.label() != null ? 2 * result.label().length() : 0))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "sentimentResults");
+        this.redisHits = meterRegistry.counter("sentiment.cache.redis.requests", "result", "hit");
+        this.redisMisses = meterRegistry.counter("sentiment.cache.redis.requests", "result", "miss");
+        this.redisErrors = meterRegistry.counter("sentiment.cache.redis.requests", "result", "error");
+        meterRegistry.gauge("sentiment.cache.hit.ratio", List.of(Tag.of("tier", "local")), local,
+                            cache -> cache.stats().hitRate());
+        meterRegistry.gauge("sentiment.cache.hit.ratio", List.of(Tag.of("tier", "redis")), this,
+                            SentimentResultCache::redisHitRatio);
+    }
+
+    /**
+     * text의 캐시된 결과를 돌려주고, 없으면 analyzer로 계산해 두 계층에 저장한다.
+     */
+    public SentimentResult get(String text, Function<String, SentimentResult> analyzer) {
+        return local.get(ContentHash.of(text), hash -> loadOrAnalyze(hash, text, analyzer));
+    }
+
+    private SentimentResult loadOrAnalyze(ContentHash hash, String text, Function<String, SentimentResult> analyzer) {
+        String key = keyPrefix + hash.toHex();
+        org.springframework.cache.Cache redis = cacheManager.getCache(CACHE_NAME);
+        if (redis != null) {
+            try {
+                SentimentResult cached = redis.get(key, SentimentResult.class);
+                if (cached != null) {
+                    redisHits.increment();
+                    return cached;
+                }
+                redisMisses.increment();
+            } catch (RuntimeException e) {
+                redisErrors.increment();
+                log.debug("Sentiment cache read failed for {}: {}", key, e.getMessage());
+            }
+        }
+
+        SentimentResult result = analyzer.apply(text);
+        if (redis != null) {
+            try {
+                redis.put(key, result);
+            } catch (RuntimeException e) {
+                redisErrors.increment();
+                log.debug("Sentiment cache write failed for {}: {}", key, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private double redisHitRatio() {
+        double requests = redisHits.count() + redisMisses.count();
+        return requests > 0 ? redisHits.count() / requests : 0.0;
+    }
+}
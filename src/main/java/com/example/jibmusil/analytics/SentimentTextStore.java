@@ -0,0 +1,108 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.util.ContentHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 감정 분석에 쓴 원문을 내용 해시로 저장하고 조회한다(claim check).
+ * sentiment-analysis 이벤트에는 해시만 실리고, 원문이 필요한 consumer는 find로 가져온다.
+ * 같은 텍스트는 한 번만 저장되며, 조회 결과는 크기 제한이 있는 로컬 캐시에 둔다.
+ * 마지막 저장 후 retention이 지난 원문은 purgeExpired가 지우므로 retention은 consumer 지연보다 길어야 한다.
+ */
+@Slf4j
+@Component
+public class SentimentTextStore {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO sentiment_texts (content_hash, text, created_at) VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE created_at = VALUES(created_at)
+            """;
+    private static final int PURGE_BATCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<ContentHash, String> texts;
+    private final Duration retention;
+
+    public SentimentTextStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.sentiment.text-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${jibmusil.sentiment.text-cache.expire-after-access:PT1H}") Duration expireAfterAccess,
+            @Value("${jibmusil.sentiment.text-retention:P7D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.texts = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ContentHash hash, String text) -> 2 * text.length() + 64)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, texts, "sentimentTexts");
+    }
+
+    /**
+     * 원문을 저장하고 이벤트에 실을 해시를 돌려준다. 로컬 캐시에 있으면 다시 쓰지 않고,
+     * DB에만 있으면 created_at을 갱신해 보관 기간을 늘린다.
+     */
+    public ContentHash store(String text) {
+        ContentHash hash = ContentHash.of(text);
+        if (texts.getIfPresent(hash) == null) {
+            jdbcTemplate.update(INSERT_SQL, hash.toBytes(), text, new Timestamp(System.currentTimeMillis()));
+            texts.put(hash, text);
+        }
+        return hash;
+    }
+
+    public Optional<String> find(ContentHash hash) {
+        // 없는 해시는 캐시하지 않아 나중에 저장된 원문도 찾을 수 있다
+        return Optional.ofNullable(texts.get(hash, this::load));
+    }
+
+    /**
+     * created_at이 retention보다 오래된 원문을 지운다. 지운 행이 로컬 캐시에 남아 있으면 store가 다시 쓰지 않으므로
+     * 하나라도 지웠다면 캐시를 비운다.
+     */
+    @Scheduled(fixedDelayString = "${jibmusil.sentiment.text-purge-interval:PT1H}")
+    public int purgeExpired() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retention.toMillis());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM sentiment_texts WHERE created_at < ? LIMIT " + PURGE_BATCH_SIZE,
+                                          cutoff);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (total > 0) {
+            texts.invalidateAll();
+            log.info("Purged {} sentiment texts created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private String load(ContentHash hash) {
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT text FROM sentiment_texts WHERE content_hash = ?", String.class, (Object) hash.toBytes());
+        if (rows.isEmpty()) {
+            return null;
+        }
+        String text = rows.get(0);
+        if (!hash.matches(text)) {
+            log.warn("Stored sentiment text does not match content hash {}", hash);
+            return null;
+        }
+        return text;
+    }
+}
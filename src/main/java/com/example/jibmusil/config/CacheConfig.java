@@ -0,0 +1,22 @@
+package com.example.jibmusil.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * 감정 분석 결과는 같은 내용이면 바뀌지 않으므로 기본 TTL(10분)보다 오래 둔다.
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer sentimentCacheCustomizer(
+            @Value("${jibmusil.sentiment.result-cache.redis-ttl:P7D}") Duration ttl) {
+        // spring.cache.redis.* 기본 설정(직렬화, 키 접두사)은 그대로 두고 TTL만 바꾼다
+        return builder -> builder.withCacheConfiguration("sentiment", builder.cacheDefaults().entryTtl(ttl));
+    }
+}
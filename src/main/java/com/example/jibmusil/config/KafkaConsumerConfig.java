@@ -0,0 +1,44 @@
+package com.example.jibmusil.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.Map;
+
+@Configuration
+@EnableKafka
+public class KafkaConsumerConfig {
+
+    /**
+     * 분석용 배치 리스너. 한 번의 poll로 많은 레코드를 받아 한꺼번에 집계하도록 fetch를 크게 잡고,
+     * 값은 바이트 그대로 받아 필요한 필드만 읽는다(JsonDeserializer의 타입 헤더/DTO 생성 생략).
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> analyticsBatchListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${jibmusil.analytics.consumer.max-poll-records:5000}") int maxPollRecords,
+            @Value("${jibmusil.analytics.consumer.fetch-min-bytes:65536}") int fetchMinBytes,
+            @Value("${jibmusil.analytics.consumer.fetch-max-wait-ms:500}") int fetchMaxWaitMs,
+            @Value("${jibmusil.analytics.consumer.concurrency:1}") int concurrency) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties();
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+}
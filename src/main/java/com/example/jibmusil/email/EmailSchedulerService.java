@@ -2,6 +2,7 @@ package com.example.jibmusil.email;
 
 import com.example.jibmusil.news.NewsArticle;
 import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.TrendingEngine;
 import com.example.jibmusil.recommendation.RecommendationEngine;
 import com.example.jibmusil.user.EmailSubscription;
 import com.example.jibmusil.user.UserRepository;
@@ -12,7 +13,6 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,10 +22,14 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class EmailSchedulerService {
     
+    // 이 인기도 이상이면 속보로 간주
+    private static final float BREAKING_POPULARITY_THRESHOLD = 100f;
+    
     private final EmailService emailService;
     private final EmailSubscriptionRepository emailSubscriptionRepository;
     private final UserRepository userRepository;
     private final NewsRepository newsRepository;
+    private final TrendingEngine trendingEngine;
     private final RecommendationEngine recommendationEngine;
     
     // 매일 오전 8시에 일일 다이제스트 발송
@@ -81,7 +85,7 @@ public class EmailSchedulerService {
                 .findActiveSubscriptionsByType(EmailSubscription.SubscriptionType.TRENDING_TOPICS);
         
         // 최근 1시간 내에 인기도가 급상승한 뉴스가 있는지 확인
-        List<NewsArticle> hotTrendingNews = newsRepository.findTrendingNews(3);
+        List<NewsArticle> hotTrendingNews = trendingEngine.getTrending(3);
         
         if (!hotTrendingNews.isEmpty()) {
             for (EmailSubscription subscription : trendingSubscriptions) {
@@ -181,7 +185,7 @@ public class EmailSchedulerService {
     private boolean isBreakingNews(NewsArticle article) {
         // 속보 판단 로직
         if (article.getPopularityScore() != null && 
-            article.getPopularityScore().compareTo(new BigDecimal("100")) >= 0) {
+            article.getPopularityScore().floatValue() >= BREAKING_POPULARITY_THRESHOLD) {
             return true;
         }
         
@@ -2,6 +2,7 @@ package com.example.jibmusil.email;
 
 import com.example.jibmusil.news.NewsArticle;
 import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.TrendingEngine;
 import com.example.jibmusil.user.EmailSubscription;
 import com.example.jibmusil.user.User;
 import com.example.jibmusil.user.UserRepository;
@@ -39,6 +40,7 @@ public class EmailService {
     private final Configuration freemarkerConfig;
     private final UserRepository userRepository;
     private final NewsRepository newsRepository;
+    private final TrendingEngine trendingEngine;
     private final EmailSubscriptionRepository emailSubscriptionRepository;
     
     @Value("${spring.mail.username}")
@@ -54,7 +56,7 @@ public class EmailService {
                 User user = userRepository.findById(userId)
                         .orElseThrow(() -> new RuntimeException("User not found: " + userId));
                 
-                List<NewsArticle> topNews = newsRepository.findTrendingNews(10);
+                List<NewsArticle> topNews = trendingEngine.getTrending(10);
                 
                 Map<String, Object> templateModel = new HashMap<>();
                 templateModel.put("user", user);
@@ -148,7 +150,7 @@ public class EmailService {
                         .orElseThrow(() -> new RuntimeException("User not found: " + userId));
                 
                 // 트렌딩 토픽 및 관련 뉴스
-                List<NewsArticle> trendingNews = newsRepository.findTrendingNews(8);
+                List<NewsArticle> trendingNews = trendingEngine.getTrending(8);
                 
                 Map<String, Object> templateModel = new HashMap<>();
                 templateModel.put("user", user);
@@ -0,0 +1,20 @@
+package com.example.jibmusil.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * in-memory 백엔드에서 이벤트를 배치로 받는 구독자. Kafka 모드에서는 같은 처리를 @KafkaListener가 맡는다.
+ * 레코드는 Kafka consumer와 같은 ConsumerRecord 형태(offset은 링 버퍼 시퀀스)로 전달된다.
+ */
+public interface EventBusSubscriber {
+
+    /**
+     * 구독할 토픽. 비어 있으면 모든 토픽.
+     */
+    Set<String> topics();
+
+    void onEvents(List<ConsumerRecord<String, byte[]>> records);
+}
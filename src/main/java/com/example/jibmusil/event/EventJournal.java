@@ -0,0 +1,208 @@
+package com.example.jibmusil.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * in-memory 백엔드의 선택적 영속화. 링 버퍼 구독자로 붙어 모든 이벤트를 배치 단위로 추가 전용 파일에 쓴다.
+ * 레코드 형식: [길이 int][시퀀스 long][시각 long][outboxId long][토픽 short+바이트][키 short+바이트, 없으면 -1][페이로드 int+바이트]
+ * 비정상 종료 후 잘린 마지막 레코드는 replay에서 무시한다.
+ * 옆의 .checkpoint 파일에는 모든 구독자가 처리를 마친 시퀀스를 두어, 재시작 시 그 이후만 다시 전달한다.
+ */
+public class EventJournal implements EventBusSubscriber, AutoCloseable {
+
+    private static final int FIXED_BYTES = 8 + 8 + 8 + 2 + 2 + 4;
+
+    private final Path path;
+    private final Path checkpointPath;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+
+    public EventJournal(Path path, boolean fsync) {
+        this.path = path;
+        this.checkpointPath = path.resolveSibling(path.getFileName() + ".checkpoint");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open event journal " + path, e);
+        }
+        this.fsync = fsync;
+    }
+
+    @Override
+    public Set<String> topics() {
+        return Set.of();
+    }
+
+    @Override
+    public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+        buffer.clear();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+            byte[] key = record.key() != null ? record.key().getBytes(StandardCharsets.UTF_8) : null;
+            byte[] payload = record.value();
+            int length = FIXED_BYTES + topic.length + (key != null ? key.length : 0) + payload.length;
+            ensureCapacity(4 + length);
+            buffer.putInt(length).putLong(record.offset()).putLong(record.timestamp()).putLong(outboxId(record));
+            buffer.putShort((short) topic.length).put(topic);
+            if (key != null) {
+                buffer.putShort((short) key.length).put(key);
+            } else {
+                buffer.putShort((short) -1);
+            }
+            buffer.putInt(payload.length).put(payload);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to event journal", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 처리가 끝난 마지막 시퀀스, 체크포인트가 없으면 -1.
+     */
+    public long readCheckpoint() {
+        try {
+            if (!Files.exists(checkpointPath)) {
+                return -1;
+            }
+            return ByteBuffer.wrap(Files.readAllBytes(checkpointPath)).getLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read event journal checkpoint " + checkpointPath, e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓰고 이름을 바꿔, 중간에 죽어도 이전 체크포인트나 새 체크포인트 중 하나가 온전히 남는다.
+     */
+    public void writeCheckpoint(long sequence) {
+        Path temp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer value = ByteBuffer.allocate(Long.BYTES).putLong(sequence).flip();
+            while (value.hasRemaining()) {
+                out.write(value);
+            }
+            if (fsync) {
+                out.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write event journal checkpoint " + temp, e);
+        }
+        try {
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write event journal checkpoint " + checkpointPath, e);
+        }
+    }
+
+    /**
+     * 시퀀스가 afterSequence보다 큰 레코드만 consumer에 넘기고, 저널에서 본 가장 큰 시퀀스를 돌려준다.
+     */
+    public long replayAfter(long afterSequence, Consumer<JournalRecord> consumer) {
+        long[] highest = {afterSequence};
+        try {
+            replay(path, record -> {
+                if (record.sequence() > afterSequence) {
+                    consumer.accept(record);
+                }
+                highest[0] = Math.max(highest[0], record.sequence());
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay event journal " + path, e);
+        }
+        return highest[0];
+    }
+
+    /**
+     * 저널의 레코드를 기록 순서대로 읽어 consumer에 넘긴다. 복구나 다른 노드로 옮길 때 쓴다.
+     */
+    public static long replay(Path path, Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (true) {
+                header.clear();
+                if (!readFully(channel, header)) {
+                    return count;
+                }
+                ByteBuffer body = ByteBuffer.allocate(header.flip().getInt());
+                if (!readFully(channel, body)) {
+                    return count;
+                }
+                body.flip();
+                long sequence = body.getLong();
+                long timestamp = body.getLong();
+                long outboxId = body.getLong();
+                byte[] topic = new byte[body.getShort()];
+                body.get(topic);
+                short keyLength = body.getShort();
+                byte[] key = keyLength >= 0 ? new byte[keyLength] : null;
+                if (key != null) {
+                    body.get(key);
+                }
+                byte[] payload = new byte[body.getInt()];
+                body.get(payload);
+                consumer.accept(new JournalRecord(sequence, timestamp, outboxId, new String(topic, StandardCharsets.UTF_8),
+                                                  key != null ? new String(key, StandardCharsets.UTF_8) : null, payload));
+                count++;
+            }
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long outboxId(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(EventPublisher.OUTBOX_ID_HEADER);
+        return header != null ? ByteBuffer.wrap(header.value()).getLong() : 0L;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    public record JournalRecord(long sequence, long timestampMillis, long outboxId, String topic, String key,
+                                byte[] payload) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.jibmusil.event;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 이벤트 발행 백엔드. jibmusil.events.backend로 Kafka(kafka)와 프로세스 내 링 버퍼(in-memory) 중 하나가 선택된다.
+ * 반환된 future는 백엔드가 이벤트를 받아들이면(Kafka는 브로커 확인, 링 버퍼는 슬롯 게시) 완료된다.
+ */
+public interface EventPublisher {
+
+    String OUTBOX_ID_HEADER = "outbox-id";
+
+    default CompletableFuture<Void> publish(String topic, String key, byte[] payload) {
+        return publish(topic, key, payload, 0L);
+    }
+
+    /**
+     * outboxId가 0보다 크면 outbox-id 헤더(8바이트 big-endian)로 함께 전달해 consumer가 중복을 걸러 낼 수 있게 한다.
+     */
+    CompletableFuture<Void> publish(String topic, String key, byte[] payload, long outboxId);
+
+    /**
+     * 버퍼에 쌓인 이벤트를 즉시 내보낸다.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.jibmusil.event;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jibmusil.events.backend", havingValue = "kafka", matchIfMissing = true)
+public class KafkaEventPublisher implements EventPublisher {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, byte[] payload, long outboxId) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, payload);
+        if (outboxId > 0) {
+            record.headers().add(OUTBOX_ID_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(outboxId).array());
+        }
+        return kafkaTemplate.send(record).thenAccept(result -> { });
+    }
+
+    @Override
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+}
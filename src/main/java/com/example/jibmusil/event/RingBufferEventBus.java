@@ -0,0 +1,460 @@
+package com.example.jibmusil.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 브로커 없이 단일 노드에서 쓰는 프로세스 내 이벤트 버스 (Disruptor 방식).
+ * 미리 할당한 2의 거듭제곱 크기 슬롯 배열에 생산자가 CAS로 시퀀스를 확보해 쓰고, 슬롯별 회차 표시로 게시한다.
+ * 구독자마다 전용 스레드가 자기 시퀀스 이후 게시된 구간을 한 번에 배치로 읽으며, 생산자는 가장 느린 구독자를
+ * 한 바퀴 이상 앞지르지 않는다. 락이 없고 대기는 spin, yield, park 순으로 물러난다.
+ * 가득 찬 상태가 publish-timeout 동안 풀리지 않으면 발행은 실패한 future를 돌려준다.
+ * 메모리에만 있으므로 처리 전에 프로세스가 죽으면 이벤트가 사라지며, 저널을 켜면 모든 이벤트가 파일에 남고
+ * 시작할 때 체크포인트 이후의 저널 레코드를 구독자에게 다시 전달한다(최대 checkpoint-interval만큼 중복될 수 있다).
+ * 구독자가 실패한 배치는 백오프하며 재시도하고, 그래도 실패하면 dead-letter 저널에 남긴 뒤 다음 배치로 넘어간다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jibmusil.events.backend", havingValue = "in-memory")
+public class RingBufferEventBus implements EventPublisher {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final CompletableFuture<Void> PUBLISHED = CompletableFuture.completedFuture(null);
+    private static final int SPIN_TRIES = 200;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final Slot[] slots;
+    private final int[] available;
+    private final int mask;
+    private final int indexShift;
+    private final int maxBatch;
+    private final long publishTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final PaddedSequence cursor = new PaddedSequence();
+    private volatile long gatingCache = -1;
+    private final List<Processor> processors = new ArrayList<>();
+    private final EventJournal journal;
+    private final long checkpointIntervalNanos;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final Path deadLetterPath;
+    private EventJournal deadLetters;
+    private final Counter publishedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private volatile boolean running;
+
+    public RingBufferEventBus(
+            List<EventBusSubscriber> subscribers,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.events.in-memory.capacity:65536}") int capacity,
+            @Value("${jibmusil.events.in-memory.max-batch:1024}") int maxBatch,
+            @Value("${jibmusil.events.in-memory.publish-timeout:PT1S}") Duration publishTimeout,
+            @Value("${jibmusil.events.in-memory.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+            @Value("${jibmusil.events.in-memory.journal.enabled:false}") boolean journalEnabled,
+            @Value("${jibmusil.events.in-memory.journal.path:data/events.journal}") Path journalPath,
+            @Value("${jibmusil.events.in-memory.journal.fsync:false}") boolean journalFsync,
+            @Value("${jibmusil.events.in-memory.journal.checkpoint-interval:PT1S}") Duration checkpointInterval,
+            @Value("${jibmusil.events.in-memory.retry.max-attempts:3}") int maxAttempts,
+            @Value("${jibmusil.events.in-memory.retry.backoff:PT0.1S}") Duration retryBackoff,
+            @Value("${jibmusil.events.in-memory.dead-letter-path:data/events-dead-letter.journal}") Path deadLetterPath) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.available = new int[size];
+        Arrays.fill(available, -1);
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.maxBatch = maxBatch;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        for (EventBusSubscriber subscriber : subscribers) {
+            processors.add(new Processor(subscriber, subscriber.getClass().getSimpleName()));
+        }
+        this.journal = journalEnabled ? new EventJournal(journalPath, journalFsync) : null;
+        if (journal != null) {
+            processors.add(new Processor(journal, "journal"));
+        }
+        this.checkpointIntervalNanos = checkpointInterval.toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.deadLetterPath = deadLetterPath;
+        this.publishedCounter = meterRegistry.counter("events.bus.published");
+        this.rejectedCounter = meterRegistry.counter("events.bus.rejected");
+        this.failedCounter = meterRegistry.counter("events.bus.subscriber.failed");
+        this.deadLetteredCounter = meterRegistry.counter("events.bus.subscriber.dead_lettered");
+        meterRegistry.gauge("events.bus.backlog", this, RingBufferEventBus::backlog);
+    }
+
+    @PostConstruct
+    void start() {
+        // 저널이 있으면 이전 실행의 시퀀스를 이어 써서 체크포인트와 비교할 수 있게 한다
+        long initial = journal != null ? replayJournal() : -1;
+        cursor.set(initial);
+        gatingCache = initial;
+        for (Processor processor : processors) {
+            processor.sequence.set(initial);
+            processor.lastCheckpoint = initial;
+        }
+        running = true;
+        for (Processor processor : processors) {
+            processor.thread = Thread.ofPlatform().name("event-bus-" + processor.name).daemon(true).start(processor);
+        }
+        log.info("In-memory event bus started with {} slots and {} subscribers", slots.length, processors.size());
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        // 새 발행은 거절하고 구독자가 게시된 이벤트를 모두 처리할 때까지 기다린다
+        running = false;
+        for (Processor processor : processors) {
+            processor.thread.join(shutdownTimeout.toMillis());
+            if (processor.thread.isAlive()) {
+                log.warn("Event bus subscriber {} did not drain within {}", processor.name, shutdownTimeout);
+            }
+        }
+        if (journal != null) {
+            journal.writeCheckpoint(processedSequence());
+        }
+        for (Processor processor : processors) {
+            if (processor.subscriber instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        synchronized (this) {
+            if (deadLetters != null) {
+                deadLetters.close();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, byte[] payload, long outboxId) {
+        long sequence = running ? claim() : -1;
+        if (sequence < 0) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(new IllegalStateException("Event bus is full or stopped"));
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.topic = topic;
+        slot.key = key;
+        slot.payload = payload;
+        slot.timestamp = System.currentTimeMillis();
+        slot.outboxId = outboxId;
+        // 슬롯 필드를 쓴 뒤 회차를 release로 기록해야 구독자가 완성된 슬롯만 본다
+        AVAILABLE.setRelease(available, (int) sequence & mask, (int) (sequence >>> indexShift));
+        publishedCounter.increment();
+        return PUBLISHED;
+    }
+
+    /**
+     * 체크포인트 이후의 저널 레코드를 저널을 뺀 구독자에게 배치로 전달하고, 새 발행을 시작할 시퀀스를 돌려준다.
+     */
+    private long replayJournal() {
+        long checkpoint = journal.readCheckpoint();
+        List<ConsumerRecord<String, byte[]>> batch = new ArrayList<>(maxBatch);
+        long[] replayed = {0};
+        long highest = journal.replayAfter(checkpoint, record -> {
+            batch.add(toRecord(record.sequence(), record.topic(), record.key(), record.payload(),
+                               record.timestampMillis(), record.outboxId()));
+            if (batch.size() == maxBatch) {
+                replayed[0] += deliverReplayed(batch);
+            }
+        });
+        replayed[0] += deliverReplayed(batch);
+        // 구독자가 처리했지만 저널에 쓰이기 전에 죽은 시퀀스가 있으면 체크포인트가 더 크다
+        long initial = Math.max(checkpoint, highest);
+        journal.writeCheckpoint(initial);
+        if (replayed[0] > 0) {
+            log.info("Replayed {} journaled events after sequence {}", replayed[0], checkpoint);
+        }
+        return initial;
+    }
+
+    private int deliverReplayed(List<ConsumerRecord<String, byte[]>> batch) {
+        for (Processor processor : processors) {
+            if (processor.subscriber == journal) {
+                continue;
+            }
+            List<ConsumerRecord<String, byte[]>> matching = processor.topics.isEmpty() ? batch
+                    : batch.stream().filter(record -> processor.topics.contains(record.topic())).toList();
+            if (!matching.isEmpty()) {
+                processor.deliver(new ArrayList<>(matching));
+            }
+        }
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    // 저널을 뺀 모든 구독자가 처리를 마친 시퀀스
+    private long processedSequence() {
+        long minimum = cursor.get();
+        for (Processor processor : processors) {
+            if (processor.subscriber != journal) {
+                minimum = Math.min(minimum, processor.sequence.get());
+            }
+        }
+        return minimum;
+    }
+
+    private synchronized void deadLetter(String name, List<ConsumerRecord<String, byte[]>> batch, RuntimeException e) {
+        deadLetteredCounter.increment(batch.size());
+        try {
+            if (deadLetters == null) {
+                deadLetters = new EventJournal(deadLetterPath, true);
+            }
+            deadLetters.onEvents(batch);
+            log.error("Event bus subscriber {} gave up on {} events after {} attempts, wrote them to {}",
+                      name, batch.size(), maxAttempts, deadLetterPath, e);
+        } catch (UncheckedIOException ioException) {
+            log.error("Event bus subscriber {} gave up on {} events and they could not be dead-lettered to {}",
+                      name, batch.size(), deadLetterPath, ioException);
+        }
+    }
+
+    long backlog() {
+        return cursor.get() - minimumSequence(cursor.get());
+    }
+
+    private long claim() {
+        long deadline = 0;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - slots.length;
+            if (wrapPoint > gatingCache) {
+                long minimum = minimumSequence(current);
+                gatingCache = minimum;
+                if (wrapPoint > minimum) {
+                    // 가장 느린 구독자가 비켜 줄 때까지 잠시 기다린다
+                    long now = System.nanoTime();
+                    if (deadline == 0) {
+                        deadline = now + publishTimeoutNanos;
+                    } else if (now > deadline) {
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1_000L);
+                    continue;
+                }
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Processor processor : processors) {
+            minimum = Math.min(minimum, processor.sequence.get());
+        }
+        return minimum;
+    }
+
+    private boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(available, (int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private long highestPublished(long lower, long upper) {
+        for (long sequence = lower; sequence <= upper; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return upper;
+    }
+
+    private static final class Slot {
+        String topic;
+        String key;
+        byte[] payload;
+        long timestamp;
+        long outboxId;
+    }
+
+    @SuppressWarnings("unused")
+    private static class LeftPadding {
+        long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding {
+        volatile long value = -1;
+    }
+
+    /**
+     * 시퀀스 값 앞뒤를 채워 다른 구독자/커서와 같은 캐시 라인을 공유하지 않게 한다.
+     * JVM은 한 클래스 안의 필드 순서를 바꿀 수 있으므로 상속 계층으로 패딩 위치를 고정하고,
+     * 값은 별도 객체 없이 이 필드에 VarHandle로 직접 접근한다.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedSequence extends SequenceValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long p9, p10, p11, p12, p13, p14, p15;
+
+        long get() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void set(long sequence) {
+            VALUE.setRelease(this, sequence);
+        }
+
+        boolean compareAndSet(long expected, long sequence) {
+            return VALUE.compareAndSet(this, expected, sequence);
+        }
+    }
+
+    private final class Processor implements Runnable {
+        private final EventBusSubscriber subscriber;
+        private final Set<String> topics;
+        private final String name;
+        private final PaddedSequence sequence = new PaddedSequence();
+        private Thread thread;
+        private long lastCheckpoint;
+        private long nextCheckpointNanos;
+
+        Processor(EventBusSubscriber subscriber, String name) {
+            this.subscriber = subscriber;
+            this.topics = subscriber.topics();
+            this.name = name;
+        }
+
+        @Override
+        public void run() {
+            List<ConsumerRecord<String, byte[]>> batch = new ArrayList<>(maxBatch);
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (true) {
+                if (subscriber == journal) {
+                    checkpoint();
+                }
+                long upper = Math.min(cursor.get(), next + maxBatch - 1);
+                long published = upper >= next ? highestPublished(next, upper) : next - 1;
+                if (published < next) {
+                    if (!running && cursor.get() < next) {
+                        return;
+                    }
+                    idle = backOff(idle);
+                    continue;
+                }
+                idle = 0;
+                for (long s = next; s <= published; s++) {
+                    Slot slot = slots[(int) s & mask];
+                    if (topics.isEmpty() || topics.contains(slot.topic)) {
+                        batch.add(toRecord(s, slot));
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                    batch = new ArrayList<>(maxBatch);
+                }
+                sequence.set(published);
+                next = published + 1;
+            }
+        }
+
+        /**
+         * 실패하면 backoff를 두 배씩 늘리며 max-attempts까지 다시 전달하고, 끝내 실패한 배치는 dead-letter 저널에 쓴다.
+         * 재시도하는 동안 이 구독자의 시퀀스는 멈춰 있으므로 생산자는 링 버퍼 크기만큼만 앞서간다.
+         */
+        void deliver(List<ConsumerRecord<String, byte[]>> batch) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    subscriber.onEvents(batch);
+                    return;
+                } catch (RuntimeException e) {
+                    failedCounter.increment();
+                    if (attempt >= maxAttempts) {
+                        deadLetter(name, batch, e);
+                        return;
+                    }
+                    log.warn("Event bus subscriber {} failed on {} events (attempt {}/{}): {}",
+                             name, batch.size(), attempt, maxAttempts, e.getMessage());
+                    LockSupport.parkNanos(retryBackoffNanos << (attempt - 1));
+                }
+            }
+        }
+
+        // 저널 스레드가 주기적으로 다른 구독자의 처리 위치를 체크포인트로 남긴다
+        private void checkpoint() {
+            long now = System.nanoTime();
+            if (now - nextCheckpointNanos < 0) {
+                return;
+            }
+            nextCheckpointNanos = now + checkpointIntervalNanos;
+            long processed = processedSequence();
+            if (processed == lastCheckpoint) {
+                return;
+            }
+            try {
+                journal.writeCheckpoint(processed);
+                lastCheckpoint = processed;
+            } catch (UncheckedIOException e) {
+                log.warn("Failed to write event journal checkpoint: {}", e.getMessage());
+            }
+        }
+
+        private int backOff(int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return idle + 1;
+        }
+
+        private ConsumerRecord<String, byte[]> toRecord(long offset, Slot slot) {
+            return RingBufferEventBus.toRecord(offset, slot.topic, slot.key, slot.payload, slot.timestamp, slot.outboxId);
+        }
+    }
+
+    private static ConsumerRecord<String, byte[]> toRecord(long offset, String topic, String key, byte[] payload,
+                                                           long timestamp, long outboxId) {
+        RecordHeaders headers = new RecordHeaders();
+        if (outboxId > 0) {
+            headers.add(OUTBOX_ID_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(outboxId).array());
+        }
+        return new ConsumerRecord<>(topic, 0, offset, timestamp, TimestampType.CREATE_TIME,
+                                    -1, payload.length, key, payload, headers, Optional.empty());
+    }
+}
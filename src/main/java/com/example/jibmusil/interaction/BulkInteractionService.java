@@ -0,0 +1,105 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 오프라인에서 쌓인 상호작용 묶음을 한 번에 받아 검증, 반복 억제 후 수집 버퍼에 통째로 넣는다.
+ * 사용자 확인과 인증은 요청당 한 번이며, DB 기록과 선호도/인기도 반영은 writer 스레드의 배치 경로를 그대로 탄다.
+ */
+@Service
+public class BulkInteractionService {
+
+    private final InteractionIngestionBuffer ingestionBuffer;
+    private final InteractionDeduplicator deduplicator;
+    private final int maxItems;
+    private final Duration maxAge;
+    private final Duration maxClockSkew;
+    private final DistributionSummary batchSizes;
+
+    public BulkInteractionService(
+            InteractionIngestionBuffer ingestionBuffer,
+            InteractionDeduplicator deduplicator,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.interaction.bulk.max-items:1000}") int maxItems,
+            @Value("${jibmusil.interaction.bulk.max-age:P7D}") Duration maxAge,
+            @Value("${jibmusil.interaction.bulk.max-clock-skew:PT5M}") Duration maxClockSkew) {
+        this.ingestionBuffer = ingestionBuffer;
+        this.deduplicator = deduplicator;
+        this.maxItems = maxItems;
+        this.maxAge = maxAge;
+        this.maxClockSkew = maxClockSkew;
+        this.batchSizes = meterRegistry.summary("interaction.bulk.size");
+    }
+
+    public int maxItems() {
+        return maxItems;
+    }
+
+    public Result ingest(long userId, List<BulkInteraction> interactions) {
+        if (interactions.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " interactions per request");
+        }
+        batchSizes.record(interactions.size());
+
+        // 한 번의 순회로 검증하고, 반복 억제가 시간순으로 동작하도록 클라이언트 시각으로 정렬
+        long nowMillis = System.currentTimeMillis();
+        long oldestMillis = nowMillis - maxAge.toMillis();
+        long newestMillis = nowMillis + maxClockSkew.toMillis();
+        List<Rejection> rejected = new ArrayList<>();
+        List<InteractionEvent> events = new ArrayList<>(interactions.size());
+        for (int i = 0; i < interactions.size(); i++) {
+            BulkInteraction interaction = interactions.get(i);
+            if (interaction == null || interaction.articleId() == null || interaction.interactionType() == null) {
+                rejected.add(new Rejection(i, "articleId and interactionType are required"));
+                continue;
+            }
+            long occurredAtMillis = interaction.occurredAt() != null ? interaction.occurredAt().toEpochMilli() : nowMillis;
+            if (occurredAtMillis < oldestMillis || occurredAtMillis > newestMillis) {
+                rejected.add(new Rejection(i, "occurredAt is outside the accepted range"));
+                continue;
+            }
+            int readingTimeSeconds = interaction.readingTimeSeconds() != null ? Math.max(0, interaction.readingTimeSeconds()) : 0;
+            events.add(new InteractionEvent(userId, interaction.articleId(), interaction.interactionType(),
+                                            readingTimeSeconds, occurredAtMillis));
+        }
+        events.sort(Comparator.comparingLong(InteractionEvent::occurredAtMillis));
+
+        List<InteractionEvent> accepted = new ArrayList<>(events.size());
+        for (InteractionEvent event : events) {
+            if (!deduplicator.isDuplicate(event)) {
+                accepted.add(event);
+            }
+        }
+        boolean queued = accepted.isEmpty() || ingestionBuffer.offerAll(accepted);
+        if (!queued) {
+            accepted.forEach(deduplicator::forget);
+        }
+        return new Result(queued, queued ? accepted.size() : 0, events.size() - accepted.size(), rejected);
+    }
+
+    /**
+     * 오프라인 동기화 요청의 한 항목. occurredAt은 클라이언트에서 상호작용이 일어난 시각(ISO-8601).
+     */
+    public record BulkInteraction(Long articleId, InteractionType interactionType, Integer readingTimeSeconds,
+                                  Instant occurredAt) {
+    }
+
+    public record Rejection(int index, String reason) {
+    }
+
+    /**
+     * queued가 false면 버퍼가 가득 차 아무것도 기록되지 않았으므로 묶음 전체를 다시 보내야 한다.
+     */
+    public record Result(boolean queued, int accepted, int duplicates, List<Rejection> rejected) {
+    }
+}
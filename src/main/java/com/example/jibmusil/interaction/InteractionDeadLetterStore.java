@@ -0,0 +1,115 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재시도 후에도 DB에 기록하지 못한 상호작용을 보관하는 로컬 추가 전용 파일.
+ * 이미 202로 수락한 이벤트를 잃지 않기 위한 마지막 보관소로, 한 줄에 한 건씩
+ * userId,articleId,type,readingTimeSeconds,occurredAtMillis 형식으로 쓰고 매번 fsync한다.
+ * 애플리케이션이 시작할 때 InteractionIngestionBuffer가 takeAll로 꺼내 다시 기록한다.
+ */
+@Slf4j
+@Component
+public class InteractionDeadLetterStore {
+
+    private final Path path;
+    private final Path replayPath;
+
+    public InteractionDeadLetterStore(
+            @Value("${jibmusil.interaction.ingest.dead-letter-path:data/interactions-dead-letter.csv}") String path) {
+        this.path = Path.of(path);
+        this.replayPath = Path.of(path + ".replaying");
+    }
+
+    public synchronized void append(List<InteractionEvent> events) {
+        StringBuilder lines = new StringBuilder(events.size() * 48);
+        for (InteractionEvent event : events) {
+            lines.append(event.userId()).append(',')
+                 .append(event.articleId()).append(',')
+                 .append(event.type().name()).append(',')
+                 .append(event.readingTimeSeconds()).append(',')
+                 .append(event.occurredAtMillis()).append('\n');
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // 파일에도 못 쓰면 로그가 유일한 기록이므로 내용을 그대로 남긴다
+            log.error("Failed to dead-letter {} interactions to {}:\n{}", events.size(), path, lines, e);
+        }
+    }
+
+    /**
+     * 보관된 상호작용을 모두 꺼낸다. 파일을 옆 이름(.replaying)으로 옮긴 뒤 읽으므로 다시 기록하다 실패한 행은
+     * 새 파일에 쌓인다. 다시 기록을 마치면 completeReplay를 호출해야 하고, 그 전에 종료되면 다음 takeAll이 다시 꺼낸다.
+     */
+    public synchronized List<InteractionEvent> takeAll() throws IOException {
+        if (Files.exists(path)) {
+            if (Files.exists(replayPath)) {
+                // 끝나지 못한 지난 재적재 뒤에 이어 붙인다
+                Files.write(replayPath, Files.readAllBytes(path), StandardOpenOption.APPEND);
+                Files.delete(path);
+            } else {
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        return read(replayPath);
+    }
+
+    public synchronized void completeReplay() throws IOException {
+        Files.deleteIfExists(replayPath);
+    }
+
+    /**
+     * 아직 꺼내지 않은 보관 내용.
+     */
+    synchronized List<InteractionEvent> readAll() throws IOException {
+        return read(path);
+    }
+
+    private static List<InteractionEvent> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        List<InteractionEvent> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            try {
+                events.add(new InteractionEvent(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                                                InteractionType.valueOf(fields[2]), Integer.parseInt(fields[3]),
+                                                Long.parseLong(fields[4])));
+            } catch (RuntimeException e) {
+                // 중간에 잘린 줄 하나 때문에 나머지를 다시 기록하지 못하면 안 된다
+                log.warn("Skipping malformed dead-letter line in {}: {}", file, line);
+            }
+        }
+        return events;
+    }
+}
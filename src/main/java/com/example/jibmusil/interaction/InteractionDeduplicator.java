@@ -0,0 +1,160 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 같은 (사용자, 기사, 상호작용 종류)가 윈도우 안에 반복되면 억제한다. 스크롤로 같은 기사를 오가며 생기는 VIEW 반복이 대상.
+ * 키는 64비트 지문으로 줄여 스트라이프별 primitive 배열에 선형 탐사로 저장하고 엔트리 객체는 만들지 않는다.
+ * 탐사 구간이 가득 차면 가장 오래된 슬롯을 덮어쓰므로 메모리는 고정이며, 그때는 중복 하나를 통과시킬 수 있다.
+ */
+@Component
+public class InteractionDeduplicator {
+
+    private static final int PROBE_LIMIT = 8;
+    private static final long EMPTY = 0L;
+
+    private final Set<InteractionType> types;
+    private final long windowMillis;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final Map<InteractionType, Counter> checkedCounters = new EnumMap<>(InteractionType.class);
+    private final Map<InteractionType, Counter> suppressedCounters = new EnumMap<>(InteractionType.class);
+
+    public InteractionDeduplicator(
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.interaction.dedup.types:VIEW}") Set<InteractionType> types,
+            @Value("${jibmusil.interaction.dedup.window:PT10M}") Duration window,
+            @Value("${jibmusil.interaction.dedup.capacity:1048576}") int capacity,
+            @Value("${jibmusil.interaction.dedup.stripes:16}") int stripes) {
+        this.types = types.isEmpty() ? EnumSet.noneOf(InteractionType.class) : EnumSet.copyOf(types);
+        this.windowMillis = window.toMillis();
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        int slotsPerStripe = Math.max(PROBE_LIMIT, Integer.highestOneBit(Math.max(1, capacity / stripeCount - 1)) << 1);
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(slotsPerStripe);
+        }
+        for (InteractionType type : this.types) {
+            checkedCounters.put(type, meterRegistry.counter("interaction.dedup.checked", "type", type.name()));
+            suppressedCounters.put(type, meterRegistry.counter("interaction.dedup.suppressed", "type", type.name()));
+        }
+        meterRegistry.gauge("interaction.dedup.suppression.ratio", this, InteractionDeduplicator::suppressionRatio);
+    }
+
+    /**
+     * 윈도우 안에서 이미 받은 상호작용이면 true. 처음이거나 윈도우가 지났으면 기록하고 false.
+     */
+    public boolean isDuplicate(InteractionEvent event) {
+        if (!types.contains(event.type())) {
+            return false;
+        }
+        checkedCounters.get(event.type()).increment();
+        long fingerprint = fingerprint(event.userId(), event.articleId(), event.type());
+        Stripe stripe = stripes[(int) (fingerprint >>> 40) & stripeMask];
+        boolean duplicate;
+        synchronized (stripe) {
+            duplicate = stripe.checkAndRecord(fingerprint, event.occurredAtMillis(), windowMillis);
+        }
+        if (duplicate) {
+            suppressedCounters.get(event.type()).increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * isDuplicate로 기록한 상호작용을 지운다. 버퍼가 가득 차 거절된 요청의 재시도가 억제되지 않도록 한다.
+     */
+    public void forget(InteractionEvent event) {
+        if (!types.contains(event.type())) {
+            return;
+        }
+        long fingerprint = fingerprint(event.userId(), event.articleId(), event.type());
+        Stripe stripe = stripes[(int) (fingerprint >>> 40) & stripeMask];
+        synchronized (stripe) {
+            stripe.remove(fingerprint);
+        }
+    }
+
+    double suppressionRatio() {
+        double checked = 0;
+        double suppressed = 0;
+        for (InteractionType type : types) {
+            checked += checkedCounters.get(type).count();
+            suppressed += suppressedCounters.get(type).count();
+        }
+        return checked > 0 ? suppressed / checked : 0.0;
+    }
+
+    private static long fingerprint(long userId, long articleId, InteractionType type) {
+        // murmur3 fmix64로 섞어 슬롯/스트라이프 분포를 고르게 하고 0(빈 슬롯)은 피한다
+        long h = userId * 0x9E3779B97F4A7C15L ^ articleId * 0xC2B2AE3D27D4EB4FL ^ type.ordinal();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h != EMPTY ? h : 1L;
+    }
+
+    private static final class Stripe {
+        private final long[] fingerprints;
+        private final long[] acceptedAt;
+        private final int mask;
+
+        Stripe(int slots) {
+            this.fingerprints = new long[slots];
+            this.acceptedAt = new long[slots];
+            this.mask = slots - 1;
+        }
+
+        boolean checkAndRecord(long fingerprint, long nowMillis, long windowMillis) {
+            int start = (int) fingerprint & mask;
+            int victim = -1;
+            long victimAcceptedAt = Long.MAX_VALUE;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int slot = (start + i) & mask;
+                if (fingerprints[slot] == fingerprint) {
+                    if (nowMillis - acceptedAt[slot] < windowMillis) {
+                        return true;
+                    }
+                    // 윈도우는 마지막으로 통과시킨 시점부터 다시 시작
+                    acceptedAt[slot] = nowMillis;
+                    return false;
+                }
+                // 빈 슬롯/만료 슬롯을 우선하고, 없으면 가장 오래된 슬롯을 덮어쓴다
+                long slotAcceptedAt = fingerprints[slot] == EMPTY || nowMillis - acceptedAt[slot] >= windowMillis
+                        ? Long.MIN_VALUE : acceptedAt[slot];
+                if (slotAcceptedAt < victimAcceptedAt) {
+                    victim = slot;
+                    victimAcceptedAt = slotAcceptedAt;
+                }
+            }
+            fingerprints[victim] = fingerprint;
+            acceptedAt[victim] = nowMillis;
+            return false;
+        }
+
+        void remove(long fingerprint) {
+            // 탐사는 항상 PROBE_LIMIT 슬롯을 모두 보므로 빈 슬롯을 남겨도 다른 키 조회가 끊기지 않는다
+            int start = (int) fingerprint & mask;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int slot = (start + i) & mask;
+                if (fingerprints[slot] == fingerprint) {
+                    fingerprints[slot] = EMPTY;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+
+/**
+ * 수집 버퍼를 거쳐 DB와 추천 모델에 반영되는 상호작용 한 건.
+ */
+public record InteractionEvent(long userId, long articleId, InteractionType type,
+                               int readingTimeSeconds, long occurredAtMillis) {
+
+    public static InteractionEvent of(long userId, long articleId, InteractionType type, Integer readingTimeSeconds) {
+        return new InteractionEvent(userId, articleId, type,
+                                    readingTimeSeconds != null ? readingTimeSeconds : 0, System.currentTimeMillis());
+    }
+}
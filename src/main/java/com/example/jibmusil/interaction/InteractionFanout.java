@@ -0,0 +1,91 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.kafka.NewsKafkaProducer;
+import com.example.jibmusil.news.PopularityCounters;
+import com.example.jibmusil.news.TrendingEngine;
+import com.example.jibmusil.recommendation.ItemCooccurrenceModel;
+import com.example.jibmusil.recommendation.RecommendationCache;
+import com.example.jibmusil.recommendation.RecommendationEngine;
+import com.example.jibmusil.recommendation.SeenArticleFilter;
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import com.example.jibmusil.util.LongIntHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB에 기록된 상호작용을 추천/트렌딩 모델과 인기도에 반영한다. 수집 버퍼의 writer 스레드에서 호출된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InteractionFanout {
+
+    private final ItemCooccurrenceModel itemCooccurrenceModel;
+    private final SeenArticleFilter seenArticleFilter;
+    private final RecommendationCache recommendationCache;
+    private final RecommendationEngine recommendationEngine;
+    private final TrendingEngine trendingEngine;
+    private final PopularityCounters popularityCounters;
+    private final NewsKafkaProducer kafkaProducer;
+
+    public void apply(InteractionEvent event) {
+        applyAll(List.of(event));
+    }
+
+    /**
+     * 메모리 모델은 건별로 갱신하고, 선호도(사용자별 카테고리 조회 한 번)와 인기도(기사별 합계)는 묶어서 반영한다.
+     */
+    public void applyAll(List<InteractionEvent> events) {
+        Map<Long, Map<Long, List<InteractionType>>> interactionsByUser = new LinkedHashMap<>();
+        LongIntHashMap viewsByArticle = new LongIntHashMap();
+        for (InteractionEvent event : events) {
+            applyToModels(event);
+            interactionsByUser.computeIfAbsent(event.userId(), id -> new HashMap<>())
+                    .computeIfAbsent(event.articleId(), id -> new ArrayList<>(1))
+                    .add(event.type());
+            // 뉴스 인기도 업데이트 (VIEW, CLICK의 경우)
+            if (event.type() == InteractionType.VIEW || event.type() == InteractionType.CLICK) {
+                viewsByArticle.addTo(event.articleId(), 1);
+            }
+        }
+
+        // 사용자 선호도 변화량 누적 (주기적으로 배치 반영)
+        interactionsByUser.forEach((userId, interactionsByArticle) -> {
+            try {
+                recommendationEngine.updateUserPreferences(userId, interactionsByArticle);
+            } catch (RuntimeException e) {
+                log.warn("Failed to update preferences for user {}: {}", userId, e.getMessage());
+            }
+        });
+        // 행 단위 UPDATE 대신 메모리 카운터에 모아 주기적으로 배치 반영, 조회 이벤트는 건수를 실어 한 번만 발행
+        viewsByArticle.forEach((articleId, views) -> {
+            popularityCounters.add(articleId, views);
+            kafkaProducer.sendNewsViewEvent(articleId, views);
+        });
+    }
+
+    private void applyToModels(InteractionEvent event) {
+        // 아이템 동시 출현 모델 증분 갱신
+        itemCooccurrenceModel.record(event.userId(), event.articleId(), event.type(),
+                                     event.readingTimeSeconds(), event.occurredAtMillis());
+
+        // 이미 본 기사 필터 갱신 (캐시된 사용자만)
+        seenArticleFilter.record(event.userId(), event.articleId());
+
+        // 캐시된 추천 목록을 재계산 없이 보정
+        recommendationCache.applyInteraction(event.userId(), event.articleId(), event.type());
+
+        // 시간 감쇠 트렌딩 점수 반영
+        trendingEngine.recordInteraction(event.articleId(), event.type());
+
+        // 분 단위 참여 집계용 활동 이벤트 발행
+        kafkaProducer.sendUserActivityEvent(event.userId(), event.type().name(), event.articleId());
+    }
+}
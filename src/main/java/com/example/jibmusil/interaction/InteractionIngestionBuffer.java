@@ -0,0 +1,289 @@
+package com.example.jibmusil.interaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 상호작용 수집 버퍼.
+ * 요청 스레드는 잠금 없는 유한 큐에 넣기만 하고 바로 응답하며, 전용 writer 스레드가 큐를 비워
+ * user_news_interactions에 JDBC 배치로 기록한 뒤 추천 모델에 팬아웃한다.
+ * 큐가 가득 차면 offer가 false를 반환하므로 호출자가 요청을 거절(부하 차단)해야 한다.
+ *
+ * <p>수락한 이벤트는 버리지 않는다. 배치 쓰기가 실패하면 백오프로 재시도하고, 제약 위반처럼 특정 행 때문인
+ * 실패는 배치를 반으로 나눠 가며 문제 행만 골라낸다. 그래도 기록하지 못한 행은 InteractionDeadLetterStore에 남기고,
+ * 다음에 시작할 때 writer를 띄우기 전에 같은 경로로 다시 기록한다.
+ */
+@Slf4j
+@Component
+public class InteractionIngestionBuffer {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO user_news_interactions (user_id, news_article_id, interaction_type,
+                                                interaction_time, reading_time_seconds)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InteractionFanout fanout;
+    private final InteractionDeadLetterStore deadLetterStore;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    // ConcurrentLinkedQueue는 크기 제한이 없으므로 별도 카운터로 용량을 강제한다
+    private final Queue<InteractionEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter replayedCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public InteractionIngestionBuffer(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            InteractionFanout fanout,
+            InteractionDeadLetterStore deadLetterStore,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.interaction.ingest.capacity:100000}") int capacity,
+            @Value("${jibmusil.interaction.ingest.batch-size:1000}") int batchSize,
+            @Value("${jibmusil.interaction.ingest.flush-interval:PT0.05S}") Duration flushInterval,
+            @Value("${jibmusil.interaction.ingest.shutdown-timeout:PT10S}") Duration shutdownTimeout,
+            @Value("${jibmusil.interaction.ingest.retry.max-attempts:3}") int maxAttempts,
+            @Value("${jibmusil.interaction.ingest.retry.backoff:PT0.2S}") Duration retryBackoff) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.fanout = fanout;
+        this.deadLetterStore = deadLetterStore;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.acceptedCounter = meterRegistry.counter("interaction.ingest.accepted");
+        this.rejectedCounter = meterRegistry.counter("interaction.ingest.rejected");
+        this.writtenCounter = meterRegistry.counter("interaction.ingest.written");
+        this.retriedCounter = meterRegistry.counter("interaction.ingest.retried");
+        this.deadLetteredCounter = meterRegistry.counter("interaction.ingest.dead_lettered");
+        this.replayedCounter = meterRegistry.counter("interaction.ingest.replayed");
+        this.batchTimer = meterRegistry.timer("interaction.ingest.batch");
+        meterRegistry.gauge("interaction.ingest.queued", queued);
+    }
+
+    @PostConstruct
+    void start() {
+        replayDeadLetters();
+        running = true;
+        writer = Thread.ofPlatform().name("interaction-writer").daemon(true).start(this::drainLoop);
+    }
+
+    private void replayDeadLetters() {
+        List<InteractionEvent> events;
+        try {
+            events = deadLetterStore.takeAll();
+        } catch (IOException e) {
+            log.error("Failed to read dead-lettered interactions; leaving them for the next start", e);
+            return;
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} dead-lettered interactions", events.size());
+        // 또 실패한 행은 writeBatch가 새 dead-letter 파일에 다시 남긴다
+        for (int from = 0; from < events.size(); from += batchSize) {
+            writeBatch(events.subList(from, Math.min(events.size(), from + batchSize)));
+        }
+        replayedCounter.increment(events.size());
+        try {
+            deadLetterStore.completeReplay();
+        } catch (IOException e) {
+            log.error("Failed to clear replayed dead-letter file; its interactions will be replayed again", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // 새 요청은 거절하고 writer가 남은 이벤트를 모두 기록할 때까지 기다린다
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Interaction writer did not drain within {}, {} events dropped", shutdownTimeout, queued.get());
+        }
+    }
+
+    /**
+     * 버퍼에 넣으면 true, 가득 찼거나 종료 중이면 false.
+     */
+    public boolean offer(InteractionEvent event) {
+        if (!running) {
+            rejectedCounter.increment();
+            return false;
+        }
+        int size = queued.incrementAndGet();
+        if (size > capacity) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+        queue.offer(event);
+        acceptedCounter.increment();
+        if (size == batchSize) {
+            // 배치 하나가 찼으면 flush 주기를 기다리지 않고 writer를 깨움
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * 모두 넣거나 하나도 넣지 않는다. 오프라인 동기화 묶음을 클라이언트가 그대로 재시도할 수 있게 하기 위함.
+     */
+    public boolean offerAll(List<InteractionEvent> events) {
+        if (!running) {
+            rejectedCounter.increment(events.size());
+            return false;
+        }
+        int size = queued.addAndGet(events.size());
+        if (size > capacity) {
+            queued.addAndGet(-events.size());
+            rejectedCounter.increment(events.size());
+            return false;
+        }
+        queue.addAll(events);
+        acceptedCounter.increment(events.size());
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    private void drainLoop() {
+        List<InteractionEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            InteractionEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                // writer 스레드는 어떤 실패에도 계속 돌아야 한다
+                log.error("Unexpected failure in interaction writer", e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<InteractionEvent> batch) {
+        List<InteractionEvent> written = new ArrayList<>(batch.size());
+        batchTimer.record(() -> write(batch, written));
+        if (written.isEmpty()) {
+            return;
+        }
+        writtenCounter.increment(written.size());
+
+        // DB에 남지 않은 상호작용은 모델에도 반영하지 않는다
+        try {
+            fanout.applyAll(written);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} interactions to models: {}", written.size(), e.getMessage());
+        }
+    }
+
+    private void write(List<InteractionEvent> events, List<InteractionEvent> written) {
+        long backoffMillis = retryBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(events);
+                written.addAll(events);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // 특정 행이 원인이면 재시도해도 같으므로 나눠서 나머지를 살린다
+                isolate(events, written, e);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !sleep(backoffMillis)) {
+                    deadLetter(events, e);
+                    return;
+                }
+                retriedCounter.increment();
+                log.warn("Retrying {} interactions after attempt {} failed: {}", events.size(), attempt, e.getMessage());
+                backoffMillis *= 2;
+            }
+        }
+    }
+
+    private void isolate(List<InteractionEvent> events, List<InteractionEvent> written, RuntimeException cause) {
+        if (events.size() == 1) {
+            deadLetter(events, cause);
+            return;
+        }
+        int middle = events.size() / 2;
+        write(events.subList(0, middle), written);
+        write(events.subList(middle, events.size()), written);
+    }
+
+    // 배치 단위로 전부 반영되거나 전부 취소되어야 재시도와 분할 시 중복이 생기지 않는다
+    private void insert(List<InteractionEvent> events) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+                    ps.setLong(1, event.userId());
+                    ps.setLong(2, event.articleId());
+                    ps.setString(3, event.type().name());
+                    ps.setTimestamp(4, new Timestamp(event.occurredAtMillis()));
+                    ps.setInt(5, event.readingTimeSeconds());
+                }));
+    }
+
+    private void deadLetter(List<InteractionEvent> events, RuntimeException cause) {
+        deadLetteredCounter.increment(events.size());
+        log.error("Failed to write {} interactions; moving them to the dead-letter store", events.size(), cause);
+        deadLetterStore.append(events);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
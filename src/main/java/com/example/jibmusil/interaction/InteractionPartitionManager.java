@@ -0,0 +1,188 @@
+package com.example.jibmusil.interaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * user_news_interactions의 월별 RANGE 파티션을 관리한다.
+ * 앞으로 쓸 월 파티션을 미리 만들고(비어 있는 p_future 분할이라 메타데이터 작업), 전 구간이
+ * jibmusil.analytics.retention-days보다 오래된 파티션은 일별 집계를 남긴 뒤 DROP PARTITION으로 지운다.
+ * 파티션되지 않은 기존 테이블에서는 같은 집계 후 묶음 DELETE로 보존 기간만 적용한다.
+ */
+@Slf4j
+@Component
+public class InteractionPartitionManager {
+
+    static final String FUTURE_PARTITION = "p_future";
+    static final String HISTORY_PARTITION = "p_history";
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user_news_interactions' AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """;
+
+    // 같은 구간을 다시 집계해도 결과가 같도록 더하지 않고 덮어쓴다
+    private static final String ROLLUP_SQL = """
+            INSERT INTO interaction_daily_rollups (rollup_date, news_article_id, interaction_type,
+                                                   interaction_count, unique_users, total_reading_seconds)
+            SELECT DATE(interaction_time), news_article_id, interaction_type,
+                   COUNT(*), COUNT(DISTINCT user_id), COALESCE(SUM(reading_time_seconds), 0)
+            FROM user_news_interactions %s
+            WHERE interaction_time < ?
+            GROUP BY DATE(interaction_time), news_article_id, interaction_type
+            ON DUPLICATE KEY UPDATE interaction_count = VALUES(interaction_count),
+                                    unique_users = VALUES(unique_users),
+                                    total_reading_seconds = VALUES(total_reading_seconds)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+    private final int futureMonths;
+    private final int deleteBatchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter droppedPartitions;
+    private final Counter createdPartitions;
+
+    public InteractionPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.analytics.retention-days:90}") int retentionDays,
+            @Value("${jibmusil.interaction.partitions.future-months:3}") int futureMonths,
+            @Value("${jibmusil.interaction.partitions.delete-batch-size:10000}") int deleteBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+        this.futureMonths = futureMonths;
+        this.deleteBatchSize = deleteBatchSize;
+        this.droppedPartitions = meterRegistry.counter("interaction.partitions.dropped");
+        this.createdPartitions = meterRegistry.counter("interaction.partitions.created");
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${jibmusil.interaction.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Interaction partition maintenance failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    void maintain(LocalDate today) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        List<Partition> partitions = partitions();
+        if (partitions.isEmpty()) {
+            purgeUnpartitioned(cutoff);
+            return;
+        }
+        createFuturePartitions(partitions, today);
+        dropExpiredPartitions(partitions, cutoff);
+    }
+
+    private void createFuturePartitions(List<Partition> partitions, LocalDate today) {
+        // p_future 직전의 마지막 상한부터 이번 달 + futureMonths까지 월 파티션을 채운다
+        LocalDate lastBound = null;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null) {
+                lastBound = partition.upperBound();
+            }
+        }
+        YearMonth currentMonth = YearMonth.from(today);
+        List<String> definitions = new ArrayList<>();
+        if (lastBound == null) {
+            // 처음 분할할 때는 이번 달 이전 데이터를 하나의 이력 파티션으로 둔다
+            lastBound = currentMonth.atDay(1);
+            definitions.add(definition(HISTORY_PARTITION, lastBound));
+        }
+        for (YearMonth month = YearMonth.from(lastBound); !month.isAfter(currentMonth.plusMonths(futureMonths)); month = month.plusMonths(1)) {
+            definitions.add(definition(partitionName(month), month.plusMonths(1).atDay(1)));
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE user_news_interactions REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + String.join(", ", definitions) + ")");
+        createdPartitions.increment(definitions.size() - 1);
+        log.info("Created {} interaction partitions up to {}", definitions.size() - 1, currentMonth.plusMonths(futureMonths));
+    }
+
+    private void dropExpiredPartitions(List<Partition> partitions, LocalDate cutoff) {
+        for (Partition partition : partitions) {
+            // 파티션의 모든 행이 보존 기간을 넘었을 때만 삭제
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            int rows = jdbcTemplate.update(ROLLUP_SQL.formatted("PARTITION (" + partition.name() + ")"),
+                                           Date.valueOf(partition.upperBound()));
+            jdbcTemplate.execute("ALTER TABLE user_news_interactions DROP PARTITION " + partition.name());
+            droppedPartitions.increment();
+            log.info("Rolled up and dropped interaction partition {} (< {}), {} rollup rows",
+                     partition.name(), partition.upperBound(), rows);
+        }
+    }
+
+    private void purgeUnpartitioned(LocalDate cutoff) {
+        log.warn("user_news_interactions is not partitioned, falling back to batched DELETE for retention");
+        jdbcTemplate.update(ROLLUP_SQL.formatted(""), Date.valueOf(cutoff));
+        int deleted;
+        long total = 0;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM user_news_interactions WHERE interaction_time < ? LIMIT " + deleteBatchSize,
+                                          Date.valueOf(cutoff));
+            total += deleted;
+        } while (deleted == deleteBatchSize);
+        log.info("Deleted {} interactions older than {}", total, cutoff);
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) ->
+                new Partition(rs.getString(1), parseUpperBound(rs.getString(2))));
+    }
+
+    static LocalDate parseUpperBound(String description) {
+        // RANGE COLUMNS의 상한은 '2026-11-01 00:00:00' 형태, 마지막 파티션은 MAXVALUE
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    static String partitionName(YearMonth month) {
+        return "p" + month.format(MONTH_SUFFIX);
+    }
+
+    private static String definition(String name, LocalDate upperBound) {
+        return "PARTITION " + name + " VALUES LESS THAN ('" + upperBound + "')";
+    }
+
+    record Partition(String name, LocalDate upperBound) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.analytics.EngagementWindowStore;
+import com.example.jibmusil.analytics.EngagementWindowStore.Window;
+import com.example.jibmusil.event.EventBusSubscriber;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.util.LongIntHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * news-view / user-activity 토픽을 배치로 읽어 분 단위 텀블링 윈도우별 기사/카테고리 조회, 활동 수로 집계한다.
+ * 윈도우는 레코드 타임스탬프(발행 시각) 기준이고, poll 하나의 모든 윈도우와 파티션별 오프셋을 한 트랜잭션으로
+ * upsert한 뒤 오프셋을 커밋한다. 이미 반영된 오프셋의 레코드는 건너뛰므로 재전달되어도 중복 집계되지 않는다.
+ * in-memory 백엔드에서는 리스너 컨테이너를 띄우지 않고 링 버퍼 구독자로 같은 배치를 받는다.
+ */
+@Component
+public class EngagementWindowConsumer implements EventBusSubscriber {
+
+    static final long WINDOW_MILLIS = 60_000L;
+
+    private final EngagementWindowStore windowStore;
+    private final NewsRepository newsRepository;
+    private final Counter consumedCounter;
+    private final Counter malformedCounter;
+    private final Counter redeliveredCounter;
+
+    public EngagementWindowConsumer(EngagementWindowStore windowStore,
+                                    NewsRepository newsRepository,
+                                    MeterRegistry meterRegistry) {
+        this.windowStore = windowStore;
+        this.newsRepository = newsRepository;
+        this.consumedCounter = meterRegistry.counter("analytics.engagement.consumed");
+        this.malformedCounter = meterRegistry.counter("analytics.engagement.malformed");
+        this.redeliveredCounter = meterRegistry.counter("analytics.engagement.redelivered");
+    }
+
+    @KafkaListener(id = "engagement-windows",
+                   topics = {NewsKafkaProducer.NEWS_VIEW_TOPIC, NewsKafkaProducer.USER_ACTIVITY_TOPIC},
+                   groupId = "${jibmusil.analytics.consumer.group-id:jibmusil-analytics}",
+                   containerFactory = "analyticsBatchListenerContainerFactory",
+                   autoStartup = "#{'${jibmusil.events.backend:kafka}' == 'kafka' and ${jibmusil.analytics.consumer.enabled:true}}")
+    public void consume(List<ConsumerRecord<String, byte[]>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            nextOffsets.merge(new TopicPartition(record.topic(), record.partition()), record.offset() + 1, Math::max);
+        }
+        // 실패하면 트랜잭션이 롤백되고 예외가 컨테이너로 전파되어 같은 배치를 다시 받는다
+        windowStore.write(nextOffsets, applied -> {
+            List<ConsumerRecord<String, byte[]>> fresh = new ArrayList<>(records.size());
+            for (ConsumerRecord<String, byte[]> record : records) {
+                if (record.offset() >= applied.get(new TopicPartition(record.topic(), record.partition()))) {
+                    fresh.add(record);
+                }
+            }
+            redeliveredCounter.increment(records.size() - fresh.size());
+            return windows(fresh).values();
+        });
+        consumedCounter.increment(records.size());
+    }
+
+    @Override
+    public Set<String> topics() {
+        return Set.of(NewsKafkaProducer.NEWS_VIEW_TOPIC, NewsKafkaProducer.USER_ACTIVITY_TOPIC);
+    }
+
+    @Override
+    public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+        // 저널이 꺼져 있으면 링 버퍼 시퀀스가 재시작 때 0부터 다시 시작하고, 저널 재전달은 버스가 체크포인트로 거르므로
+        // 오프셋 대신 배치 단위 트랜잭션만 쓴다
+        Map<Long, Window> windows = windows(records);
+        if (!windows.isEmpty()) {
+            windowStore.write(windows.values());
+        }
+        consumedCounter.increment(records.size());
+    }
+
+    private Map<Long, Window> windows(List<ConsumerRecord<String, byte[]>> records) {
+        Map<Long, Window> windows = aggregate(records);
+        if (!windows.isEmpty()) {
+            rollUpCategories(windows);
+        }
+        return windows;
+    }
+
+    Map<Long, Window> aggregate(List<ConsumerRecord<String, byte[]>> records) {
+        Map<Long, Window> windows = new TreeMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            long articleId = NewsEventCodec.articleId(record.value());
+            if (articleId == NewsEventCodec.NO_ARTICLE) {
+                malformedCounter.increment();
+                continue;
+            }
+            long windowStart = record.timestamp() - Math.floorMod(record.timestamp(), WINDOW_MILLIS);
+            Window window = windows.computeIfAbsent(windowStart, Window::new);
+            if (NewsKafkaProducer.NEWS_VIEW_TOPIC.equals(record.topic())) {
+                window.articleViews().addTo(articleId, NewsEventCodec.viewCount(record.value()));
+            } else {
+                window.articleActivities().addTo(articleId, 1);
+            }
+        }
+        return windows;
+    }
+
+    private void rollUpCategories(Map<Long, Window> windows) {
+        // 배치에 등장한 기사의 카테고리를 한 번에 조회
+        LongIntHashMap seen = new LongIntHashMap();
+        List<Long> articleIds = new ArrayList<>();
+        for (Window window : windows.values()) {
+            LongIntHashMap.Consumer collect = (articleId, count) -> {
+                if (!seen.containsKey(articleId)) {
+                    seen.put(articleId, 0);
+                    articleIds.add(articleId);
+                }
+            };
+            window.articleViews().forEach(collect);
+            window.articleActivities().forEach(collect);
+        }
+        LongIntHashMap categoryIndex = new LongIntHashMap(articleIds.size());
+        List<Long> categoryIds = new ArrayList<>();
+        for (Object[] row : newsRepository.findCategoryIdsByIds(articleIds)) {
+            categoryIndex.put((Long) row[0], categoryIds.size());
+            categoryIds.add((Long) row[1]);
+        }
+        for (Window window : windows.values()) {
+            window.articleViews().forEach((articleId, count) -> {
+                int index = categoryIndex.get(articleId, -1);
+                if (index >= 0) {
+                    window.categoryViews().addTo(categoryIds.get(index), count);
+                }
+            });
+            window.articleActivities().forEach((articleId, count) -> {
+                int index = categoryIndex.get(articleId, -1);
+                if (index >= 0) {
+                    window.categoryActivities().addTo(categoryIds.get(index), count);
+                }
+            });
+        }
+    }
+}
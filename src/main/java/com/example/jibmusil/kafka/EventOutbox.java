@@ -0,0 +1,40 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.news.NewsArticle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 트랜잭셔널 아웃박스. 이벤트를 비즈니스 데이터와 같은 트랜잭션에서 event_outbox에 기록하고,
+ * Kafka 발행은 커밋 이후 OutboxRelay가 맡는다. 롤백되면 이벤트도 함께 사라지고, 저장 트랜잭션은 Kafka를 기다리지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event_outbox (topic, event_key, payload, created_at) VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 저장된(ID가 채워진) 기사들의 news-processed 이벤트를 한 번의 배치로 기록한다. 진행 중인 트랜잭션이 필요하다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendNewsProcessed(List<NewsArticle> articles) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, articles, articles.size(), (ps, article) -> {
+            ps.setString(1, NewsKafkaProducer.NEWS_PROCESSED_TOPIC);
+            ps.setString(2, article.getId().toString());
+            ps.setBytes(3, NewsEventCodec.encode(NewsKafkaProducer.newsProcessedEvent(article)));
+            ps.setTimestamp(4, now);
+        });
+    }
+}
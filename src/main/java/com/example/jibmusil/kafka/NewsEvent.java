@@ -0,0 +1,33 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.util.ContentHash;
+
+/**
+ * Kafka로 발행하는 뉴스 이벤트. NewsEventCodec이 필드 선언 순서 그대로 바이너리로 인코딩한다.
+ * 시각은 epoch millis, 점수는 float이며 값이 없으면 ID/시각은 0, 점수는 NaN, 문자열은 null.
+ */
+public sealed interface NewsEvent {
+
+    long articleId();
+
+    record Processed(long articleId, String title, String url, long categoryId,
+                     float sentimentScore, float popularityScore,
+                     long publishedAtMillis, long processedAtMillis) implements NewsEvent {
+    }
+
+    /**
+     * 같은 기사의 조회 여러 건을 한 이벤트로 묶을 때 views가 1보다 크다.
+     */
+    record View(long articleId, long viewedAtMillis, int views) implements NewsEvent {
+    }
+
+    record UserActivity(long articleId, long userId, String activityType, long timestampMillis) implements NewsEvent {
+    }
+
+    /**
+     * 원문 대신 내용 해시만 싣는다(claim check). 원문은 SentimentTextStore.find(textHash)로 조회한다.
+     */
+    record SentimentAnalysis(long articleId, ContentHash textHash, float sentimentScore, String label,
+                             float confidence, long analyzedAtMillis) implements NewsEvent {
+    }
+}
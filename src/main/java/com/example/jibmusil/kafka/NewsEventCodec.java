@@ -0,0 +1,169 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.util.ContentHash;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * NewsEvent의 고정 순서 바이너리 인코딩.
+ * [버전 1바이트][타입 1바이트][articleId 8바이트][타입별 필드...] 순서이며 정수는 big-endian,
+ * 문자열은 (UTF-8 길이 + 1)을 varint로 앞에 붙인다(0이면 null). articleId가 항상 같은 위치라
+ * 집계 consumer는 전체를 디코딩하지 않고 읽을 수 있다.
+ * View의 views는 나중에 덧붙인 필드라 없는(18바이트) 이벤트는 1건으로 읽는다.
+ */
+public final class NewsEventCodec {
+
+    static final byte VERSION = 1;
+    static final byte PROCESSED = 1;
+    static final byte VIEW = 2;
+    static final byte USER_ACTIVITY = 3;
+    static final byte SENTIMENT_ANALYSIS = 4;
+    private static final int HEADER_BYTES = 2;
+    private static final int VIEW_COUNT_OFFSET = HEADER_BYTES + 8 + 8;
+    public static final long NO_ARTICLE = -1L;
+
+    private NewsEventCodec() {
+    }
+
+    public static byte[] encode(NewsEvent event) {
+        return switch (event) {
+            case NewsEvent.Processed e -> {
+                byte[] title = utf8(e.title());
+                byte[] url = utf8(e.url());
+                ByteBuffer buffer = header(PROCESSED, e.articleId(), 8 + 4 + 4 + 8 + 8 + sizeOf(title) + sizeOf(url));
+                buffer.putLong(e.categoryId()).putFloat(e.sentimentScore()).putFloat(e.popularityScore())
+                        .putLong(e.publishedAtMillis()).putLong(e.processedAtMillis());
+                putString(buffer, title);
+                putString(buffer, url);
+                yield buffer.array();
+            }
+            case NewsEvent.View e -> header(VIEW, e.articleId(), 8 + 4).putLong(e.viewedAtMillis()).putInt(e.views()).array();
+            case NewsEvent.UserActivity e -> {
+                byte[] activityType = utf8(e.activityType());
+                ByteBuffer buffer = header(USER_ACTIVITY, e.articleId(), 8 + 8 + sizeOf(activityType));
+                buffer.putLong(e.userId()).putLong(e.timestampMillis());
+                putString(buffer, activityType);
+                yield buffer.array();
+            }
+            case NewsEvent.SentimentAnalysis e -> {
+                byte[] label = utf8(e.label());
+                ByteBuffer buffer = header(SENTIMENT_ANALYSIS, e.articleId(), ContentHash.BYTES + 4 + 4 + 8 + sizeOf(label));
+                buffer.putLong(e.textHash().high()).putLong(e.textHash().low())
+                        .putFloat(e.sentimentScore()).putFloat(e.confidence()).putLong(e.analyzedAtMillis());
+                putString(buffer, label);
+                yield buffer.array();
+            }
+        };
+    }
+
+    public static NewsEvent decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported event version: " + version);
+            }
+            byte type = buffer.get();
+            long articleId = buffer.getLong();
+            return switch (type) {
+                case PROCESSED -> {
+                    long categoryId = buffer.getLong();
+                    float sentimentScore = buffer.getFloat();
+                    float popularityScore = buffer.getFloat();
+                    long publishedAtMillis = buffer.getLong();
+                    long processedAtMillis = buffer.getLong();
+                    yield new NewsEvent.Processed(articleId, getString(buffer), getString(buffer), categoryId,
+                                                  sentimentScore, popularityScore, publishedAtMillis, processedAtMillis);
+                }
+                case VIEW -> new NewsEvent.View(articleId, buffer.getLong(), buffer.remaining() >= 4 ? buffer.getInt() : 1);
+                case USER_ACTIVITY -> {
+                    long userId = buffer.getLong();
+                    long timestampMillis = buffer.getLong();
+                    yield new NewsEvent.UserActivity(articleId, userId, getString(buffer), timestampMillis);
+                }
+                case SENTIMENT_ANALYSIS -> {
+                    ContentHash textHash = new ContentHash(buffer.getLong(), buffer.getLong());
+                    float sentimentScore = buffer.getFloat();
+                    float confidence = buffer.getFloat();
+                    long analyzedAtMillis = buffer.getLong();
+                    yield new NewsEvent.SentimentAnalysis(articleId, textHash, sentimentScore, getString(buffer),
+                                                          confidence, analyzedAtMillis);
+                }
+                default -> throw new IllegalArgumentException("Unknown event type: " + type);
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated event", e);
+        }
+    }
+
+    /**
+     * 헤더 뒤의 articleId만 읽는다. 형식이 맞지 않으면 NO_ARTICLE.
+     */
+    public static long articleId(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_BYTES + 8 || bytes[0] != VERSION) {
+            return NO_ARTICLE;
+        }
+        return ByteBuffer.wrap(bytes, HEADER_BYTES, 8).getLong();
+    }
+
+    /**
+     * View 이벤트가 나타내는 조회 수만 읽는다. 필드가 없거나 다른 타입이면 1.
+     */
+    public static int viewCount(byte[] bytes) {
+        if (bytes == null || bytes.length < VIEW_COUNT_OFFSET + 4 || bytes[1] != VIEW) {
+            return 1;
+        }
+        return Math.max(1, ByteBuffer.wrap(bytes, VIEW_COUNT_OFFSET, 4).getInt());
+    }
+
+    private static ByteBuffer header(byte type, long articleId, int bodyBytes) {
+        return ByteBuffer.allocate(HEADER_BYTES + 8 + bodyBytes).put(VERSION).put(type).putLong(articleId);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] value) {
+        int length = value != null ? value.length + 1 : 0;
+        int varintBytes = 1;
+        while ((length >>>= 7) != 0) {
+            varintBytes++;
+        }
+        return varintBytes + (value != null ? value.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        int length = value != null ? value.length + 1 : 0;
+        while ((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+        if (value != null) {
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28) {
+                throw new IllegalArgumentException("Malformed string length");
+            }
+            byte b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        byte[] value = new byte[length - 1];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
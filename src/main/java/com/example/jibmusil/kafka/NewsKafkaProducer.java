@@ -1,61 +1,57 @@
 package com.example.jibmusil.kafka;
 
+import com.example.jibmusil.analytics.SentimentAnalysisService;
+import com.example.jibmusil.analytics.SentimentTextStore;
+import com.example.jibmusil.event.EventPublisher;
 import com.example.jibmusil.news.NewsArticle;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.time.ZoneId;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class NewsKafkaProducer {
     
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final EventPublisher eventPublisher;
+    private final SentimentTextStore sentimentTextStore;
     
-    private static final String NEWS_PROCESSED_TOPIC = "news-processed";
-    private static final String NEWS_VIEW_TOPIC = "news-view";
-    private static final String USER_ACTIVITY_TOPIC = "user-activity";
+    static final String NEWS_PROCESSED_TOPIC = "news-processed";
+    static final String NEWS_VIEW_TOPIC = "news-view";
+    static final String USER_ACTIVITY_TOPIC = "user-activity";
     private static final String SENTIMENT_ANALYSIS_TOPIC = "sentiment-analysis";
     
-    public void sendNewsProcessedEvent(NewsArticle article) {
-        try {
-            NewsProcessedEvent event = NewsProcessedEvent.builder()
-                    .articleId(article.getId())
-                    .title(article.getTitle())
-                    .url(article.getUrl())
-                    .categoryId(article.getCategoryId())
-                    .sentimentScore(article.getSentimentScore())
-                    .popularityScore(article.getPopularityScore())
-                    .publishedAt(article.getPublishedAt())
-                    .processedAt(LocalDateTime.now())
-                    .build();
-                    
-            sendEvent(NEWS_PROCESSED_TOPIC, article.getId().toString(), event);
-            log.debug("Sent news processed event for article ID: {}", article.getId());
-            
-        } catch (Exception e) {
-            log.error("Failed to send news processed event for article ID: {}", article.getId(), e);
-        }
+    /**
+     * news-processed는 직접 보내지 않고 EventOutbox에 기록한 뒤 OutboxRelay가 발행한다.
+     */
+    static NewsEvent.Processed newsProcessedEvent(NewsArticle article) {
+        return new NewsEvent.Processed(
+                article.getId(),
+                article.getTitle(),
+                article.getUrl(),
+                article.getCategoryId() != null ? article.getCategoryId() : 0L,
+                article.getSentimentScore() != null ? article.getSentimentScore().floatValue() : Float.NaN,
+                article.getPopularityScore() != null ? article.getPopularityScore().floatValue() : Float.NaN,
+                article.getPublishedAt() != null ? toEpochMillis(article.getPublishedAt()) : 0L,
+                System.currentTimeMillis());
     }
     
     public void sendNewsViewEvent(Long articleId) {
+        sendNewsViewEvent(articleId, 1);
+    }
+    
+    /**
+     * 같은 기사의 조회 views건을 이벤트 하나로 보낸다.
+     */
+    public void sendNewsViewEvent(Long articleId, int views) {
         try {
-            NewsViewEvent event = NewsViewEvent.builder()
-                    .articleId(articleId)
-                    .viewedAt(LocalDateTime.now())
-                    .build();
+            NewsEvent.View event = new NewsEvent.View(articleId, System.currentTimeMillis(), views);
                     
             sendEvent(NEWS_VIEW_TOPIC, articleId.toString(), event);
-            log.debug("Sent news view event for article ID: {}", articleId);
+            log.debug("Sent news view event for article ID: {} ({} views)", articleId, views);
             
         } catch (Exception e) {
             log.error("Failed to send news view event for article ID: {}", articleId, e);
@@ -64,12 +60,8 @@ public class NewsKafkaProducer {
     
     public void sendUserActivityEvent(Long userId, String activityType, Long articleId) {
         try {
-            UserActivityEvent event = UserActivityEvent.builder()
-                    .userId(userId)
-                    .articleId(articleId)
-                    .activityType(activityType)
-                    .timestamp(LocalDateTime.now())
-                    .build();
+            NewsEvent.UserActivity event = new NewsEvent.UserActivity(
+                    articleId, userId, activityType, System.currentTimeMillis());
                     
             sendEvent(USER_ACTIVITY_TOPIC, userId.toString(), event);
             log.debug("Sent user activity event: user={}, activity={}, article={}", 
@@ -80,14 +72,16 @@ public class NewsKafkaProducer {
         }
     }
     
-    public void sendSentimentAnalysisEvent(Long articleId, String text, Object sentimentResult) {
+    public void sendSentimentAnalysisEvent(Long articleId, String text, SentimentAnalysisService.SentimentResult sentimentResult) {
         try {
-            SentimentAnalysisEvent event = SentimentAnalysisEvent.builder()
-                    .articleId(articleId)
-                    .text(text)
-                    .sentimentResult(sentimentResult)
-                    .analyzedAt(LocalDateTime.now())
-                    .build();
+            // 원문은 이벤트에 싣지 않고 저장소에 두며, 이벤트에는 내용 해시만 담는다
+            NewsEvent.SentimentAnalysis event = new NewsEvent.SentimentAnalysis(
+                    articleId,
+                    sentimentTextStore.store(text),
+                    sentimentResult.score() != null ? sentimentResult.score().floatValue() : Float.NaN,
+                    sentimentResult.label(),
+                    (float) sentimentResult.confidence(),
+                    System.currentTimeMillis());
                     
             sendEvent(SENTIMENT_ANALYSIS_TOPIC, articleId.toString(), event);
             log.debug("Sent sentiment analysis event for article ID: {}", articleId);
@@ -97,55 +91,16 @@ public class NewsKafkaProducer {
         }
     }
     
-    private void sendEvent(String topic, String key, Object event) {
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, event);
-        
-        future.whenComplete((result, throwable) -> {
+    private void sendEvent(String topic, String key, NewsEvent event) {
+        // 전송은 비동기이며 Kafka 백엔드는 linger/batch-size/압축 설정에 따라 producer가 레코드를 묶어 보낸다
+        eventPublisher.publish(topic, key, NewsEventCodec.encode(event)).whenComplete((result, throwable) -> {
             if (throwable != null) {
                 log.error("Failed to send event to topic {} with key {}", topic, key, throwable);
-            } else {
-                log.debug("Successfully sent event to topic {} with key {} at offset {}",
-                         topic, key, result.getRecordMetadata().offset());
             }
         });
     }
     
-    // Event DTOs
-    @lombok.Builder
-    @lombok.Data
-    public static class NewsProcessedEvent {
-        private Long articleId;
-        private String title;
-        private String url;
-        private Long categoryId;
-        private Object sentimentScore;
-        private Object popularityScore;
-        private LocalDateTime publishedAt;
-        private LocalDateTime processedAt;
-    }
-    
-    @lombok.Builder
-    @lombok.Data
-    public static class NewsViewEvent {
-        private Long articleId;
-        private LocalDateTime viewedAt;
-    }
-    
-    @lombok.Builder
-    @lombok.Data
-    public static class UserActivityEvent {
-        private Long userId;
-        private Long articleId;
-        private String activityType;
-        private LocalDateTime timestamp;
-    }
-    
-    @lombok.Builder
-    @lombok.Data
-    public static class SentimentAnalysisEvent {
-        private Long articleId;
-        private String text;
-        private Object sentimentResult;
-        private LocalDateTime analyzedAt;
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.event.EventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * event_outbox의 미발행 행을 id 순서로 묶어 EventPublisher로 보내고, 백엔드가 받아들인 행만 발행 완료로 표시한다.
+ * producer는 멱등(enable.idempotence, acks=all)이라 재시도로 인한 중복/순서 뒤바뀜이 없고,
+ * 발행 후 표시 전에 중단되면 다시 보내므로 consumer는 outbox-id 헤더로 중복을 걸러 낼 수 있다.
+ * 여러 인스턴스가 떠 있어도 FOR UPDATE SKIP LOCKED로 행을 고른 뒤 claimed_until 리스를 걸고 바로 커밋하므로
+ * 같은 행을 동시에 발행하지 않으며, Kafka 확인을 기다리는 동안 행 락이나 DB 커넥션을 잡고 있지 않는다.
+ * 발행 완료 표시는 별도의 짧은 트랜잭션으로 하고, 표시 전에 중단되면 리스가 만료된 뒤 다시 발행한다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String SELECT_SQL = """
+            SELECT id, topic, event_key, payload, created_at FROM event_outbox
+            WHERE sent_at IS NULL AND (claimed_until IS NULL OR claimed_until < ?)
+            ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+    private final Duration claimTimeout;
+    private final Duration sentRetention;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.outbox.batch-size:500}") int batchSize,
+            @Value("${jibmusil.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${jibmusil.outbox.send-timeout:PT30S}") Duration sendTimeout,
+            @Value("${jibmusil.outbox.claim-timeout:PT1M}") Duration claimTimeout,
+            @Value("${jibmusil.outbox.sent-retention:P1D}") Duration sentRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+        this.claimTimeout = claimTimeout;
+        this.sentRetention = sentRetention;
+        this.publishedCounter = meterRegistry.counter("outbox.relay.published");
+        this.failedCounter = meterRegistry.counter("outbox.relay.failed");
+        this.batchTimer = meterRegistry.timer("outbox.relay.batch");
+        // 가장 오래된 미발행 이벤트가 기록된 뒤 지난 시간
+        meterRegistry.gauge("outbox.relay.lag.seconds", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer published = batchTimer.record(this::relayBatch);
+                if (published == null || published < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // 표시되지 않은 행은 그대로 남아 다음 주기에 다시 발행된다
+            failedCounter.increment();
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxRow> rows = transactionTemplate.execute(status -> claim());
+        lagMillis.set(rows.isEmpty() ? 0L : Math.max(0L, System.currentTimeMillis() - rows.get(0).createdAtMillis()));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 모두 보낸 뒤 linger를 기다리지 않고 flush, 전부 확인되면 한 번에 표시
+        List<CompletableFuture<Void>> futures = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            futures.add(eventPublisher.publish(row.topic(), row.key(), row.payload(), row.id()));
+        }
+        eventPublisher.flush();
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // 리스 만료를 기다리지 않고 다음 주기에 다시 보내도록 반납
+            updateClaimed(rows, null);
+            throw new IllegalStateException("Failed to publish outbox batch starting at id " + rows.get(0).id(), e);
+        }
+
+        Timestamp sentAt = new Timestamp(System.currentTimeMillis());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "UPDATE event_outbox SET sent_at = ?, claimed_until = NULL WHERE id = ?", rows, rows.size(),
+                (ps, row) -> {
+                    ps.setTimestamp(1, sentAt);
+                    ps.setLong(2, row.id());
+                }));
+        publishedCounter.increment(rows.size());
+        return rows.size();
+    }
+
+    private List<OutboxRow> claim() {
+        long now = System.currentTimeMillis();
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new OutboxRow(
+                rs.getLong("id"), rs.getString("topic"), rs.getString("event_key"),
+                rs.getBytes("payload"), rs.getTimestamp("created_at").getTime()), new Timestamp(now), batchSize);
+        if (!rows.isEmpty()) {
+            updateClaimed(rows, new Timestamp(now + claimTimeout.toMillis()));
+        }
+        return rows;
+    }
+
+    private void updateClaimed(List<OutboxRow> rows, Timestamp claimedUntil) {
+        jdbcTemplate.batchUpdate("UPDATE event_outbox SET claimed_until = ? WHERE id = ?", rows, rows.size(),
+                                 (ps, row) -> {
+                                     ps.setTimestamp(1, claimedUntil);
+                                     ps.setLong(2, row.id());
+                                 });
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.outbox.cleanup-interval:PT1H}")
+    public void purgeSent() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - sentRetention.toMillis());
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM event_outbox WHERE sent_at < ? LIMIT 10000", cutoff);
+        } while (deleted == 10000);
+    }
+
+    record OutboxRow(long id, String topic, String key, byte[] payload, long createdAtMillis) {
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 // import org.springframework.data.elasticsearch.annotations.Document;
@@ -111,21 +113,27 @@ public class NewsArticle {
     // @Field(type = FieldType.Date)
     private LocalDateTime updatedAt;
     
-    // 관계 매핑
+    // 관계 매핑 (세션 밖에서 equals/hashCode가 지연 로딩 프록시를 건드리지 않도록 제외)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private NewsCategory category;
     
+    // 판단 기준 (float 비교, BigDecimal은 컬럼 값에만 사용)
+    public static final float HIGH_FACT_CHECK_THRESHOLD = 0.7f;
+    public static final float POPULAR_THRESHOLD = 50.0f;
+    
     // 비즈니스 메소드
     public boolean isPositiveSentiment() {
-        return sentimentScore != null && sentimentScore.compareTo(BigDecimal.ZERO) > 0;
+        return sentimentScore != null && sentimentScore.signum() > 0;
     }
     
     public boolean isHighFactCheck() {
-        return factCheckScore != null && factCheckScore.compareTo(new BigDecimal("0.7")) >= 0;
+        return factCheckScore != null && factCheckScore.floatValue() >= HIGH_FACT_CHECK_THRESHOLD;
     }
     
     public boolean isPopular() {
-        return popularityScore != null && popularityScore.compareTo(new BigDecimal("50.0")) >= 0;
+        return popularityScore != null && popularityScore.floatValue() >= POPULAR_THRESHOLD;
     }
 }
\ No newline at end of file
@@ -3,7 +3,6 @@ package com.example.jibmusil.news;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -33,14 +32,14 @@ public interface NewsRepository extends JpaRepository<NewsArticle, Long> {
     }
     
     @Query("SELECT n FROM NewsArticle n WHERE " +
-           "(:sentiment = 'positive' AND n.sentimentScore > :threshold) OR " +
-           "(:sentiment = 'negative' AND n.sentimentScore < :threshold) OR " +
+           "(:sentiment = 'positive' AND n.sentimentScore > 0.1) OR " +
+           "(:sentiment = 'negative' AND n.sentimentScore < -0.1) OR " +
            "(:sentiment = 'neutral' AND n.sentimentScore BETWEEN -0.1 AND 0.1) " +
            "ORDER BY n.publishedAt DESC")
-    List<NewsArticle> findBySentimentScore(@Param("threshold") BigDecimal threshold, Pageable pageable);
+    List<NewsArticle> findBySentimentScore(@Param("sentiment") String sentiment, Pageable pageable);
     
-    default List<NewsArticle> findBySentimentScore(BigDecimal threshold, int limit) {
-        return findBySentimentScore(threshold, org.springframework.data.domain.PageRequest.of(0, limit));
+    default List<NewsArticle> findBySentimentScore(String sentiment, int limit) {
+        return findBySentimentScore(sentiment, org.springframework.data.domain.PageRequest.of(0, limit));
     }
     
     @Query("SELECT n FROM NewsArticle n WHERE n.language = :language ORDER BY n.publishedAt DESC")
@@ -49,9 +48,12 @@ public interface NewsRepository extends JpaRepository<NewsArticle, Long> {
     @Query("SELECT n FROM NewsArticle n WHERE n.publishedAt >= :fromDate ORDER BY n.publishedAt DESC")
     List<NewsArticle> findRecentNews(@Param("fromDate") java.time.LocalDateTime fromDate, Pageable pageable);
     
-    @Modifying
-    @Query("UPDATE NewsArticle n SET n.popularityScore = n.popularityScore + 1 WHERE n.id = :articleId")
-    void incrementPopularityScore(@Param("articleId") Long articleId);
+    @Query("SELECT n.categoryId FROM NewsArticle n WHERE n.id = :articleId")
+    java.util.Optional<Long> findCategoryIdById(@Param("articleId") Long articleId);
+    
+    // [기사 ID, 카테고리 ID] 쌍
+    @Query("SELECT n.id, n.categoryId FROM NewsArticle n WHERE n.id IN :articleIds AND n.categoryId IS NOT NULL")
+    List<Object[]> findCategoryIdsByIds(@Param("articleIds") java.util.Collection<Long> articleIds);
     
     @Query("SELECT DISTINCT n.sourceName FROM NewsArticle n WHERE n.sourceName IS NOT NULL ORDER BY n.sourceName")
     List<String> findAllSources();
@@ -1,6 +1,8 @@
 package com.example.jibmusil.news;
 
+import com.example.jibmusil.analytics.BatchSentimentService;
 import com.example.jibmusil.analytics.SentimentAnalysisService;
+import com.example.jibmusil.kafka.EventOutbox;
 import com.example.jibmusil.kafka.NewsKafkaProducer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,11 +21,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -46,8 +50,12 @@ public class NewsService {
     private final NewsRepository newsRepository;
     // private final NewsElasticsearchRepository newsElasticsearchRepository;
     private final NewsCategoryRepository categoryRepository;
-    private final SentimentAnalysisService sentimentAnalysisService;
+    private final BatchSentimentService batchSentimentService;
     private final NewsKafkaProducer kafkaProducer;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingEngine trendingEngine;
+    private final PopularityCounters popularityCounters;
     // private final ElasticsearchOperations elasticsearchOperations;
     private final ObjectMapper objectMapper;
 
@@ -90,10 +98,13 @@ public class NewsService {
                 .flatMapMany(response -> Flux.fromIterable(response.getArticles()))
                 .filter(this::isValidArticle)
                 .map(this::convertToEntity)
-                .flatMap(this::enrichWithAiAnalysis)
                 .collectList()
-                .doOnNext(this::saveArticlesBatch)
-                .doOnNext(articles -> articles.forEach(kafkaProducer::sendNewsProcessedEvent))
+                .doOnNext(articles -> {
+                    List<SentimentAnalysisService.SentimentResult> sentiments = enrichWithAiAnalysis(articles);
+                    saveArticlesBatch(articles);
+                    publishSentimentEvents(articles, sentiments);
+                })
+                .doOnNext(trendingEngine::onArticlesIngested)
                 .doOnSuccess(articles -> log.info("Processed and saved {} articles", articles.size()))
                 .doOnError(error -> log.error("Error processing news", error))
                 .then()
@@ -126,22 +137,42 @@ public class NewsService {
                 .build();
     }
 
-    private Mono<NewsArticle> enrichWithAiAnalysis(NewsArticle article) {
-        return sentimentAnalysisService.analyzeSentiment(article.getTitle() + " " + article.getDescription())
-                .map(sentiment -> {
-                    article.setSentimentScore(sentiment);
-                    article.setPopularityScore(calculatePopularityScore(article));
-                    article.setFactCheckScore(calculateFactCheckScore(article));
-                    article.setKeywords(extractKeywords(article));
-                    article.setEntities(extractEntities(article));
-                    return article;
-                });
+    /**
+     * 기사별 점수 외 부가 분석을 채우고, articles와 같은 순서의 감정 분석 결과를 돌려준다.
+     */
+    private List<SentimentAnalysisService.SentimentResult> enrichWithAiAnalysis(List<NewsArticle> articles) {
+        // 기사마다 따로 분석하지 않고 수집 묶음 전체를 한 번에 병렬 분석
+        List<SentimentAnalysisService.SentimentResult> sentiments = batchSentimentService.analyzeTexts(
+                articles.stream().map(BatchSentimentService::sentimentText).toList());
+        for (int i = 0; i < articles.size(); i++) {
+            NewsArticle article = articles.get(i);
+            article.setSentimentScore(sentiments.get(i).score());
+            article.setPopularityScore(calculatePopularityScore(article));
+            article.setFactCheckScore(calculateFactCheckScore(article));
+            article.setKeywords(extractKeywords(article));
+            article.setEntities(extractEntities(article));
+        }
+        return sentiments;
     }
 
-    @Transactional
-    public void saveArticlesBatch(List<NewsArticle> articles) {
+    // 저장 후에야 기사 ID가 정해지므로 커밋 뒤에 보낸다, 원문은 SentimentTextStore에 두고 이벤트에는 해시만 싣는다
+    private void publishSentimentEvents(List<NewsArticle> articles,
+                                        List<SentimentAnalysisService.SentimentResult> sentiments) {
+        for (int i = 0; i < articles.size(); i++) {
+            NewsArticle article = articles.get(i);
+            kafkaProducer.sendSentimentAnalysisEvent(article.getId(), BatchSentimentService.sentimentText(article),
+                                                     sentiments.get(i));
+        }
+    }
+
+    // 트랜잭션 경계는 TransactionTemplate이 정한다 (this::로 호출되어 프록시를 거치지 않으므로 @Transactional은 효과가 없다)
+    private void saveArticlesBatch(List<NewsArticle> articles) {
         try {
-            List<NewsArticle> savedArticles = newsRepository.saveAll(articles);
+            // 기사와 news-processed 이벤트를 한 트랜잭션으로 기록, Kafka 발행은 커밋 후 OutboxRelay가 한다
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NewsArticle> savedArticles = newsRepository.saveAll(articles);
+                eventOutbox.appendNewsProcessed(savedArticles);
+            });
             // newsElasticsearchRepository.saveAll(savedArticles);
             log.info("Saved batch of {} articles to database and Elasticsearch", articles.size());
         } catch (Exception e) {
@@ -173,27 +204,30 @@ public class NewsService {
     }
 
     public List<NewsArticle> findTrendingNews(int limit) {
-        return newsRepository.findTrendingNews(limit);
+        return trendingEngine.getTrending(limit);
     }
 
     public List<NewsArticle> findNewsBySentiment(String sentiment, int limit) {
-        BigDecimal threshold = switch (sentiment.toLowerCase()) {
-            case "positive" -> new BigDecimal("0.1");
-            case "negative" -> new BigDecimal("-0.1");
-            default -> BigDecimal.ZERO;
-        };
-
-        return newsRepository.findBySentimentScore(threshold, limit);
+        // 임계값(±0.1)은 쿼리의 리터럴로 DECIMAL 컬럼과 바로 비교해 파라미터 변환이 없다
+        return newsRepository.findBySentimentScore(sentiment.toLowerCase(), limit);
     }
 
     public Optional<NewsArticle> findNewsById(Long id) {
         return newsRepository.findById(id);
     }
 
-    @Transactional
     public void incrementPopularity(Long articleId) {
-        newsRepository.incrementPopularityScore(articleId);
-        kafkaProducer.sendNewsViewEvent(articleId);
+        incrementPopularity(articleId, 1);
+    }
+    
+    public void incrementPopularity(Long articleId, int views) {
+        // 행 단위 UPDATE 대신 메모리 카운터에 모아 주기적으로 배치 반영, 조회 이벤트는 건수를 실어 한 번만 발행
+        popularityCounters.add(articleId, views);
+        kafkaProducer.sendNewsViewEvent(articleId, views);
+    }
+    
+    public Optional<BigDecimal> findLivePopularity(Long articleId) {
+        return newsRepository.findById(articleId).map(popularityCounters::livePopularity);
     }
 
     private NewsCategory findOrCreateCategory(String categoryName) {
@@ -249,25 +283,25 @@ public class NewsService {
     }
 
     private BigDecimal calculatePopularityScore(NewsArticle article) {
-        BigDecimal score = BigDecimal.ZERO;
+        float score = 0f;
         
         if (article.getTitle() != null && article.getTitle().length() > 50) {
-            score = score.add(new BigDecimal("10"));
+            score += 10f;
         }
         
         if (article.getUrlToImage() != null) {
-            score = score.add(new BigDecimal("5"));
+            score += 5f;
         }
         
         if (article.getAuthor() != null) {
-            score = score.add(new BigDecimal("5"));
+            score += 5f;
         }
         
-        return score;
+        return toColumn(score);
     }
 
     private BigDecimal calculateFactCheckScore(NewsArticle article) {
-        BigDecimal score = new BigDecimal("0.5");
+        float score = 0.5f;
         
         String content = (article.getTitle() + " " + article.getDescription()).toLowerCase();
         
@@ -276,17 +310,22 @@ public class NewsService {
         
         for (String indicator : reliableIndicators) {
             if (content.contains(indicator)) {
-                score = score.add(new BigDecimal("0.1"));
+                score += 0.1f;
             }
         }
         
         for (String indicator : unreliableIndicators) {
             if (content.contains(indicator)) {
-                score = score.subtract(new BigDecimal("0.1"));
+                score -= 0.1f;
             }
         }
         
-        return score.max(BigDecimal.ZERO).min(BigDecimal.ONE);
+        return toColumn(Math.max(0f, Math.min(1f, score)));
+    }
+
+    // 계산은 float로 하고 DECIMAL(…, 2) 컬럼에 저장할 때만 BigDecimal로 변환
+    private static BigDecimal toColumn(float score) {
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
     }
 
     private String[] extractKeywords(NewsArticle article) {
@@ -1,9 +1,15 @@
 package com.example.jibmusil.news;
 
+import com.example.jibmusil.interaction.BulkInteractionService;
+import com.example.jibmusil.interaction.InteractionDeduplicator;
+import com.example.jibmusil.interaction.InteractionEvent;
+import com.example.jibmusil.interaction.InteractionIngestionBuffer;
 import com.example.jibmusil.recommendation.RecommendationEngine;
 import com.example.jibmusil.user.UserNewsInteraction;
 import com.example.jibmusil.user.UserNewsInteractionRepository;
 import com.example.jibmusil.user.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,13 +18,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -27,7 +36,13 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Personalized News", description = "개인화된 뉴스 추천 및 상호작용 API")
 public class PersonalizedNewsController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final RecommendationEngine recommendationEngine;
+    private final InteractionIngestionBuffer ingestionBuffer;
+    private final InteractionDeduplicator deduplicator;
+    private final BulkInteractionService bulkInteractionService;
+    private final ObjectMapper objectMapper;
     private final UserNewsInteractionRepository interactionRepository;
     private final NewsService newsService;
     private final UserService userService;
@@ -54,6 +69,23 @@ public class PersonalizedNewsController {
         return ResponseEntity.ok(trendingNews);
     }
 
+    @GetMapping("/articles/{articleId}/similar")
+    @Operation(summary = "함께 읽힌 뉴스", description = "이 기사를 읽은 사용자들이 함께 읽은 뉴스를 반환합니다.")
+    public ResponseEntity<List<NewsArticle>> getSimilarArticles(
+            @PathVariable Long articleId,
+            @Parameter(description = "반환할 뉴스 개수") @RequestParam(defaultValue = "10") int limit) {
+        
+        return ResponseEntity.ok(recommendationEngine.getSimilarArticles(articleId, limit));
+    }
+
+    @GetMapping("/articles/{articleId}/popularity")
+    @Operation(summary = "실시간 인기도", description = "DB에 아직 반영되지 않은 조회/클릭 수를 포함한 기사 인기도를 반환합니다.")
+    public ResponseEntity<Map<String, Object>> getLivePopularity(@PathVariable Long articleId) {
+        return newsService.findLivePopularity(articleId)
+                .map(popularity -> ResponseEntity.ok(Map.<String, Object>of("articleId", articleId, "popularityScore", popularity)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/by-sentiment")
     @Operation(summary = "감정별 뉴스", description = "특정 감정을 기준으로 뉴스를 필터링합니다.")
     public ResponseEntity<List<NewsArticle>> getNewsBySentiment(
@@ -71,31 +103,91 @@ public class PersonalizedNewsController {
             @RequestBody NewsInteractionRequest request) {
         
         Long userId = userService.getCurrentUserId(authentication);
+        if (userId == null || request.getArticleId() == null || request.getInteractionType() == null) {
+            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Invalid interaction"));
+        }
         
-        // 상호작용 기록
-        UserNewsInteraction interaction = UserNewsInteraction.builder()
-                .userId(userId)
-                .newsArticleId(request.getArticleId())
-                .interactionType(request.getInteractionType())
-                .readingTimeSeconds(request.getReadingTimeSeconds())
-                .build();
+        // 수집 버퍼에 넣고 바로 응답, DB 기록과 추천 모델 반영은 writer 스레드에서 배치로 수행
+        InteractionEvent event = InteractionEvent.of(userId, request.getArticleId(),
+                request.getInteractionType(), request.getReadingTimeSeconds());
+        if (deduplicator.isDuplicate(event)) {
+            // 윈도우 안의 반복 VIEW는 기록/인기도/선호도 어디에도 반영하지 않음
+            return ResponseEntity.accepted().body(Map.of("status", "duplicate", "message", "Repeated interaction ignored"));
+        }
+        if (!ingestionBuffer.offer(event)) {
+            deduplicator.forget(event);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("status", "rejected", "message", "Interaction buffer is full"));
+        }
         
-        interactionRepository.save(interaction);
+        return ResponseEntity.accepted().body(Map.of("status", "accepted", "message", "Interaction accepted"));
+    }
+
+    @PostMapping(value = "/interactions/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "상호작용 일괄 기록", description = "오프라인에서 쌓인 상호작용 배열을 한 번에 기록합니다. occurredAt은 클라이언트 시각(ISO-8601)입니다.")
+    public ResponseEntity<Map<String, Object>> recordInteractionsBulk(
+            Authentication authentication,
+            @RequestBody List<BulkInteractionService.BulkInteraction> interactions) {
         
-        // 비동기적으로 사용자 선호도 업데이트
-        CompletableFuture<Void> preferenceUpdate = recommendationEngine.updateUserPreferences(
-                userId, request.getArticleId(), request.getInteractionType());
+        return ingestBulk(authentication, interactions);
+    }
+
+    @PostMapping(value = "/interactions/bulk", consumes = NDJSON_VALUE)
+    @Operation(summary = "상호작용 일괄 기록 (NDJSON)", description = "한 줄에 상호작용 하나씩인 NDJSON 본문을 한 번에 기록합니다.")
+    public ResponseEntity<Map<String, Object>> recordInteractionsNdjson(
+            Authentication authentication,
+            @RequestBody String body) {
+        
+        List<BulkInteractionService.BulkInteraction> interactions = new ArrayList<>();
+        for (String line : body.split("\\R")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (interactions.size() >= bulkInteractionService.maxItems()) {
+                return tooManyInteractions();
+            }
+            try {
+                interactions.add(objectMapper.readValue(line, BulkInteractionService.BulkInteraction.class));
+            } catch (JsonProcessingException e) {
+                // 파싱할 수 없는 줄은 해당 위치의 검증 실패로 보고
+                interactions.add(null);
+            }
+        }
+        return ingestBulk(authentication, interactions);
+    }
+
+    private ResponseEntity<Map<String, Object>> ingestBulk(
+            Authentication authentication, List<BulkInteractionService.BulkInteraction> interactions) {
         
-        // 뉴스 인기도 업데이트 (VIEW, CLICK의 경우)
-        if (request.getInteractionType() == UserNewsInteraction.InteractionType.VIEW ||
-            request.getInteractionType() == UserNewsInteraction.InteractionType.CLICK) {
-            newsService.incrementPopularity(request.getArticleId());
+        // 묶음 전체에 대해 사용자 확인은 한 번
+        Long userId = userService.getCurrentUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of("status", "error", "message", "Unknown user"));
+        }
+        if (interactions.size() > bulkInteractionService.maxItems()) {
+            return tooManyInteractions();
         }
         
-        log.info("Recorded {} interaction for user {} on article {}", 
-                request.getInteractionType(), userId, request.getArticleId());
+        BulkInteractionService.Result result = bulkInteractionService.ingest(userId, interactions);
+        if (!result.queued()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("status", "rejected", "message", "Interaction buffer is full"));
+        }
         
-        return ResponseEntity.ok(Map.of("status", "success", "message", "Interaction recorded"));
+        log.info("Accepted {} bulk interactions for user {} ({} duplicates, {} rejected)",
+                result.accepted(), userId, result.duplicates(), result.rejected().size());
+        return ResponseEntity.accepted().body(Map.of(
+                "status", "accepted",
+                "accepted", result.accepted(),
+                "duplicates", result.duplicates(),
+                "rejected", result.rejected()));
+    }
+
+    private ResponseEntity<Map<String, Object>> tooManyInteractions() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("status", "error",
+                "message", "At most " + bulkInteractionService.maxItems() + " interactions per request"));
     }
 
     @GetMapping("/interactions/history")
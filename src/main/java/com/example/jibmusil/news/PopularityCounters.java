@@ -0,0 +1,137 @@
+package com.example.jibmusil.news;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기사 인기도(VIEW/CLICK) 증가분을 기사별 LongAdder에 모았다가 주기적으로 한 번의 다중 행 UPDATE로 반영한다.
+ * 인기 기사 한 행에 대한 UPDATE가 요청마다 몰려 행 잠금을 기다리던 문제를 없애고,
+ * 아직 반영되지 않은 증가분은 livePopularity로 합쳐 읽을 수 있다.
+ */
+@Slf4j
+@Component
+public class PopularityCounters {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<Long, LongAdder> counters = new ConcurrentHashMap<>();
+    // 유휴로 제거한 카운터: 제거 직전에 참조를 얻은 증가분이 남을 수 있어 다음 flush에서 한 번 더 합산
+    private final ConcurrentLinkedQueue<Map.Entry<Long, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+    private final Counter incrementCounter;
+    private final Counter flushedRowCounter;
+    private final Timer flushTimer;
+
+    public PopularityCounters(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.news.popularity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.incrementCounter = meterRegistry.counter("news.popularity.increments");
+        this.flushedRowCounter = meterRegistry.counter("news.popularity.flushed.rows");
+        this.flushTimer = meterRegistry.timer("news.popularity.flush");
+        meterRegistry.gauge("news.popularity.pending", counters, Map::size);
+    }
+
+    public void increment(long articleId) {
+        add(articleId, 1L);
+    }
+
+    public void add(long articleId, long delta) {
+        counters.computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+        incrementCounter.increment(delta);
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 증가분.
+     */
+    public long pending(long articleId) {
+        LongAdder adder = counters.get(articleId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public BigDecimal livePopularity(NewsArticle article) {
+        BigDecimal persisted = article.getPopularityScore() != null ? article.getPopularityScore() : BigDecimal.ZERO;
+        return article.getId() != null ? persisted.add(BigDecimal.valueOf(pending(article.getId()))) : persisted;
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.news.popularity.flush-interval:PT5S}")
+    public synchronized void flush() {
+        flushTimer.record(this::flushCounters);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushCounters() {
+        List<long[]> deltas = new ArrayList<>();
+        Map.Entry<Long, LongAdder> late;
+        while ((late = retired.poll()) != null) {
+            long delta = late.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.add(new long[]{late.getKey(), delta});
+            }
+        }
+        for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.add(new long[]{entry.getKey(), delta});
+            } else if (counters.remove(entry.getKey(), entry.getValue())) {
+                // 한 주기 동안 증가가 없던 기사는 맵에서 빼서 메모리를 묶어두지 않는다
+                retired.add(entry);
+            }
+        }
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<long[]> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                jdbcTemplate.update(updateSql(batch.size()), parameters(batch));
+                flushedRowCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                // 실패한 증가분은 다음 주기에 다시 시도하도록 되돌림
+                log.error("Failed to flush popularity for {} articles, re-queueing", batch.size(), e);
+                batch.forEach(delta -> counters.computeIfAbsent(delta[0], id -> new LongAdder()).add(delta[1]));
+            }
+        }
+    }
+
+    private static String updateSql(int rows) {
+        // UPDATE ... SET popularity_score = popularity_score + CASE id WHEN ? THEN ? ... END WHERE id IN (...)
+        StringBuilder sql = new StringBuilder("UPDATE news_articles SET popularity_score = popularity_score + CASE id");
+        sql.append(" WHEN ? THEN ?".repeat(rows));
+        sql.append(" ELSE 0 END WHERE id IN (");
+        sql.append(String.join(", ", Collections.nCopies(rows, "?")));
+        return sql.append(')').toString();
+    }
+
+    private static Object[] parameters(List<long[]> batch) {
+        Object[] parameters = new Object[batch.size() * 3];
+        int i = 0;
+        for (long[] delta : batch) {
+            parameters[i++] = delta[0];
+            parameters[i++] = delta[1];
+        }
+        for (long[] delta : batch) {
+            parameters[i++] = delta[0];
+        }
+        return parameters;
+    }
+}
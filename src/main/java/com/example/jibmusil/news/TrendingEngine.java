@@ -0,0 +1,334 @@
+package com.example.jibmusil.news;
+
+import com.example.jibmusil.user.UserNewsInteraction;
+import com.example.jibmusil.util.LongIntHashMap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시간 감쇠 트렌딩 점수를 메모리에서 유지하는 엔진.
+ * 기사별 점수는 전진 감쇠(forward decay)로 저장되어 시간이 흘러도 순위가 바뀌지 않으므로,
+ * 이벤트가 들어올 때만 전체/카테고리별 상위 K를 증분 갱신하고 조회는 O(K) 메모리 읽기로 끝난다.
+ * 슬롯에는 기사 ID, 카테고리, 점수만 두고, 응답할 상위 N개 엔티티는 크기 제한이 있는 캐시에서 읽는다.
+ */
+@Slf4j
+@Component
+public class TrendingEngine {
+
+    // 감쇠 배율이 이 값을 넘으면 전체 점수를 재조정해 float 오버플로우를 막는다
+    private static final double RESCALE_THRESHOLD = 1.0e6;
+    private static final long NO_CATEGORY = -1L;
+    // 조회수 등 엔티티 필드가 너무 오래 묵지 않도록 캐시한 기사를 주기적으로 다시 읽는다
+    private static final Duration ARTICLE_CACHE_TTL = Duration.ofMinutes(5);
+
+    private final NewsRepository newsRepository;
+    private final double decayPerMilli;
+    private final int capacity;
+    private final int topK;
+    private final int warmupDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap slotsByArticleId;
+    private final long[] articleIds;
+    private final long[] categoryIds;
+    private final float[] scores;
+    private final int[] globalPositions;
+    private final int[] categoryPositions;
+    private final TopKSlots globalTop;
+    private final Map<Long, TopKSlots> categoryTops = new HashMap<>();
+    private final Cache<Long, NewsArticle> articleCache;
+
+    private int usedSlots;
+    private int evictCursor;
+    private long epochMillis;
+    private volatile boolean warmedUp;
+
+    public TrendingEngine(
+            NewsRepository newsRepository,
+            @Value("${jibmusil.trending.half-life:PT6H}") Duration halfLife,
+            @Value("${jibmusil.trending.capacity:50000}") int capacity,
+            @Value("${jibmusil.trending.top-k:100}") int topK,
+            @Value("${jibmusil.trending.warmup-days:3}") int warmupDays,
+            @Value("${jibmusil.trending.article-cache-size:2000}") int articleCacheSize) {
+        if (capacity <= topK) {
+            throw new IllegalArgumentException("Trending capacity must be larger than top-k");
+        }
+        this.newsRepository = newsRepository;
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.capacity = capacity;
+        this.topK = topK;
+        this.warmupDays = warmupDays;
+        this.slotsByArticleId = new LongIntHashMap(capacity);
+        this.articleIds = new long[capacity];
+        this.categoryIds = new long[capacity];
+        this.scores = new float[capacity];
+        this.globalPositions = new int[capacity];
+        this.categoryPositions = new int[capacity];
+        Arrays.fill(globalPositions, -1);
+        Arrays.fill(categoryPositions, -1);
+        this.globalTop = new TopKSlots(topK, globalPositions);
+        this.epochMillis = System.currentTimeMillis();
+        this.articleCache = Caffeine.newBuilder()
+                .maximumSize(articleCacheSize)
+                .expireAfterWrite(ARTICLE_CACHE_TTL)
+                .build();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<NewsArticle> recentNews = newsRepository.findRecentNews(
+                LocalDateTime.now().minusDays(warmupDays), PageRequest.of(0, capacity));
+        // 과거 누적 인기도는 로그 스케일로 눌러 발행 시각 기준 초기 점수로만 사용
+        recentNews.forEach(article -> admit(article, 1.0f + (float) Math.log1p(toFloat(article.getPopularityScore()))));
+        warmedUp = true;
+        log.info("Trending engine warmed up with {} articles", recentNews.size());
+    }
+
+    public void onArticlesIngested(List<NewsArticle> ingested) {
+        // 수집 시점 휴리스틱(제목 길이, 이미지, 작성자)을 초기 점수로 사용
+        ingested.forEach(article -> admit(article, 1.0f + toFloat(article.getPopularityScore()) / 10.0f));
+    }
+
+    public void recordInteraction(Long articleId, UserNewsInteraction.InteractionType interactionType) {
+        float weight = eventWeight(interactionType);
+        if (articleId == null || weight <= 0f) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByArticleId.get(articleId, -1);
+            if (slot < 0) {
+                // 추적 중이 아닌(오래된) 기사는 트렌딩 대상에서 제외
+                return;
+            }
+            addScore(slot, weight, System.currentTimeMillis());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<NewsArticle> getTrending(int limit) {
+        if (!warmedUp) {
+            return newsRepository.findTrendingNews(limit);
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = globalTop.articleIds(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return findArticlesInOrder(ids);
+    }
+
+    public List<NewsArticle> getTrendingInCategory(Long categoryId, int limit) {
+        if (!warmedUp) {
+            return newsRepository.findByCategoryIdOrderByPopularityAndDate(categoryId, PageRequest.of(0, limit));
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            TopKSlots top = categoryTops.get(categoryId);
+            ids = top != null ? top.articleIds(limit) : new long[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+        return findArticlesInOrder(ids);
+    }
+
+    // DB 조회는 락 밖에서 하며, 그 사이 삭제된 기사는 결과에서 빠진다
+    private List<NewsArticle> findArticlesInOrder(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> keys = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            keys.add(id);
+        }
+        Map<Long, NewsArticle> loaded = articleCache.getAll(keys, this::loadArticles);
+        List<NewsArticle> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            NewsArticle article = loaded.get(id);
+            if (article != null) {
+                result.add(article);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, NewsArticle> loadArticles(Set<? extends Long> ids) {
+        Map<Long, NewsArticle> byId = new HashMap<>();
+        newsRepository.findAllById(new ArrayList<Long>(ids)).forEach(article -> byId.put(article.getId(), article));
+        return byId;
+    }
+
+    private void admit(NewsArticle article, float initialWeight) {
+        if (article.getId() == null) {
+            return;
+        }
+        long publishedMillis = article.getPublishedAt() != null
+                ? Math.min(System.currentTimeMillis(),
+                           article.getPublishedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                : System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByArticleId.get(article.getId(), -1);
+            if (slot < 0) {
+                slot = allocateSlot();
+                slotsByArticleId.put(article.getId(), slot);
+                articleIds[slot] = article.getId();
+                categoryIds[slot] = article.getCategoryId() != null ? article.getCategoryId() : NO_CATEGORY;
+                scores[slot] = 0f;
+            }
+            addScore(slot, initialWeight, publishedMillis);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addScore(int slot, float weight, long timestampMillis) {
+        double factor = decayFactor(timestampMillis);
+        scores[slot] += (float) (weight * factor);
+        globalTop.update(slot);
+        long categoryId = categoryIds[slot];
+        if (categoryId != NO_CATEGORY) {
+            categoryTops.computeIfAbsent(categoryId, id -> new TopKSlots(topK, categoryPositions)).update(slot);
+        }
+        if (factor > RESCALE_THRESHOLD) {
+            rescale(timestampMillis);
+        }
+    }
+
+    private int allocateSlot() {
+        if (usedSlots < capacity) {
+            return usedSlots++;
+        }
+        // 가득 차면 슬롯을 순환하며 재사용: 어떤 상위 K에도 없는 슬롯을 우선하고,
+        // 한 바퀴 안에 없으면 전체 상위 K 밖의 슬롯을 카테고리 상위 K에서 빼고 재사용
+        int fallback = -1;
+        for (int scanned = 0; scanned < capacity; scanned++) {
+            int slot = evictCursor;
+            evictCursor = (evictCursor + 1) % capacity;
+            if (globalPositions[slot] >= 0) {
+                continue;
+            }
+            if (categoryPositions[slot] < 0) {
+                return release(slot);
+            }
+            if (fallback < 0) {
+                fallback = slot;
+            }
+        }
+        categoryTops.get(categoryIds[fallback]).remove(fallback);
+        return release(fallback);
+    }
+
+    private int release(int slot) {
+        slotsByArticleId.remove(articleIds[slot]);
+        articleCache.invalidate(articleIds[slot]);
+        return slot;
+    }
+
+    private void rescale(long nowMillis) {
+        // 모든 점수에 같은 배율을 곱하므로 상위 K 순서는 그대로 유지된다
+        float factor = (float) (1.0 / decayFactor(nowMillis));
+        for (int i = 0; i < usedSlots; i++) {
+            scores[i] *= factor;
+        }
+        epochMillis = nowMillis;
+    }
+
+    private double decayFactor(long timestampMillis) {
+        return Math.exp(decayPerMilli * (timestampMillis - epochMillis));
+    }
+
+    private static float eventWeight(UserNewsInteraction.InteractionType interactionType) {
+        return switch (interactionType) {
+            case VIEW -> 1.0f;
+            case CLICK -> 2.0f;
+            case LIKE -> 4.0f;
+            case SAVE -> 5.0f;
+            case SHARE -> 6.0f;
+            case DISLIKE -> 0f;
+        };
+    }
+
+    private static float toFloat(BigDecimal value) {
+        return value != null ? value.floatValue() : 0f;
+    }
+
+    // 점수 내림차순으로 정렬된 상위 K 슬롯. 점수는 증가만 하므로 갱신 시 위로만 이동한다
+    private final class TopKSlots {
+        private final int[] slots;
+        private final int[] positions;
+        private int size;
+
+        TopKSlots(int k, int[] positions) {
+            this.slots = new int[k];
+            this.positions = positions;
+        }
+
+        void update(int slot) {
+            int pos = positions[slot];
+            if (pos < 0) {
+                if (size < slots.length) {
+                    pos = size++;
+                } else if (scores[slot] > scores[slots[size - 1]]) {
+                    pos = size - 1;
+                    positions[slots[pos]] = -1;
+                } else {
+                    return;
+                }
+            }
+            while (pos > 0 && scores[slots[pos - 1]] < scores[slot]) {
+                slots[pos] = slots[pos - 1];
+                positions[slots[pos]] = pos;
+                pos--;
+            }
+            slots[pos] = slot;
+            positions[slot] = pos;
+        }
+
+        void remove(int slot) {
+            int pos = positions[slot];
+            for (int i = pos; i < size - 1; i++) {
+                slots[i] = slots[i + 1];
+                positions[slots[i]] = i;
+            }
+            size--;
+            positions[slot] = -1;
+        }
+
+        long[] articleIds(int limit) {
+            int n = Math.min(limit, size);
+            long[] result = new long[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = TrendingEngine.this.articleIds[slots[i]];
+            }
+            return result;
+        }
+    }
+}
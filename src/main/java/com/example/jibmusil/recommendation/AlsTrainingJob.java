@@ -0,0 +1,168 @@
+package com.example.jibmusil.recommendation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.spark.ml.recommendation.ALS;
+import org.apache.spark.ml.recommendation.ALSModel;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * user_news_interactions로 암시적 피드백 ALS를 학습해 사용자/기사 임베딩을 만드는 배치 작업.
+ * 클러스터 없이 단일 노드의 local[*] 모드 Spark로 실행한다.
+ */
+@Slf4j
+@Component
+public class AlsTrainingJob {
+
+    // 상호작용 유형별 암시적 신뢰도 (DISLIKE는 학습에서 제외, 읽은 시간이 없으면 가산점 없음)
+    private static final String INTERACTION_QUERY = """
+            (SELECT user_id, news_article_id,
+                    SUM(CASE interaction_type
+                            WHEN 'VIEW' THEN 1 WHEN 'CLICK' THEN 2 WHEN 'LIKE' THEN 4
+                            WHEN 'SHARE' THEN 5 WHEN 'SAVE' THEN 6 ELSE 0 END
+                        + LEAST(COALESCE(reading_time_seconds, 0), 300) / 60.0) AS confidence
+             FROM user_news_interactions
+             WHERE interaction_type <> 'DISLIKE' AND interaction_time >= '%s'
+             GROUP BY user_id, news_article_id) AS interactions
+            """;
+
+    private final EmbeddingScorer embeddingScorer;
+    private final Timer trainingTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${jibmusil.recommendation.als.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    @Value("${spring.datasource.driver-class-name:com.mysql.cj.jdbc.Driver}")
+    private String datasourceDriver;
+
+    @Value("${jibmusil.recommendation.als.rank:32}")
+    private int rank;
+
+    @Value("${jibmusil.recommendation.als.max-iterations:10}")
+    private int maxIterations;
+
+    @Value("${jibmusil.recommendation.als.reg-param:0.05}")
+    private double regParam;
+
+    @Value("${jibmusil.recommendation.als.alpha:10.0}")
+    private double alpha;
+
+    @Value("${jibmusil.recommendation.als.history-days:90}")
+    private int historyDays;
+
+    public AlsTrainingJob(EmbeddingScorer embeddingScorer, MeterRegistry meterRegistry) {
+        this.embeddingScorer = embeddingScorer;
+        this.trainingTimer = meterRegistry.timer("recommendation.als.training");
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.recommendation.model-update-interval:3600000}",
+               initialDelayString = "${jibmusil.recommendation.als.initial-delay:60000}")
+    public void train() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            trainingTimer.record(this::trainOnce);
+        } catch (Exception | LinkageError e) {
+            // 클래스패스 문제(NoClassDefFoundError 등)도 스케줄러 밖으로 던지지 않고 다음 주기에 다시 시도한다
+            log.error("ALS training failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void trainOnce() {
+        SparkSession spark = SparkSession.builder()
+                .appName("jibmusil-als")
+                .master("local[*]")
+                .config("spark.ui.enabled", "false")
+                // UI를 꺼도 메트릭 서블릿 싱크는 Jetty 핸들러를 만들고, 이 Jetty는 Tomcat 10.1이 쓰는 서블릿 6에 없는 클래스를 찾는다
+                .config("spark.metrics.conf.*.sink.servlet.class", HandlerlessMetricsServlet.class.getName())
+                .config("spark.driver.host", "127.0.0.1")
+                .config("spark.sql.shuffle.partitions", "8")
+                .getOrCreate();
+        try {
+            Properties connection = new Properties();
+            connection.setProperty("user", datasourceUsername);
+            connection.setProperty("password", datasourcePassword);
+            connection.setProperty("driver", datasourceDriver);
+
+            Dataset<Row> interactions = spark.read()
+                    .jdbc(datasourceUrl, interactionQuery(LocalDateTime.now().minusDays(historyDays)), connection)
+                    .selectExpr("CAST(user_id AS INT) AS user", "CAST(news_article_id AS INT) AS item",
+                                "CAST(confidence AS FLOAT) AS confidence")
+                    .cache();
+
+            long count = interactions.count();
+            if (count == 0) {
+                log.info("No interactions to train ALS model on");
+                return;
+            }
+
+            ALSModel model = new ALS()
+                    .setImplicitPrefs(true)
+                    .setRank(rank)
+                    .setMaxIter(maxIterations)
+                    .setRegParam(regParam)
+                    .setAlpha(alpha)
+                    .setUserCol("user")
+                    .setItemCol("item")
+                    .setRatingCol("confidence")
+                    .setColdStartStrategy("drop")
+                    .fit(interactions);
+
+            EmbeddingStore users = toEmbeddingStore(model.userFactors().collectAsList(), model.rank());
+            EmbeddingStore articles = toEmbeddingStore(model.itemFactors().collectAsList(), model.rank());
+            embeddingScorer.publish(users, articles);
+
+            log.info("Trained ALS model on {} user-article pairs: {} users, {} articles, rank {}",
+                     count, users.size(), articles.size(), model.rank());
+        } catch (Exception e) {
+            throw new IllegalStateException("ALS training failed", e);
+        } finally {
+            spark.stop();
+        }
+    }
+
+    /**
+     * 기준 시각 이후의 (user_id, news_article_id, confidence) 집계를 읽는 파생 테이블 SQL.
+     */
+    static String interactionQuery(LocalDateTime since) {
+        return String.format(INTERACTION_QUERY, since.withNano(0));
+    }
+
+    private static EmbeddingStore toEmbeddingStore(List<Row> factors, int rank) {
+        long[] ids = new long[factors.size()];
+        float[] vectors = new float[factors.size() * rank];
+        for (int i = 0; i < factors.size(); i++) {
+            Row row = factors.get(i);
+            ids[i] = row.getInt(0);
+            List<Float> features = row.getList(1);
+            for (int j = 0; j < rank; j++) {
+                vectors[i * rank + j] = features.get(j);
+            }
+        }
+        return new EmbeddingStore(rank, ids, vectors);
+    }
+}
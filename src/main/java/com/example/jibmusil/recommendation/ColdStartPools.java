@@ -0,0 +1,255 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsCategory;
+import com.example.jibmusil.news.NewsCategoryRepository;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.user.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 선호도 프로필이 없는 사용자(신규 가입, 조회 실패)를 위한 콜드 스타트 후보 풀.
+ * 카테고리 × 언어 × 최신성 구간별 인기 기사 상위 N개를 주기적으로 한 번의 조회로 만들어 메모리에 두고,
+ * 요청 시에는 User.preferences JSON의 카테고리/언어로 풀을 섞기만 하므로 SQL을 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class ColdStartPools {
+
+    static final long ANY_CATEGORY = -1L;
+    static final String ANY_LANGUAGE = "*";
+
+    private static final Comparator<NewsArticle> POPULARITY_ORDER = Comparator
+            .comparing((NewsArticle article) -> article.getPopularityScore() != null ? article.getPopularityScore() : BigDecimal.ZERO)
+            .thenComparing(NewsArticle::getPublishedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .reversed();
+
+    private final NewsRepository newsRepository;
+    private final NewsCategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final List<Duration> windows;
+    private final int poolSize;
+    private final int scanLimit;
+    private final String defaultLanguage;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Timer refreshTimer;
+    private final Counter personalizedServed;
+    private final Counter genericServed;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ColdStartPools(
+            NewsRepository newsRepository,
+            NewsCategoryRepository categoryRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.recommendation.cold-start.windows:PT24H,P7D,P30D}") List<Duration> windows,
+            @Value("${jibmusil.recommendation.cold-start.pool-size:50}") int poolSize,
+            @Value("${jibmusil.recommendation.cold-start.scan-limit:20000}") int scanLimit,
+            @Value("${jibmusil.recommendation.cold-start.default-language:en}") String defaultLanguage) {
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("At least one cold-start window is required");
+        }
+        this.newsRepository = newsRepository;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        // 최신 구간부터 시도하도록 짧은 순으로 정렬
+        this.windows = windows.stream().sorted().toList();
+        this.poolSize = poolSize;
+        this.scanLimit = scanLimit;
+        this.defaultLanguage = defaultLanguage;
+        this.refreshTimer = meterRegistry.timer("recommendation.cold_start.refresh");
+        this.personalizedServed = meterRegistry.counter("recommendation.cold_start.served", "blend", "preferences");
+        this.genericServed = meterRegistry.counter("recommendation.cold_start.served", "blend", "generic");
+        meterRegistry.gauge("recommendation.cold_start.pools", this, pools -> pools.snapshot.pools().size());
+    }
+
+    public boolean isReady() {
+        return snapshot != Snapshot.EMPTY;
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.recommendation.cold-start.refresh-interval:PT10M}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshTimer.record(this::rebuild);
+        } catch (Exception e) {
+            // 실패하면 이전 풀을 계속 사용
+            log.error("Failed to refresh cold-start pools", e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * 선호 카테고리 풀을 번갈아 섞고, 부족하면 언어 전체 풀과 전체 풀로 채운다. user가 null이면 기본 언어의 전체 풀.
+     */
+    public List<NewsArticle> recommend(User user, int limit) {
+        Snapshot current = snapshot;
+        Preferences preferences = parsePreferences(user, current);
+        Map<Long, NewsArticle> picked = new LinkedHashMap<>();
+
+        if (!preferences.categoryIds().isEmpty()) {
+            personalizedServed.increment();
+            int perCategory = Math.max(1, (limit + preferences.categoryIds().size() - 1) / preferences.categoryIds().size());
+            List<List<NewsArticle>> sources = new ArrayList<>(preferences.categoryIds().size());
+            for (long categoryId : preferences.categoryIds()) {
+                sources.add(current.pool(categoryId, preferences.language(), perCategory));
+            }
+            interleave(sources, picked, limit);
+        } else {
+            genericServed.increment();
+        }
+
+        fill(current.pool(ANY_CATEGORY, preferences.language(), limit), picked, limit);
+        fill(current.pool(ANY_CATEGORY, ANY_LANGUAGE, limit), picked, limit);
+        return new ArrayList<>(picked.values());
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NewsArticle> recent = newsRepository.findRecentNews(
+                now.minus(windows.get(windows.size() - 1)), PageRequest.of(0, scanLimit));
+
+        // 키: (카테고리|전체) × (언어|전체) × 구간
+        Map<PoolKey, List<NewsArticle>> buckets = new HashMap<>();
+        for (NewsArticle article : recent) {
+            long categoryId = article.getCategoryId() != null ? article.getCategoryId() : ANY_CATEGORY;
+            String language = normalizeLanguage(article.getLanguage());
+            for (int window = 0; window < windows.size(); window++) {
+                if (article.getPublishedAt() == null || article.getPublishedAt().isBefore(now.minus(windows.get(window)))) {
+                    continue;
+                }
+                add(buckets, new PoolKey(ANY_CATEGORY, ANY_LANGUAGE, window), article);
+                if (language != null) {
+                    add(buckets, new PoolKey(ANY_CATEGORY, language, window), article);
+                }
+                if (categoryId != ANY_CATEGORY) {
+                    add(buckets, new PoolKey(categoryId, ANY_LANGUAGE, window), article);
+                    if (language != null) {
+                        add(buckets, new PoolKey(categoryId, language, window), article);
+                    }
+                }
+            }
+        }
+
+        Map<PoolKey, List<NewsArticle>> pools = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, articles) -> {
+            articles.sort(POPULARITY_ORDER);
+            pools.put(key, List.copyOf(articles.subList(0, Math.min(poolSize, articles.size()))));
+        });
+
+        Map<String, Long> categoryIdsByName = new HashMap<>();
+        for (NewsCategory category : categoryRepository.findAll()) {
+            categoryIdsByName.put(category.getName().toLowerCase(Locale.ROOT), category.getId());
+        }
+
+        snapshot = new Snapshot(pools, categoryIdsByName, windows.size());
+        log.info("Rebuilt {} cold-start pools from {} recent articles", pools.size(), recent.size());
+    }
+
+    private Preferences parsePreferences(User user, Snapshot current) {
+        if (user == null || user.getPreferences() == null) {
+            return new Preferences(List.of(), defaultLanguage);
+        }
+        // 주제 이름 배열(["technology", ...]) 또는 {"language": "ko", "categories": [...]} 객체를 모두 허용
+        try {
+            JsonNode root = objectMapper.readTree(user.getPreferences());
+            JsonNode topics = root.isArray() ? root : root.path("categories");
+            String language = root.isObject() && root.hasNonNull("language")
+                    ? normalizeLanguage(root.get("language").asText()) : defaultLanguage;
+            List<Long> categoryIds = new ArrayList<>();
+            for (JsonNode topic : topics) {
+                Long categoryId = current.categoryIdsByName().get(topic.asText().toLowerCase(Locale.ROOT));
+                if (categoryId != null && !categoryIds.contains(categoryId)) {
+                    categoryIds.add(categoryId);
+                }
+            }
+            return new Preferences(categoryIds, language != null ? language : defaultLanguage);
+        } catch (Exception e) {
+            log.debug("Ignoring unparsable preferences for user {}: {}", user.getId(), e.getMessage());
+            return new Preferences(List.of(), defaultLanguage);
+        }
+    }
+
+    private static void interleave(List<List<NewsArticle>> sources, Map<Long, NewsArticle> picked, int limit) {
+        for (int rank = 0; picked.size() < limit; rank++) {
+            boolean any = false;
+            for (List<NewsArticle> source : sources) {
+                if (rank < source.size()) {
+                    any = true;
+                    picked.putIfAbsent(source.get(rank).getId(), source.get(rank));
+                    if (picked.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+            if (!any) {
+                return;
+            }
+        }
+    }
+
+    private static void fill(List<NewsArticle> source, Map<Long, NewsArticle> picked, int limit) {
+        for (int i = 0; i < source.size() && picked.size() < limit; i++) {
+            picked.putIfAbsent(source.get(i).getId(), source.get(i));
+        }
+    }
+
+    private static void add(Map<PoolKey, List<NewsArticle>> buckets, PoolKey key, NewsArticle article) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(article);
+    }
+
+    private static String normalizeLanguage(String language) {
+        return language != null && !language.isBlank() ? language.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    record PoolKey(long categoryId, String language, int window) {
+    }
+
+    record Preferences(List<Long> categoryIds, String language) {
+    }
+
+    record Snapshot(Map<PoolKey, List<NewsArticle>> pools, Map<String, Long> categoryIdsByName, int windowCount) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), 0);
+
+        /**
+         * 최소 minSize개를 채우는 가장 최신 구간의 풀, 없으면 가장 넓은 구간의 풀.
+         */
+        List<NewsArticle> pool(long categoryId, String language, int minSize) {
+            List<NewsArticle> widest = List.of();
+            for (int window = 0; window < windowCount; window++) {
+                List<NewsArticle> pool = pools.getOrDefault(new PoolKey(categoryId, language, window), List.of());
+                if (pool.size() >= minSize) {
+                    return pool;
+                }
+                widest = pool;
+            }
+            return widest;
+        }
+    }
+}
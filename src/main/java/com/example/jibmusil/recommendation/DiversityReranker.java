@@ -0,0 +1,163 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * MMR(Maximal Marginal Relevance) 기반 다양성 재정렬.
+ * 후보마다 카테고리, 출처, 키워드/엔티티/제목 단어를 256비트 시그니처로 미리 계산해
+ * 후보 간 유사도를 비트 연산만으로 구한다. 비용은 O(n × limit).
+ */
+@Component
+public class DiversityReranker {
+
+    private static final int SIGNATURE_WORDS = 4; // 256비트
+    private static final int SIGNATURE_MASK = SIGNATURE_WORDS * 64 - 1;
+    private static final int MIN_TITLE_WORD_LENGTH = 4;
+
+    private final float lambda;
+    private final float categoryWeight;
+    private final float sourceWeight;
+    private final float contentWeight;
+
+    public DiversityReranker(
+            @Value("${jibmusil.recommendation.diversity.lambda:0.7}") float lambda,
+            @Value("${jibmusil.recommendation.diversity.category-weight:0.4}") float categoryWeight,
+            @Value("${jibmusil.recommendation.diversity.source-weight:0.2}") float sourceWeight,
+            @Value("${jibmusil.recommendation.diversity.content-weight:0.4}") float contentWeight) {
+        this.lambda = lambda;
+        this.categoryWeight = categoryWeight;
+        this.sourceWeight = sourceWeight;
+        this.contentWeight = contentWeight;
+    }
+
+    /**
+     * relevance 점수가 매겨진 후보를 MMR 순서로 최대 limit개 선택한다.
+     * 반환되는 점수는 선택 시점의 MMR 값을 0 이상으로 옮긴 것으로, 순서와 같이 단조 감소한다.
+     */
+    public Result rerank(List<NewsArticle> candidates, float[] relevance, int limit) {
+        int n = candidates.size();
+        int k = Math.min(limit, n);
+        long[] categories = new long[n];
+        int[] sources = new int[n];
+        long[] signatures = new long[n * SIGNATURE_WORDS];
+        int[] bitCounts = new int[n];
+
+        float maxRelevance = 0f;
+        for (int i = 0; i < n; i++) {
+            NewsArticle article = candidates.get(i);
+            // 값이 없으면 다른 후보와 겹치지 않도록 고유한 음수를 사용
+            categories[i] = article.getCategoryId() != null ? article.getCategoryId() : -1L - i;
+            sources[i] = article.getSourceName() != null ? article.getSourceName().hashCode() : ~i;
+            bitCounts[i] = buildSignature(article, signatures, i * SIGNATURE_WORDS);
+            maxRelevance = Math.max(maxRelevance, relevance[i]);
+        }
+
+        float relevanceScale = maxRelevance > 0f ? 1f / maxRelevance : 0f;
+        float[] maxSimilarity = new float[n];
+        boolean[] selected = new boolean[n];
+        int[] order = new int[k];
+        float[] scores = new float[k];
+
+        for (int rank = 0; rank < k; rank++) {
+            int best = -1;
+            float bestValue = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                if (selected[i]) {
+                    continue;
+                }
+                float value = lambda * relevance[i] * relevanceScale - (1f - lambda) * maxSimilarity[i];
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+
+            selected[best] = true;
+            order[rank] = best;
+            scores[rank] = bestValue + (1f - lambda);
+
+            // 새로 선택된 후보와의 유사도로 남은 후보들의 최대 유사도 갱신
+            for (int i = 0; i < n; i++) {
+                if (!selected[i]) {
+                    float similarity = similarity(best, i, categories, sources, signatures, bitCounts);
+                    if (similarity > maxSimilarity[i]) {
+                        maxSimilarity[i] = similarity;
+                    }
+                }
+            }
+        }
+        return new Result(order, scores);
+    }
+
+    private float similarity(int a, int b, long[] categories, int[] sources, long[] signatures, int[] bitCounts) {
+        float similarity = 0f;
+        if (categories[a] == categories[b]) {
+            similarity += categoryWeight;
+        }
+        if (sources[a] == sources[b]) {
+            similarity += sourceWeight;
+        }
+        int union = bitCounts[a] + bitCounts[b];
+        if (union > 0) {
+            int offsetA = a * SIGNATURE_WORDS;
+            int offsetB = b * SIGNATURE_WORDS;
+            int intersection = 0;
+            for (int w = 0; w < SIGNATURE_WORDS; w++) {
+                intersection += Long.bitCount(signatures[offsetA + w] & signatures[offsetB + w]);
+            }
+            similarity += contentWeight * intersection / (union - intersection);
+        }
+        return similarity;
+    }
+
+    private static int buildSignature(NewsArticle article, long[] signatures, int offset) {
+        if (article.getKeywords() != null) {
+            for (String keyword : article.getKeywords()) {
+                setBit(signatures, offset, keyword.hashCode());
+            }
+        }
+        if (article.getEntities() != null) {
+            for (String entity : article.getEntities()) {
+                setBit(signatures, offset, entity.hashCode());
+            }
+        }
+        if (article.getTitle() != null) {
+            addTitleWords(article.getTitle(), signatures, offset);
+        }
+        int bits = 0;
+        for (int w = 0; w < SIGNATURE_WORDS; w++) {
+            bits += Long.bitCount(signatures[offset + w]);
+        }
+        return bits;
+    }
+
+    // 제목 단어를 부분 문자열 할당 없이 소문자 해시로 시그니처에 추가 (신디케이션 중복 기사 탐지용)
+    private static void addTitleWords(String title, long[] signatures, int offset) {
+        int hash = 0;
+        int length = 0;
+        for (int i = 0; i <= title.length(); i++) {
+            char c = i < title.length() ? title.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = 31 * hash + Character.toLowerCase(c);
+                length++;
+            } else {
+                if (length >= MIN_TITLE_WORD_LENGTH) {
+                    setBit(signatures, offset, hash);
+                }
+                hash = 0;
+                length = 0;
+            }
+        }
+    }
+
+    private static void setBit(long[] signatures, int offset, int hash) {
+        int bit = (hash ^ (hash >>> 16)) & SIGNATURE_MASK;
+        signatures[offset + (bit >>> 6)] |= 1L << (bit & 63);
+    }
+
+    public record Result(int[] order, float[] scores) {}
+}
@@ -0,0 +1,77 @@
+package com.example.jibmusil.recommendation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ALS로 학습된 사용자/기사 임베딩의 내적으로 후보 기사를 점수화한다.
+ */
+@Slf4j
+@Component
+public class EmbeddingScorer {
+
+    private final Path modelDirectory;
+    private final Timer scoringTimer;
+
+    private volatile Embeddings embeddings;
+
+    public EmbeddingScorer(
+            @Value("${jibmusil.recommendation.als.model-path:data/als}") String modelPath,
+            MeterRegistry meterRegistry) {
+        this.modelDirectory = Path.of(modelPath);
+        this.scoringTimer = meterRegistry.timer("recommendation.als.scoring");
+    }
+
+    @PostConstruct
+    void loadPersistedModel() {
+        Path userFile = modelDirectory.resolve("users.emb");
+        Path itemFile = modelDirectory.resolve("articles.emb");
+        if (!Files.exists(userFile) || !Files.exists(itemFile)) {
+            return;
+        }
+        try {
+            embeddings = new Embeddings(EmbeddingStore.readFrom(userFile), EmbeddingStore.readFrom(itemFile));
+            log.info("Loaded ALS embeddings: {} users, {} articles", embeddings.users().size(), embeddings.articles().size());
+        } catch (IOException e) {
+            log.warn("Failed to load persisted ALS embeddings from {}", modelDirectory, e);
+        }
+    }
+
+    public boolean hasUser(long userId) {
+        Embeddings current = embeddings;
+        return current != null && current.users().contains(userId);
+    }
+
+    /**
+     * 사용자 벡터와 각 후보 기사 벡터의 내적. 임베딩이 없는 기사는 0점.
+     */
+    public float[] score(long userId, long[] articleIds) {
+        long start = System.nanoTime();
+        Embeddings current = embeddings;
+        float[] scores = new float[articleIds.length];
+        if (current != null) {
+            for (int i = 0; i < articleIds.length; i++) {
+                scores[i] = current.users().dot(userId, current.articles(), articleIds[i]);
+            }
+        }
+        scoringTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return scores;
+    }
+
+    void publish(EmbeddingStore users, EmbeddingStore articles) throws IOException {
+        embeddings = new Embeddings(users, articles);
+        users.writeTo(modelDirectory.resolve("users.emb"));
+        articles.writeTo(modelDirectory.resolve("articles.emb"));
+    }
+
+    private record Embeddings(EmbeddingStore users, EmbeddingStore articles) {}
+}
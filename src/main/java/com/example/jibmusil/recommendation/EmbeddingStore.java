@@ -0,0 +1,105 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.util.LongIntHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * ID별 고정 길이 float 임베딩을 하나의 평탄한 배열에 담는 읽기 전용 저장소.
+ */
+public final class EmbeddingStore {
+
+    private static final int MAGIC = 0x4A424D45; // "JBME"
+
+    private final int rank;
+    private final long[] ids;
+    private final float[] vectors;
+    private final LongIntHashMap indexById;
+
+    public EmbeddingStore(int rank, long[] ids, float[] vectors) {
+        if (vectors.length != ids.length * rank) {
+            throw new IllegalArgumentException("Vector data does not match rank " + rank + " for " + ids.length + " ids");
+        }
+        this.rank = rank;
+        this.ids = ids;
+        this.vectors = vectors;
+        this.indexById = new LongIntHashMap(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            indexById.put(ids[i], i);
+        }
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(long id) {
+        return indexById.containsKey(id);
+    }
+
+    /**
+     * 두 저장소에 있는 벡터의 내적. 어느 한쪽에 없으면 0을 반환한다.
+     */
+    public float dot(long id, EmbeddingStore other, long otherId) {
+        int index = indexById.get(id, -1);
+        int otherIndex = other.indexById.get(otherId, -1);
+        if (index < 0 || otherIndex < 0) {
+            return 0f;
+        }
+        int offset = index * rank;
+        int otherOffset = otherIndex * rank;
+        float sum = 0f;
+        for (int i = 0; i < rank; i++) {
+            sum += vectors[offset + i] * other.vectors[otherOffset + i];
+        }
+        return sum;
+    }
+
+    public void writeTo(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rank);
+            out.writeInt(ids.length);
+            for (long id : ids) {
+                out.writeLong(id);
+            }
+            for (float value : vectors) {
+                out.writeFloat(value);
+            }
+        }
+        // 읽는 쪽이 반쯤 쓰인 파일을 보지 않도록 원자적으로 교체
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static EmbeddingStore readFrom(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an embedding file: " + path);
+            }
+            int rank = in.readInt();
+            int count = in.readInt();
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = in.readLong();
+            }
+            float[] vectors = new float[count * rank];
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = in.readFloat();
+            }
+            return new EmbeddingStore(rank, ids, vectors);
+        }
+    }
+}
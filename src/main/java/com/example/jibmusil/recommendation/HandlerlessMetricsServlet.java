@@ -0,0 +1,24 @@
+package com.example.jibmusil.recommendation;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.spark.SparkConf;
+import org.apache.spark.metrics.sink.MetricsServlet;
+import org.sparkproject.jetty.servlet.ServletContextHandler;
+
+import java.util.Properties;
+
+/**
+ * Jetty 핸들러를 만들지 않는 Spark 메트릭 서블릿 싱크.
+ * local[*] 학습에는 UI도 /metrics/json도 필요 없고, Spark에 셰이딩된 Jetty 11은 서블릿 5 API를 기대한다.
+ */
+public class HandlerlessMetricsServlet extends MetricsServlet {
+
+    public HandlerlessMetricsServlet(Properties property, MetricRegistry registry) {
+        super(property, registry);
+    }
+
+    @Override
+    public ServletContextHandler[] getHandlers(SparkConf conf) {
+        return new ServletContextHandler[0];
+    }
+}
@@ -0,0 +1,416 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.user.UserNewsInteraction;
+import com.example.jibmusil.user.UserNewsInteractionRepository;
+import com.example.jibmusil.util.LongFloatHashMap;
+import com.example.jibmusil.util.LongObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 아이템 기반 협업 필터링 모델.
+ * 긍정 상호작용(LIKE/SHARE/SAVE)으로 기사 간 동시 출현 행렬을 희소하게 유지하며,
+ * recordInteraction 시점에 증분 갱신되고 조회 시 DB에 접근하지 않는다.
+ * 감쇠된 가중치가 eviction-threshold 아래로 떨어진 기사 행과 사용자 이력은 주기적으로 제거해
+ * 메모리가 최근 활동량에 비례하도록 유지한다.
+ */
+@Slf4j
+@Component
+public class ItemCooccurrenceModel {
+
+    // 감쇠 배율이 이 값을 넘으면 전체 값을 재조정해 float 오버플로우를 막는다
+    private static final double RESCALE_THRESHOLD = 1.0e6;
+
+    private final UserNewsInteractionRepository interactionRepository;
+    private final double decayPerMilli;
+    private final int maxNeighbours;
+    private final int userHistorySize;
+    private final int warmupDays;
+    private final float evictionThreshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<LongFloatHashMap> neighbours = new LongObjectHashMap<>(1024);
+    private final LongFloatHashMap itemWeights = new LongFloatHashMap(1024);
+    private final LongObjectHashMap<UserHistory> userHistories = new LongObjectHashMap<>(1024);
+    private final float[] pruneScratch;
+
+    // 전진 감쇠(forward decay)의 기준 시각. 저장된 값은 모두 이 시각 기준으로 부풀려져 있다
+    private long epochMillis;
+
+    public ItemCooccurrenceModel(
+            UserNewsInteractionRepository interactionRepository,
+            @Value("${jibmusil.recommendation.item-cf.half-life:P3D}") Duration halfLife,
+            @Value("${jibmusil.recommendation.item-cf.max-neighbours:50}") int maxNeighbours,
+            @Value("${jibmusil.recommendation.item-cf.user-history-size:20}") int userHistorySize,
+            @Value("${jibmusil.recommendation.item-cf.warmup-days:30}") int warmupDays,
+            @Value("${jibmusil.recommendation.item-cf.eviction-threshold:0.01}") float evictionThreshold) {
+        this.interactionRepository = interactionRepository;
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.maxNeighbours = maxNeighbours;
+        this.userHistorySize = userHistorySize;
+        this.warmupDays = warmupDays;
+        this.evictionThreshold = evictionThreshold;
+        this.pruneScratch = new float[maxNeighbours * 2 + 1];
+        this.epochMillis = System.currentTimeMillis();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime fromDate = LocalDateTime.now().minusDays(warmupDays);
+        int page = 0;
+        int loaded = 0;
+        List<UserNewsInteraction> batch;
+        do {
+            batch = interactionRepository.findPositiveInteractionsSince(fromDate, PageRequest.of(page++, 5000));
+            batch.forEach(this::record);
+            loaded += batch.size();
+        } while (batch.size() == 5000);
+        log.info("Item co-occurrence model warmed up with {} interactions ({} items)", loaded, itemCount());
+    }
+
+    /**
+     * 현재 시각 기준으로 재조정한 뒤, 감쇠된 가중치가 임계값 아래인 기사·동시 출현·사용자 이력을 제거한다.
+     */
+    @Scheduled(fixedDelayString = "${jibmusil.recommendation.item-cf.eviction-interval:PT1H}")
+    public void evictStale() {
+        evictStale(System.currentTimeMillis());
+    }
+
+    void evictStale(long nowMillis) {
+        lock.writeLock().lock();
+        try {
+            rescale(nowMillis);
+            int items = itemWeights.removeBelow(evictionThreshold);
+            // 기사 자체가 사라졌거나 약해진 동시 출현은 행에서 지우고, 빈 행은 통째로 지운다
+            int rows = neighbours.removeIf((articleId, row) -> {
+                if (!itemWeights.containsKey(articleId)) {
+                    return true;
+                }
+                row.removeIf((other, weight) -> weight < evictionThreshold || !itemWeights.containsKey(other));
+                return row.isEmpty();
+            });
+            int users = userHistories.removeIf((userId, history) -> history.removeBelow(evictionThreshold) == 0);
+            log.debug("Evicted {} items, {} neighbour rows and {} user histories from item co-occurrence model",
+                      items, rows, users);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void record(UserNewsInteraction interaction) {
+        long timestamp = interaction.getInteractionTime() != null
+                ? interaction.getInteractionTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        record(interaction.getUserId(), interaction.getNewsArticleId(), interaction.getInteractionType(),
+                interaction.getReadingTimeSeconds(), timestamp);
+    }
+
+    public void record(Long userId, Long articleId, UserNewsInteraction.InteractionType type,
+                       Integer readingTimeSeconds, long timestampMillis) {
+        float baseWeight = interactionWeight(type, readingTimeSeconds);
+        if (baseWeight <= 0f || userId == null || articleId == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            float weight = (float) (baseWeight * decayFactor(timestampMillis));
+            itemWeights.addTo(articleId, weight);
+
+            UserHistory history = userHistories.computeIfAbsent(userId, id -> new UserHistory(userHistorySize));
+            for (int i = 0; i < history.size; i++) {
+                long other = history.articleIds[i];
+                if (other == articleId) {
+                    continue;
+                }
+                // 두 기사 가중치의 기하평균을 동시 출현 강도로 사용
+                float pairWeight = (float) Math.sqrt(weight * history.weights[i]);
+                addPair(articleId, other, pairWeight);
+                addPair(other, articleId, pairWeight);
+            }
+            history.add(articleId, weight);
+
+            if (decayFactor(timestampMillis) > RESCALE_THRESHOLD) {
+                rescale(timestampMillis);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 기사와 함께 읽힌 기사를 유사도 순으로 반환한다. O(이웃 수)
+     */
+    public long[] similarArticles(long articleId, int limit) {
+        lock.readLock().lock();
+        try {
+            LongFloatHashMap row = neighbours.get(articleId);
+            if (row == null || row.isEmpty()) {
+                return new long[0];
+            }
+            TopK topK = new TopK(limit);
+            float seedWeight = itemWeights.get(articleId, 0f);
+            row.forEach((other, cooccurrence) ->
+                    topK.offer(other, normalize(cooccurrence, seedWeight, itemWeights.get(other, 0f))));
+            return topK.sortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasHistory(long userId) {
+        lock.readLock().lock();
+        try {
+            UserHistory history = userHistories.get(userId);
+            return history != null && history.size > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 사용자의 최근 긍정 상호작용 기사들의 이웃을 합산해 추천 후보를 반환한다.
+     */
+    public long[] recommendForUser(long userId, int limit, LongPredicate exclude) {
+        lock.readLock().lock();
+        try {
+            UserHistory history = userHistories.get(userId);
+            if (history == null || history.size == 0) {
+                return new long[0];
+            }
+            LongFloatHashMap scores = new LongFloatHashMap(history.size * maxNeighbours);
+            for (int i = 0; i < history.size; i++) {
+                long seed = history.articleIds[i];
+                float seedWeight = itemWeights.get(seed, 0f);
+                float seedPreference = history.weights[i];
+                LongFloatHashMap row = neighbours.get(seed);
+                if (row == null) {
+                    continue;
+                }
+                row.forEach((other, cooccurrence) -> {
+                    if (!history.contains(other)) {
+                        scores.addTo(other, seedPreference * normalize(cooccurrence, seedWeight, itemWeights.get(other, 0f)));
+                    }
+                });
+            }
+            TopK topK = new TopK(limit);
+            scores.forEach((articleId, score) -> {
+                if (!exclude.test(articleId)) {
+                    topK.offer(articleId, score);
+                }
+            });
+            return topK.sortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int itemCount() {
+        lock.readLock().lock();
+        try {
+            return neighbours.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPair(long from, long to, float weight) {
+        LongFloatHashMap row = neighbours.computeIfAbsent(from, id -> new LongFloatHashMap(maxNeighbours));
+        row.addTo(to, weight);
+        // 상한의 2배까지 자란 뒤 한 번에 잘라내어 비용을 분산
+        if (row.size() > maxNeighbours * 2) {
+            prune(row);
+        }
+    }
+
+    private void prune(LongFloatHashMap row) {
+        int n = row.copyValues(pruneScratch);
+        Arrays.sort(pruneScratch, 0, n);
+        float threshold = pruneScratch[n - maxNeighbours];
+        row.removeBelow(threshold);
+    }
+
+    private void rescale(long nowMillis) {
+        float factor = (float) (1.0 / decayFactor(nowMillis));
+        neighbours.forEach((articleId, row) -> row.scaleAll(factor));
+        itemWeights.scaleAll(factor);
+        userHistories.forEach((userId, history) -> history.scale(factor));
+        epochMillis = nowMillis;
+        log.debug("Rescaled item co-occurrence model to new decay epoch {}", epochMillis);
+    }
+
+    private double decayFactor(long timestampMillis) {
+        return Math.exp(decayPerMilli * (timestampMillis - epochMillis));
+    }
+
+    private static float normalize(float cooccurrence, float weightA, float weightB) {
+        if (weightA <= 0f || weightB <= 0f) {
+            return 0f;
+        }
+        return (float) (cooccurrence / Math.sqrt((double) weightA * weightB));
+    }
+
+    static float interactionWeight(UserNewsInteraction.InteractionType type, Integer readingTimeSeconds) {
+        float base = switch (type) {
+            case LIKE -> 1.0f;
+            case SHARE -> 1.5f;
+            case SAVE -> 2.0f;
+            default -> 0f;
+        };
+        // 오래 읽은 기사일수록 최대 2배까지 가중
+        int readingTime = readingTimeSeconds != null ? Math.max(0, readingTimeSeconds) : 0;
+        return base * (1.0f + Math.min(readingTime, 300) / 300.0f);
+    }
+
+    // 사용자별 최근 긍정 상호작용 링 버퍼
+    private static class UserHistory {
+        private final long[] articleIds;
+        private final float[] weights;
+        private int size;
+        private int next;
+
+        UserHistory(int capacity) {
+            this.articleIds = new long[capacity];
+            this.weights = new float[capacity];
+        }
+
+        void add(long articleId, float weight) {
+            for (int i = 0; i < size; i++) {
+                if (articleIds[i] == articleId) {
+                    weights[i] += weight;
+                    return;
+                }
+            }
+            articleIds[next] = articleId;
+            weights[next] = weight;
+            next = (next + 1) % articleIds.length;
+            size = Math.min(size + 1, articleIds.length);
+        }
+
+        boolean contains(long articleId) {
+            for (int i = 0; i < size; i++) {
+                if (articleIds[i] == articleId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void scale(float factor) {
+            for (int i = 0; i < size; i++) {
+                weights[i] *= factor;
+            }
+        }
+
+        // threshold 미만 항목을 빼고 남은 항목을 오래된 순서 그대로 앞으로 당긴다. 남은 개수를 반환한다
+        int removeBelow(float threshold) {
+            int kept = 0;
+            int start = size < articleIds.length ? 0 : next;
+            long[] ids = new long[size];
+            float[] keptWeights = new float[size];
+            for (int n = 0; n < size; n++) {
+                int i = (start + n) % articleIds.length;
+                if (weights[i] >= threshold) {
+                    ids[kept] = articleIds[i];
+                    keptWeights[kept++] = weights[i];
+                }
+            }
+            if (kept == size) {
+                return kept;
+            }
+            Arrays.fill(articleIds, 0L);
+            Arrays.fill(weights, 0f);
+            System.arraycopy(ids, 0, articleIds, 0, kept);
+            System.arraycopy(keptWeights, 0, weights, 0, kept);
+            size = kept;
+            next = kept % articleIds.length;
+            return kept;
+        }
+    }
+
+    // 고정 크기 최소 힙 기반 상위 K 선택
+    private static class TopK {
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ids = new long[Math.max(1, k)];
+            this.scores = new float[Math.max(1, k)];
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        long[] sortedIds() {
+            long[] result = new long[size];
+            // 힙에서 최소값부터 꺼내 뒤에서부터 채운다
+            while (size > 0) {
+                result[size - 1] = ids[0];
+                swap(0, --size);
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[i] >= scores[parent]) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    break;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.util.LongFloatHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * (사용자, 카테고리)별 선호도 변화량을 메모리에 모았다가 주기적으로 한 번의 배치 upsert로 반영한다.
+ * 같은 키의 이벤트는 합산되어 한 행 갱신이 되고, 증감은 DB에서 원자적으로 적용되므로
+ * 동시 이벤트가 서로의 결과를 덮어쓰지 않는다.
+ *
+ * <p>배치는 트랜잭션 하나로 전부 반영되거나 전부 취소된다. 제약 위반처럼 특정 행 때문인 실패는 배치를 반으로
+ * 나눠 가며 문제 행만 버리고, 그 밖의 실패는 다음 주기에 다시 시도하되 max-attempts번 실패하면 버린다.
+ */
+@Slf4j
+@Component
+public class PreferenceAccumulator {
+
+    // 키 = userId << 24 | categoryId (카테고리 ID는 24비트, 사용자 ID는 39비트 이내)
+    private static final int CATEGORY_BITS = 24;
+    private static final long CATEGORY_MASK = (1L << CATEGORY_BITS) - 1;
+    private static final long MAX_USER_ID = (1L << (63 - CATEGORY_BITS)) - 1;
+
+    // 신규 행은 엔티티 기본값(0.5)에서 시작
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_preference_profiles (user_id, category_id, preference_score, last_updated)
+            VALUES (?, ?, LEAST(1, GREATEST(0, 0.5 + ?)), CURRENT_TIMESTAMP)
+            ON DUPLICATE KEY UPDATE
+                preference_score = LEAST(1, GREATEST(0, preference_score + ?)),
+                last_updated = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final LongFloatHashMap[] stripes;
+    private final int stripeMask;
+    // 실패한 주기 수를 기억해야 하므로 스트라이프에 합치지 않고 따로 둔다
+    private final List<PendingDelta> retries = new ArrayList<>();
+    private final Counter deltaCounter;
+    private final Counter flushedRowCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+
+    public PreferenceAccumulator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.recommendation.preferences.stripes:16}") int stripeCount,
+            @Value("${jibmusil.recommendation.preferences.batch-size:500}") int batchSize,
+            @Value("${jibmusil.recommendation.preferences.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        int stripeSize = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new LongFloatHashMap[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            stripes[i] = new LongFloatHashMap(64);
+        }
+        this.stripeMask = stripeSize - 1;
+        this.deltaCounter = meterRegistry.counter("recommendation.preferences.deltas");
+        this.flushedRowCounter = meterRegistry.counter("recommendation.preferences.flushed.rows");
+        this.retriedCounter = meterRegistry.counter("recommendation.preferences.retried.rows");
+        this.droppedCounter = meterRegistry.counter("recommendation.preferences.dropped.rows");
+        this.flushTimer = meterRegistry.timer("recommendation.preferences.flush");
+        meterRegistry.gauge("recommendation.preferences.pending", this, PreferenceAccumulator::pendingKeys);
+    }
+
+    public void add(long userId, long categoryId, float delta) {
+        if (userId < 0 || userId > MAX_USER_ID || categoryId < 0 || categoryId > CATEGORY_MASK) {
+            throw new IllegalArgumentException("User " + userId + " / category " + categoryId + " out of key range");
+        }
+        accumulate(userId << CATEGORY_BITS | categoryId, delta);
+        deltaCounter.increment();
+    }
+
+    private void accumulate(long key, float delta) {
+        LongFloatHashMap stripe = stripes[(int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask];
+        synchronized (stripe) {
+            stripe.addTo(key, delta);
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 (사용자, 카테고리) 키 수.
+     */
+    public int pendingKeys() {
+        int pending = 0;
+        for (LongFloatHashMap stripe : stripes) {
+            synchronized (stripe) {
+                pending += stripe.size();
+            }
+        }
+        synchronized (retries) {
+            return pending + retries.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jibmusil.recommendation.preferences.flush-interval:PT5S}")
+    public void flush() {
+        flushTimer.record(this::flushStripes);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushStripes() {
+        List<PendingDelta> deltas;
+        synchronized (retries) {
+            deltas = new ArrayList<>(retries);
+            retries.clear();
+        }
+        for (LongFloatHashMap stripe : stripes) {
+            // 잠금 안에서는 복사와 비우기만 하고 DB 쓰기는 잠금 밖에서 수행
+            synchronized (stripe) {
+                stripe.forEach((key, delta) -> {
+                    if (delta != 0f) {
+                        deltas.add(new PendingDelta(key, delta, 0));
+                    }
+                });
+                stripe.clear();
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            write(deltas.subList(from, Math.min(deltas.size(), from + batchSize)));
+        }
+        log.debug("Flushed {} coalesced preference deltas", deltas.size());
+    }
+
+    private void write(List<PendingDelta> batch) {
+        try {
+            // 일부만 반영된 배치를 다시 시도하면 변화량이 두 번 더해지므로 배치 전체를 한 트랜잭션으로 묶는다
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, batch.stream().map(PendingDelta::row).toList()));
+            flushedRowCounter.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // 특정 행이 원인이면 다시 시도해도 같으므로 나눠서 나머지를 살린다
+            if (batch.size() == 1) {
+                drop(batch, e);
+                return;
+            }
+            int middle = batch.size() / 2;
+            write(batch.subList(0, middle));
+            write(batch.subList(middle, batch.size()));
+        } catch (RuntimeException e) {
+            requeue(batch, e);
+        }
+    }
+
+    private void requeue(List<PendingDelta> batch, RuntimeException cause) {
+        List<PendingDelta> exhausted = new ArrayList<>();
+        int requeued = 0;
+        synchronized (retries) {
+            for (PendingDelta delta : batch) {
+                if (delta.failedFlushes() + 1 >= maxAttempts) {
+                    exhausted.add(delta);
+                } else {
+                    retries.add(new PendingDelta(delta.key(), delta.delta(), delta.failedFlushes() + 1));
+                    requeued++;
+                }
+            }
+        }
+        if (requeued > 0) {
+            retriedCounter.increment(requeued);
+            log.warn("Failed to flush {} preference deltas, retrying next cycle: {}", requeued, cause.getMessage());
+        }
+        if (!exhausted.isEmpty()) {
+            drop(exhausted, cause);
+        }
+    }
+
+    private void drop(List<PendingDelta> deltas, RuntimeException cause) {
+        droppedCounter.increment(deltas.size());
+        log.error("Dropping {} preference deltas that could not be flushed", deltas.size(), cause);
+    }
+
+    private record PendingDelta(long key, float delta, int failedFlushes) {
+
+        Object[] row() {
+            return new Object[]{key >>> CATEGORY_BITS, key & CATEGORY_MASK, delta, delta};
+        }
+    }
+}
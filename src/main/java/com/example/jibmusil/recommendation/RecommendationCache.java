@@ -0,0 +1,110 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.user.UserNewsInteraction;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 단위 추천 캐시.
+ * 상호작용이 기록되면 전체 재계산 대신 캐시된 후보 목록을 제자리에서 보정한다.
+ * 같은 사용자의 읽기-보정-쓰기는 사용자별 스트라이프 락으로 직렬화해 동시 상호작용의 보정이 유실되지 않는다.
+ * 락은 인스턴스 안에서만 유효하므로, 여러 인스턴스가 같은 사용자를 동시에 보정해 생기는 차이는 다음 재계산 때 바로잡힌다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationCache {
+
+    private static final String CACHE_NAME = "recommendations";
+    private static final int LOCK_STRIPES = 64;
+
+    private final CacheManager cacheManager;
+    private final NewsRepository newsRepository;
+    private final MeterRegistry meterRegistry;
+    private final Object[] locks = newLocks();
+
+    // 보정 후 남은 후보가 이보다 적으면 다음 요청에서 다시 계산
+    @Value("${jibmusil.recommendation.max-recommendations:20}")
+    private int minimumCandidates;
+
+    public ScoredCandidates get(Long userId, int limit) {
+        ScoredCandidates candidates = cache().get(userId, ScoredCandidates.class);
+        boolean hit = candidates != null && candidates.canServe(limit);
+        meterRegistry.counter("recommendation.cache.requests", "result", hit ? "hit" : "miss").increment();
+        return hit ? candidates : null;
+    }
+
+    public void put(Long userId, ScoredCandidates candidates) {
+        synchronized (lockFor(userId)) {
+            cache().put(userId, candidates);
+        }
+    }
+
+    public void evict(Long userId) {
+        synchronized (lockFor(userId)) {
+            cache().evict(userId);
+        }
+    }
+
+    public void applyInteraction(Long userId, Long articleId, UserNewsInteraction.InteractionType interactionType) {
+        synchronized (lockFor(userId)) {
+            patch(userId, articleId, interactionType);
+        }
+    }
+
+    private void patch(Long userId, Long articleId, UserNewsInteraction.InteractionType interactionType) {
+        ScoredCandidates candidates = cache().get(userId, ScoredCandidates.class);
+        if (candidates == null) {
+            return;
+        }
+
+        long categoryId = candidates.categoryOf(articleId);
+        if (categoryId == ScoredCandidates.NO_CATEGORY) {
+            categoryId = newsRepository.findCategoryIdById(articleId).orElse(ScoredCandidates.NO_CATEGORY);
+        }
+
+        ScoredCandidates patched = candidates.withInteraction(articleId, categoryId, categoryFactor(interactionType));
+        if (patched.size() < minimumCandidates) {
+            cache().evict(userId);
+            meterRegistry.counter("recommendation.cache.invalidations", "reason", "exhausted").increment();
+            return;
+        }
+
+        cache().put(userId, patched);
+        meterRegistry.counter("recommendation.cache.patches").increment();
+        log.debug("Patched cached recommendations for user {} after {} on article {}", userId, interactionType, articleId);
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[(int) ((userId * 0x9E3779B97F4A7C15L) >>> 40) & (LOCK_STRIPES - 1)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private static float categoryFactor(UserNewsInteraction.InteractionType interactionType) {
+        return switch (interactionType) {
+            case VIEW -> 1.02f;
+            case CLICK -> 1.05f;
+            case LIKE -> 1.20f;
+            case SHARE -> 1.25f;
+            case SAVE -> 1.30f;
+            case DISLIKE -> 0.50f;
+        };
+    }
+}
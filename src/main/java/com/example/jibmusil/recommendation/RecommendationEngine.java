@@ -2,26 +2,37 @@ package com.example.jibmusil.recommendation;
 
 import com.example.jibmusil.news.NewsArticle;
 import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.TrendingEngine;
 import com.example.jibmusil.user.User;
 import com.example.jibmusil.user.UserNewsInteraction;
 import com.example.jibmusil.user.UserNewsInteractionRepository;
 import com.example.jibmusil.user.UserPreferenceProfile;
 import com.example.jibmusil.user.UserPreferenceProfileRepository;
 import com.example.jibmusil.user.UserRepository;
+import com.example.jibmusil.util.LongFloatHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,70 +42,253 @@ import java.util.stream.Collectors;
 public class RecommendationEngine {
     
     private final NewsRepository newsRepository;
+    private final TrendingEngine trendingEngine;
     private final UserRepository userRepository;
     private final UserNewsInteractionRepository interactionRepository;
     private final UserPreferenceProfileRepository preferenceRepository;
+    private final ItemCooccurrenceModel itemCooccurrenceModel;
+    private final RecommendationCache recommendationCache;
+    private final DiversityReranker diversityReranker;
+    private final EmbeddingScorer embeddingScorer;
+    private final PreferenceAccumulator preferenceAccumulator;
+    private final SeenArticleFilter seenArticleFilter;
+    private final ColdStartPools coldStartPools;
+    private final MeterRegistry meterRegistry;
+    
+    // 추천 소스별 병렬 실행용 가상 스레드 실행기
+    private final ExecutorService recommenderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    @Value("${jibmusil.recommendation.candidate-pool-size:100}")
+    private int candidatePoolSize;
+    
+    @Value("${jibmusil.recommendation.sources.preference.timeout:PT0.15S}")
+    private Duration preferenceTimeout;
+    
+    @Value("${jibmusil.recommendation.sources.collaborative.timeout:PT0.2S}")
+    private Duration collaborativeTimeout;
+    
+    @Value("${jibmusil.recommendation.sources.content.timeout:PT0.15S}")
+    private Duration contentTimeout;
+    
+    @Value("${jibmusil.recommendation.als.weight:0.3}")
+    private float alsWeight;
+    
+    @PreDestroy
+    void shutdownExecutor() {
+        recommenderExecutor.shutdownNow();
+    }
     
-    @Cacheable(value = "recommendations", key = "#userId + ':' + #limit")
     public List<NewsArticle> getPersonalizedRecommendations(Long userId, int limit) {
+        // 사용자 단위로 캐시된 후보 풀에서 limit만큼 잘라 반환
+        ScoredCandidates cached = recommendationCache.get(userId, limit);
+        if (cached != null) {
+            return findArticlesInOrder(cached.topArticleIds(limit));
+        }
+        
         log.info("Generating personalized recommendations for user {}", userId);
         
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
-            log.warn("User {} not found, returning trending news", userId);
-            return newsRepository.findTrendingNews(limit);
+            log.warn("User {} not found, returning cold-start pool", userId);
+            return coldStart(null, limit);
+        }
+        
+        // 상호작용도 선호도 프로필도 없으면 세 소스를 돌리지 않고 미리 계산된 콜드 스타트 풀로 응답
+        if (isColdStart(userId)) {
+            return coldStart(userOpt.get(), limit);
         }
         
-        User user = userOpt.get();
+        List<RecommendationScore> candidates = generateCandidates(userOpt.get(), Math.max(limit, candidatePoolSize));
+        recommendationCache.put(userId, toScoredCandidates(candidates, Math.max(limit, candidatePoolSize)));
+        
+        return candidates.stream()
+                .limit(limit)
+                .map(RecommendationScore::getArticle)
+                .collect(Collectors.toList());
+    }
+    
+    private List<RecommendationScore> generateCandidates(User user, int limit) {
+        long startNanos = System.nanoTime();
         
+        // 세 추천 소스를 동시에 시작하고 각자의 마감 시간까지만 기다린다
         // 1. 사용자 선호도 프로필 기반 추천
-        List<NewsArticle> preferenceBasedNews = getPreferenceBasedRecommendations(user, limit);
+        Future<List<NewsArticle>> preferenceFuture = submitSource("preference",
+                () -> getPreferenceBasedRecommendations(user, limit));
         
         // 2. 유사한 사용자 기반 협업 필터링
-        List<NewsArticle> collaborativeNews = getCollaborativeFilteringRecommendations(user, limit);
+        Future<List<NewsArticle>> collaborativeFuture = submitSource("collaborative",
+                () -> getCollaborativeFilteringRecommendations(user, limit));
         
         // 3. 콘텐츠 기반 필터링
-        List<NewsArticle> contentBasedNews = getContentBasedRecommendations(user, limit);
+        Future<List<NewsArticle>> contentFuture = submitSource("content",
+                () -> getContentBasedRecommendations(user, limit));
         
-        // 4. 하이브리드 추천 (가중치 조합)
-        return combineRecommendations(preferenceBasedNews, collaborativeNews, contentBasedNews, limit);
+        List<NewsArticle> preferenceBasedNews = awaitSource("preference", preferenceFuture, startNanos, preferenceTimeout);
+        List<NewsArticle> collaborativeNews = awaitSource("collaborative", collaborativeFuture, startNanos, collaborativeTimeout);
+        List<NewsArticle> contentBasedNews = awaitSource("content", contentFuture, startNanos, contentTimeout);
+        
+        // 4. 하이브리드 추천 (가중치 조합), 재정렬 여유분으로 limit의 2배까지 유지
+        List<RecommendationScore> combined = combineRecommendations(preferenceBasedNews, collaborativeNews, contentBasedNews, limit * 2);
+        
+        // 5. 마감을 놓친 소스가 있어 부족하면 트렌딩으로 채움
+        List<RecommendationScore> filled = fillWithTrending(combined, limit);
+        
+        // 6. 카테고리/출처/내용이 한쪽으로 쏠리지 않도록 MMR 재정렬
+        return diversify(user, filled, limit);
     }
     
-    private List<NewsArticle> getPreferenceBasedRecommendations(User user, int limit) {
+    private List<RecommendationScore> diversify(User user, List<RecommendationScore> candidates, int limit) {
+        List<NewsArticle> articles = new ArrayList<>(candidates.size());
+        float[] relevance = new float[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            articles.add(candidates.get(i).getArticle());
+            relevance[i] = (float) candidates.get(i).getScore();
+        }
+        
+        // ALS 임베딩이 있는 사용자는 내적 점수를 관련도에 더함
+        if (alsWeight > 0f && embeddingScorer.hasUser(user.getId())) {
+            long[] articleIds = new long[articles.size()];
+            for (int i = 0; i < articleIds.length; i++) {
+                articleIds[i] = articles.get(i).getId();
+            }
+            float[] alsScores = embeddingScorer.score(user.getId(), articleIds);
+            for (int i = 0; i < relevance.length; i++) {
+                relevance[i] += alsWeight * Math.max(0f, alsScores[i]);
+            }
+        }
+        
+        DiversityReranker.Result result = diversityReranker.rerank(articles, relevance, limit);
+        List<RecommendationScore> reranked = new ArrayList<>(result.order().length);
+        for (int i = 0; i < result.order().length; i++) {
+            reranked.add(new RecommendationScore(articles.get(result.order()[i]), result.scores()[i]));
+        }
+        return reranked;
+    }
+    
+    private ScoredCandidates toScoredCandidates(List<RecommendationScore> candidates, int poolSize) {
+        long[] articleIds = new long[candidates.size()];
+        long[] categoryIds = new long[candidates.size()];
+        float[] scores = new float[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            NewsArticle article = candidates.get(i).getArticle();
+            articleIds[i] = article.getId();
+            categoryIds[i] = article.getCategoryId() != null ? article.getCategoryId() : ScoredCandidates.NO_CATEGORY;
+            scores[i] = (float) candidates.get(i).getScore();
+        }
+        return new ScoredCandidates(articleIds, categoryIds, scores, poolSize);
+    }
+    
+    private Future<List<NewsArticle>> submitSource(String source, Supplier<List<NewsArticle>> recommender) {
+        Timer timer = meterRegistry.timer("recommendation.source.latency", "source", source);
+        return recommenderExecutor.submit(() -> timer.record(recommender));
+    }
+    
+    private List<NewsArticle> awaitSource(String source, Future<List<NewsArticle>> future, long startNanos, Duration budget) {
+        long remainingNanos = budget.toNanos() - (System.nanoTime() - startNanos);
+        try {
+            return future.get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            sourceCounter("recommendation.source.timeouts", source).increment();
+            log.warn("Recommendation source {} missed its {} ms budget", source, budget.toMillis());
+        } catch (ExecutionException e) {
+            sourceCounter("recommendation.source.errors", source).increment();
+            log.error("Recommendation source {} failed", source, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return List.of();
+    }
+    
+    private Counter sourceCounter(String name, String source) {
+        return meterRegistry.counter(name, "source", source);
+    }
+    
+    private List<RecommendationScore> fillWithTrending(List<RecommendationScore> recommendations, int limit) {
+        if (recommendations.size() >= limit) {
+            return recommendations;
+        }
+        
+        Set<Long> includedIds = recommendations.stream()
+                .map(score -> score.getArticle().getId())
+                .collect(Collectors.toSet());
+        List<RecommendationScore> filled = new ArrayList<>(recommendations);
+        for (NewsArticle article : trendingEngine.getTrending(limit * 2)) {
+            if (filled.size() >= limit) {
+                break;
+            }
+            if (includedIds.add(article.getId())) {
+                filled.add(new RecommendationScore(article, 0.0));
+            }
+        }
+        return filled;
+    }
+    
+    // 메모리 신호(아이템 모델 이력, ALS 임베딩)를 먼저 보고, 둘 다 없을 때만 존재 여부를 한 번 조회
+    private boolean isColdStart(long userId) {
+        return !itemCooccurrenceModel.hasHistory(userId)
+                && !embeddingScorer.hasUser(userId)
+                && !preferenceRepository.existsByUserId(userId);
+    }
+    
+    private List<NewsArticle> coldStart(User user, int limit) {
+        // 첫 갱신 전에는 트렌딩으로 대체
+        return coldStartPools.isReady() ? coldStartPools.recommend(user, limit) : trendingEngine.getTrending(limit);
+    }
+    
+    // 개별 추천 소스는 오프라인 리플레이(src/replay)에서 단독 평가할 수 있도록 패키지 범위로 공개
+    List<NewsArticle> getPreferenceBasedRecommendations(User user, int limit) {
         List<UserPreferenceProfile> preferences = preferenceRepository.findByUserIdOrderByPreferenceScoreDesc(user.getId());
         
         if (preferences.isEmpty()) {
-            return newsRepository.findTrendingNews(limit);
+            return coldStart(user, limit);
         }
         
-        List<NewsArticle> recommendations = new ArrayList<>();
+        LongFloatHashMap categoryPreference = new LongFloatHashMap(preferences.size());
+        Map<Long, NewsArticle> pool = new LinkedHashMap<>();
         
         for (UserPreferenceProfile preference : preferences) {
             if (preference.isHighPreference()) {
-                int categoryLimit = Math.max(1, (int) (limit * preference.getPreferenceScore().doubleValue()));
+                float score = preference.preferenceValue();
+                categoryPreference.put(preference.getCategoryId(), score);
+                int categoryLimit = Math.max(1, (int) (limit * score));
                 List<NewsArticle> categoryNews = newsRepository.findByCategoryIdOrderByPopularityAndDate(
                     preference.getCategoryId(), 
                     PageRequest.of(0, categoryLimit)
                 );
-                recommendations.addAll(categoryNews);
+                categoryNews.forEach(article -> pool.putIfAbsent(article.getId(), article));
             }
         }
         
-        return recommendations.stream()
-                .distinct()
-                .limit(limit)
-                .collect(Collectors.toList());
+        // 선호도 × 기사 품질 prior를 primitive 커널로 계산해 상위 limit개 선택
+        List<NewsArticle> candidates = new ArrayList<>(pool.values());
+        float[] scores = new float[candidates.size()];
+        ScoringKernel.score(ScoringKernel.Features.of(candidates), categoryPreference, scores);
+        int[] top = ScoringKernel.topK(scores, scores.length, limit);
+        
+        List<NewsArticle> recommendations = new ArrayList<>(top.length);
+        for (int index : top) {
+            recommendations.add(candidates.get(index));
+        }
+        return recommendations;
     }
     
-    private List<NewsArticle> getCollaborativeFilteringRecommendations(User user, int limit) {
-        // 유사한 사용자 찾기
+    List<NewsArticle> getCollaborativeFilteringRecommendations(User user, int limit) {
+        // 아이템 기반: 함께 읽힌 기사 (메모리 모델, DB 조회 없음)
+        LongPredicate seen = seenArticleFilter.forUser(user.getId());
+        long[] itemBasedIds = itemCooccurrenceModel.recommendForUser(user.getId(), limit, seen);
+        if (itemBasedIds.length > 0) {
+            return findArticlesInOrder(itemBasedIds);
+        }
+        
+        // 아이템 모델에 이력이 없으면 사용자 기반으로 대체
         List<User> similarUsers = findSimilarUsers(user, 10);
         
         if (similarUsers.isEmpty()) {
             return new ArrayList<>();
         }
         
-        Set<Long> userInteractedArticles = getUserInteractedArticleIds(user.getId());
         List<NewsArticle> recommendations = new ArrayList<>();
         
         for (User similarUser : similarUsers) {
@@ -102,7 +296,7 @@ public class RecommendationEngine {
                     .findPositiveInteractionsByUserId(similarUser.getId(), PageRequest.of(0, 20));
             
             for (UserNewsInteraction interaction : interactions) {
-                if (!userInteractedArticles.contains(interaction.getNewsArticleId())) {
+                if (!seen.test(interaction.getNewsArticleId())) {
                     newsRepository.findById(interaction.getNewsArticleId())
                             .ifPresent(recommendations::add);
                 }
@@ -115,7 +309,21 @@ public class RecommendationEngine {
                 .collect(Collectors.toList());
     }
     
-    private List<NewsArticle> getContentBasedRecommendations(User user, int limit) {
+    public List<NewsArticle> getSimilarArticles(Long articleId, int limit) {
+        return findArticlesInOrder(itemCooccurrenceModel.similarArticles(articleId, limit));
+    }
+    
+    private List<NewsArticle> findArticlesInOrder(long[] articleIds) {
+        List<Long> ids = Arrays.stream(articleIds).boxed().collect(Collectors.toList());
+        Map<Long, NewsArticle> articlesById = newsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(NewsArticle::getId, article -> article));
+        return ids.stream()
+                .map(articlesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    List<NewsArticle> getContentBasedRecommendations(User user, int limit) {
         // 사용자가 최근에 상호작용한 뉴스의 키워드와 유사한 뉴스 찾기
         List<UserNewsInteraction> recentInteractions = interactionRepository
                 .findRecentPositiveInteractionsByUserId(user.getId(), LocalDateTime.now().minusDays(7), PageRequest.of(0, 10));
@@ -156,7 +364,7 @@ public class RecommendationEngine {
                 .collect(Collectors.toList());
     }
     
-    private List<NewsArticle> combineRecommendations(
+    private List<RecommendationScore> combineRecommendations(
             List<NewsArticle> preferenceBasedNews,
             List<NewsArticle> collaborativeNews,
             List<NewsArticle> contentBasedNews,
@@ -174,10 +382,9 @@ public class RecommendationEngine {
         addToScoreMap(scoreMap, contentBasedNews, 0.2);
         
         // 점수순으로 정렬하여 반환
-        return scoreMap.entrySet().stream()
-                .sorted(Map.Entry.<Long, RecommendationScore>comparingByValue().reversed())
+        return scoreMap.values().stream()
+                .sorted(Comparator.reverseOrder())
                 .limit(limit)
-                .map(entry -> entry.getValue().getArticle())
                 .collect(Collectors.toList());
     }
     
@@ -198,30 +405,19 @@ public class RecommendationEngine {
     
     private List<User> findSimilarUsers(User user, int limit) {
         // 사용자 간 코사인 유사도 계산
-        List<UserPreferenceProfile> userPreferences = preferenceRepository.findByUserId(user.getId());
-        if (userPreferences.isEmpty()) {
+        LongFloatHashMap userVector = toPreferenceVector(preferenceRepository.findByUserId(user.getId()));
+        if (userVector.isEmpty()) {
             return new ArrayList<>();
         }
         
-        Map<Long, Double> userVector = userPreferences.stream()
-                .collect(Collectors.toMap(
-                    UserPreferenceProfile::getCategoryId,
-                    pref -> pref.getPreferenceScore().doubleValue()
-                ));
-        
         List<User> allUsers = userRepository.findAllActiveUsersExcept(user.getId());
         List<UserSimilarity> similarities = new ArrayList<>();
         
         for (User otherUser : allUsers) {
-            List<UserPreferenceProfile> otherPreferences = preferenceRepository.findByUserId(otherUser.getId());
-            Map<Long, Double> otherVector = otherPreferences.stream()
-                    .collect(Collectors.toMap(
-                        UserPreferenceProfile::getCategoryId,
-                        pref -> pref.getPreferenceScore().doubleValue()
-                    ));
+            LongFloatHashMap otherVector = toPreferenceVector(preferenceRepository.findByUserId(otherUser.getId()));
             
-            double similarity = calculateCosineSimilarity(userVector, otherVector);
-            if (similarity > 0.1) { // 최소 유사도 임계값
+            float similarity = calculateCosineSimilarity(userVector, otherVector);
+            if (similarity > 0.1f) { // 최소 유사도 임계값
                 similarities.add(new UserSimilarity(otherUser, similarity));
             }
         }
@@ -233,90 +429,71 @@ public class RecommendationEngine {
                 .collect(Collectors.toList());
     }
     
-    private double calculateCosineSimilarity(Map<Long, Double> vector1, Map<Long, Double> vector2) {
-        Set<Long> commonKeys = new HashSet<>(vector1.keySet());
-        commonKeys.retainAll(vector2.keySet());
-        
-        if (commonKeys.isEmpty()) {
-            return 0.0;
-        }
-        
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-        
-        for (Long key : commonKeys) {
-            double val1 = vector1.get(key);
-            double val2 = vector2.get(key);
-            
-            dotProduct += val1 * val2;
-            norm1 += val1 * val1;
-            norm2 += val2 * val2;
+    private static LongFloatHashMap toPreferenceVector(List<UserPreferenceProfile> preferences) {
+        LongFloatHashMap vector = new LongFloatHashMap(preferences.size());
+        for (UserPreferenceProfile preference : preferences) {
+            vector.put(preference.getCategoryId(), preference.preferenceValue());
         }
+        return vector;
+    }
+    
+    private static float calculateCosineSimilarity(LongFloatHashMap vector1, LongFloatHashMap vector2) {
+        // 공통 카테고리에 대해서만 내적과 노름 계산 (기존 동작 유지)
+        float[] sums = new float[3]; // dot, norm1, norm2
+        vector1.forEach((categoryId, val1) -> {
+            if (vector2.containsKey(categoryId)) {
+                float val2 = vector2.get(categoryId, 0f);
+                sums[0] += val1 * val2;
+                sums[1] += val1 * val1;
+                sums[2] += val2 * val2;
+            }
+        });
         
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
+        if (sums[1] == 0f || sums[2] == 0f) {
+            return 0f;
         }
         
-        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+        return sums[0] / (float) (Math.sqrt(sums[1]) * Math.sqrt(sums[2]));
     }
     
-    private Set<Long> getUserInteractedArticleIds(Long userId) {
-        return interactionRepository.findByUserId(userId).stream()
-                .map(UserNewsInteraction::getNewsArticleId)
-                .collect(Collectors.toSet());
+    /**
+     * 상호작용을 카테고리 선호도 변화량으로 바꿔 누적기에 더한다. DB 반영은 누적기의 주기적 배치 flush에서 이루어진다.
+     */
+    public void updateUserPreferences(Long userId, Long articleId, UserNewsInteraction.InteractionType interactionType) {
+        Optional<Long> categoryId = newsRepository.findCategoryIdById(articleId);
+        if (categoryId.isEmpty()) {
+            log.debug("Article {} has no category for preference update", articleId);
+            return;
+        }
+        preferenceAccumulator.add(userId, categoryId.get(), getPreferenceAdjustment(interactionType));
     }
     
-    @Async
-    @Transactional
-    public CompletableFuture<Void> updateUserPreferences(Long userId, Long articleId, UserNewsInteraction.InteractionType interactionType) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                Optional<NewsArticle> articleOpt = newsRepository.findById(articleId);
-                if (articleOpt.isEmpty()) {
-                    log.warn("Article {} not found for preference update", articleId);
-                    return;
-                }
-                
-                NewsArticle article = articleOpt.get();
-                Long categoryId = article.getCategoryId();
-                
-                if (categoryId == null) {
-                    log.warn("Article {} has no category for preference update", articleId);
-                    return;
-                }
-                
-                UserPreferenceProfile preference = preferenceRepository
-                        .findByUserIdAndCategoryId(userId, categoryId)
-                        .orElseGet(() -> UserPreferenceProfile.of(userId, categoryId));
-                
-                // 상호작용 타입에 따른 선호도 점수 조정
-                BigDecimal adjustment = getPreferenceAdjustment(interactionType);
-                
-                if (adjustment.compareTo(BigDecimal.ZERO) > 0) {
-                    preference.increasePreference(adjustment);
-                } else {
-                    preference.decreasePreference(adjustment.abs());
-                }
-                
-                preferenceRepository.save(preference);
-                log.debug("Updated preference for user {} category {} with adjustment {}", 
-                         userId, categoryId, adjustment);
-                
-            } catch (Exception e) {
-                log.error("Error updating user preferences for user {} article {}", userId, articleId, e);
+    /**
+     * 한 사용자의 여러 상호작용을 카테고리별로 합산해 누적기에 더한다. 카테고리 조회는 한 번의 쿼리로 끝난다.
+     */
+    public void updateUserPreferences(Long userId, Map<Long, List<UserNewsInteraction.InteractionType>> interactionsByArticle) {
+        if (interactionsByArticle.isEmpty()) {
+            return;
+        }
+        LongFloatHashMap deltaByCategory = new LongFloatHashMap();
+        for (Object[] row : newsRepository.findCategoryIdsByIds(interactionsByArticle.keySet())) {
+            float delta = 0f;
+            for (UserNewsInteraction.InteractionType interactionType : interactionsByArticle.get((Long) row[0])) {
+                delta += getPreferenceAdjustment(interactionType);
             }
-        });
+            deltaByCategory.addTo((Long) row[1], delta);
+        }
+        deltaByCategory.forEach((categoryId, delta) -> preferenceAccumulator.add(userId, categoryId, delta));
     }
     
-    private BigDecimal getPreferenceAdjustment(UserNewsInteraction.InteractionType interactionType) {
+    private float getPreferenceAdjustment(UserNewsInteraction.InteractionType interactionType) {
         return switch (interactionType) {
-            case VIEW -> new BigDecimal("0.01");
-            case CLICK -> new BigDecimal("0.05");
-            case LIKE -> new BigDecimal("0.10");
-            case SHARE -> new BigDecimal("0.15");
-            case SAVE -> new BigDecimal("0.20");
-            case DISLIKE -> new BigDecimal("-0.10");
+            case VIEW -> 0.01f;
+            case CLICK -> 0.05f;
+            case LIKE -> 0.10f;
+            case SHARE -> 0.15f;
+            case SAVE -> 0.20f;
+            case DISLIKE -> -0.10f;
         };
     }
     
@@ -341,14 +518,14 @@ public class RecommendationEngine {
     
     private static class UserSimilarity {
         private final User user;
-        private final double similarity;
+        private final float similarity;
         
-        public UserSimilarity(User user, double similarity) {
+        public UserSimilarity(User user, float similarity) {
             this.user = user;
             this.similarity = similarity;
         }
         
         public User getUser() { return user; }
-        public double getSimilarity() { return similarity; }
+        public float getSimilarity() { return similarity; }
     }
 }
\ No newline at end of file
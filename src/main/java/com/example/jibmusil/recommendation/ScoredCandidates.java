@@ -0,0 +1,74 @@
+package com.example.jibmusil.recommendation;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 사용자별 추천 후보 목록 (점수 내림차순).
+ * 어떤 limit 요청에도 재사용할 수 있도록 limit보다 큰 후보 풀을 캐시에 보관한다.
+ */
+public record ScoredCandidates(
+        long[] articleIds,
+        long[] categoryIds,
+        float[] scores,
+        int poolSize
+) implements Serializable {
+
+    // 카테고리 ID가 없는 기사 표시
+    public static final long NO_CATEGORY = -1L;
+
+    public int size() {
+        return articleIds.length;
+    }
+
+    // 보정(withInteraction)으로 줄어든 뒤에도 limit개를 채울 수 있어야 한다
+    public boolean canServe(int limit) {
+        return articleIds.length >= limit;
+    }
+
+    public long[] topArticleIds(int limit) {
+        return Arrays.copyOf(articleIds, Math.min(limit, articleIds.length));
+    }
+
+    public long categoryOf(long articleId) {
+        int index = indexOf(articleId);
+        return index >= 0 ? categoryIds[index] : NO_CATEGORY;
+    }
+
+    /**
+     * 상호작용한 기사를 제거하고 같은 카테고리 후보의 점수에 factor를 곱해 재정렬한 새 목록을 반환한다.
+     */
+    public ScoredCandidates withInteraction(long articleId, long categoryId, float factor) {
+        int removed = indexOf(articleId);
+        int n = articleIds.length - (removed >= 0 ? 1 : 0);
+
+        Integer[] order = new Integer[n];
+        float[] adjusted = new float[articleIds.length];
+        for (int i = 0, j = 0; i < articleIds.length; i++) {
+            adjusted[i] = categoryId != NO_CATEGORY && categoryIds[i] == categoryId ? scores[i] * factor : scores[i];
+            if (i != removed) {
+                order[j++] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(adjusted[b], adjusted[a]));
+
+        long[] newIds = new long[n];
+        long[] newCategories = new long[n];
+        float[] newScores = new float[n];
+        for (int i = 0; i < n; i++) {
+            newIds[i] = articleIds[order[i]];
+            newCategories[i] = categoryIds[order[i]];
+            newScores[i] = adjusted[order[i]];
+        }
+        return new ScoredCandidates(newIds, newCategories, newScores, poolSize);
+    }
+
+    private int indexOf(long articleId) {
+        for (int i = 0; i < articleIds.length; i++) {
+            if (articleIds[i] == articleId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
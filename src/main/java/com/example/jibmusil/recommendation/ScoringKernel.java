@@ -0,0 +1,131 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.util.LongFloatHashMap;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 랭킹용 primitive 점수 커널.
+ * 엔티티의 BigDecimal 컬럼(인기도, 팩트체크)은 후보마다 한 번만 float 배열로 펼치고,
+ * 이후 점수 계산과 상위 K 선택은 객체 할당 없이 배열 위에서 수행한다.
+ */
+public final class ScoringKernel {
+
+    // 카테고리 선호도에 곱하는 기사 품질 prior 가중치 (합 = 1)
+    static final float BASE_WEIGHT = 0.7f;
+    static final float POPULARITY_WEIGHT = 0.2f;
+    static final float FACT_CHECK_WEIGHT = 0.1f;
+    static final float NEUTRAL_FACT_CHECK = 0.5f;
+
+    private ScoringKernel() {
+    }
+
+    public static float value(BigDecimal column, float defaultValue) {
+        return column != null ? column.floatValue() : defaultValue;
+    }
+
+    /**
+     * relevance = 카테고리 선호도 × (0.7 + 0.2 × 로그 정규화 인기도 + 0.1 × 팩트체크).
+     * 선호 카테고리가 아닌 후보는 0점.
+     */
+    public static void score(Features features, LongFloatHashMap categoryPreference, float[] out) {
+        float popularityScale = features.maxPopularityLog() > 0f ? 1f / features.maxPopularityLog() : 0f;
+        long[] categoryIds = features.categoryIds();
+        float[] popularityLog = features.popularityLog();
+        float[] factCheck = features.factCheck();
+        for (int i = 0; i < categoryIds.length; i++) {
+            float preference = categoryPreference.get(categoryIds[i], 0f);
+            out[i] = preference * (BASE_WEIGHT
+                    + POPULARITY_WEIGHT * popularityLog[i] * popularityScale
+                    + FACT_CHECK_WEIGHT * factCheck[i]);
+        }
+    }
+
+    /**
+     * 점수 상위 k개의 인덱스를 점수 내림차순으로 반환한다. 크기 k의 최소 힙으로 O(n log k).
+     */
+    public static int[] topK(float[] scores, int n, int k) {
+        int size = Math.min(k, n);
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int i = 0; i < n; i++) {
+            if (filled < size) {
+                heap[filled] = i;
+                siftUp(heap, filled++, scores);
+            } else if (size > 0 && scores[i] > scores[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        // 힙에서 최솟값을 뒤에서부터 채워 내림차순으로 정렬
+        int[] ordered = new int[size];
+        for (int last = size - 1; last >= 0; last--) {
+            ordered[last] = heap[0];
+            heap[0] = heap[last];
+            siftDown(heap, last, scores);
+        }
+        return ordered;
+    }
+
+    private static void siftUp(int[] heap, int pos, float[] scores) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[item]) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int item = heap[0];
+        int pos = 0;
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[item] <= scores[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+
+    /**
+     * 후보 기사의 점수 입력을 열 단위 primitive 배열로 펼친 것.
+     */
+    public record Features(long[] categoryIds, float[] popularityLog, float[] factCheck, float maxPopularityLog) {
+
+        public static Features of(List<NewsArticle> articles) {
+            int n = articles.size();
+            long[] categoryIds = new long[n];
+            float[] popularityLog = new float[n];
+            float[] factCheck = new float[n];
+            float maxPopularityLog = 0f;
+            for (int i = 0; i < n; i++) {
+                NewsArticle article = articles.get(i);
+                categoryIds[i] = article.getCategoryId() != null ? article.getCategoryId() : -1L;
+                popularityLog[i] = (float) Math.log1p(Math.max(0f, value(article.getPopularityScore(), 0f)));
+                factCheck[i] = value(article.getFactCheckScore(), NEUTRAL_FACT_CHECK);
+                maxPopularityLog = Math.max(maxPopularityLog, popularityLog[i]);
+            }
+            return new Features(categoryIds, popularityLog, factCheck, maxPopularityLog);
+        }
+
+        public int size() {
+            return categoryIds.length;
+        }
+    }
+}
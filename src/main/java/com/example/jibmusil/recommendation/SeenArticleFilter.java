@@ -0,0 +1,78 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.user.UserNewsInteractionRepository;
+import com.example.jibmusil.util.ScalableBloomFilter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * 사용자별로 이미 본 기사를 확장형 블룸 필터로 기억해 추천 후보에서 제외한다.
+ * 필터는 사용자당 처음 한 번만 기사 ID 프로젝션으로 만들고 이후에는 상호작용 기록 시 갱신하므로,
+ * 추천 요청마다 상호작용 엔티티를 읽지 않는다.
+ * 로컬 캐시라 다른 인스턴스에 기록된 상호작용은 만료 후 재구성될 때 반영된다.
+ */
+@Slf4j
+@Component
+public class SeenArticleFilter {
+
+    private final UserNewsInteractionRepository interactionRepository;
+    private final double falsePositiveRate;
+    private final LoadingCache<Long, ScalableBloomFilter> filters;
+
+    public SeenArticleFilter(
+            UserNewsInteractionRepository interactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jibmusil.recommendation.seen-filter.max-users:100000}") long maxUsers,
+            @Value("${jibmusil.recommendation.seen-filter.expire-after-access:PT30M}") Duration expireAfterAccess,
+            @Value("${jibmusil.recommendation.seen-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.interactionRepository = interactionRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, filters, "seenArticles");
+    }
+
+    /**
+     * 사용자가 본 기사면 true (오탐률만큼 보지 않은 기사도 true가 될 수 있음).
+     */
+    public LongPredicate forUser(long userId) {
+        ScalableBloomFilter filter = filters.get(userId);
+        return filter::mightContain;
+    }
+
+    public void record(long userId, long articleId) {
+        // 로드 중인 필터가 있으면 로드가 끝난 뒤 반영되고, 없으면 다음 로드 때 DB에서 읽힌다
+        filters.asMap().computeIfPresent(userId, (id, filter) -> {
+            filter.add(articleId);
+            return filter;
+        });
+    }
+
+    public void invalidate(long userId) {
+        filters.invalidate(userId);
+    }
+
+    private ScalableBloomFilter load(Long userId) {
+        List<Long> articleIds = interactionRepository.findDistinctArticleIdsByUserId(userId);
+        // 이후 기록분을 고려해 여유 있게 시작하고, 넘치면 필터가 스스로 단계를 늘린다
+        ScalableBloomFilter filter = new ScalableBloomFilter(articleIds.size() * 2, falsePositiveRate);
+        for (Long articleId : articleIds) {
+            filter.add(articleId);
+        }
+        log.debug("Built seen-article filter for user {} with {} articles ({} bytes)",
+                  userId, articleIds.size(), filter.sizeInBytes());
+        return filter;
+    }
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @Table(name = "user_news_interactions", indexes = {
     @Index(name = "idx_user_interaction", columnList = "userId,interactionType"),
     @Index(name = "idx_article_interaction", columnList = "newsArticleId,interactionType"),
-    @Index(name = "idx_interaction_time", columnList = "interactionTime")
+    @Index(name = "idx_interaction_time", columnList = "interactionTime"),
+    @Index(name = "idx_user_time", columnList = "userId,interactionTime")
 })
 public class UserNewsInteraction {
     
@@ -44,13 +45,15 @@ public class UserNewsInteraction {
     @Builder.Default
     private Integer readingTimeSeconds = 0;
     
-    // 관계 매핑
+    // 관계 매핑 (파티션 테이블은 외래 키를 가질 수 없어 제약은 만들지 않는다)
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "news_article_id", insertable = false, updatable = false)
+    @JoinColumn(name = "news_article_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private NewsArticle newsArticle;
     
     public enum InteractionType {
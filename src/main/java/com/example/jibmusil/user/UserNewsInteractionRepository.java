@@ -14,6 +14,9 @@ public interface UserNewsInteractionRepository extends JpaRepository<UserNewsInt
     
     List<UserNewsInteraction> findByUserId(Long userId);
     
+    @Query("SELECT DISTINCT ui.newsArticleId FROM UserNewsInteraction ui WHERE ui.userId = :userId")
+    List<Long> findDistinctArticleIdsByUserId(@Param("userId") Long userId);
+    
     List<UserNewsInteraction> findByUserIdAndInteractionType(Long userId, UserNewsInteraction.InteractionType interactionType);
     
     List<UserNewsInteraction> findByNewsArticleId(Long newsArticleId);
@@ -24,6 +27,9 @@ public interface UserNewsInteractionRepository extends JpaRepository<UserNewsInt
     @Query("SELECT ui FROM UserNewsInteraction ui WHERE ui.userId = :userId AND ui.interactionType IN ('LIKE', 'SHARE', 'SAVE') AND ui.interactionTime >= :fromDate ORDER BY ui.interactionTime DESC")
     List<UserNewsInteraction> findRecentPositiveInteractionsByUserId(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate, Pageable pageable);
     
+    @Query("SELECT ui FROM UserNewsInteraction ui WHERE ui.interactionType IN ('LIKE', 'SHARE', 'SAVE') AND ui.interactionTime >= :fromDate ORDER BY ui.interactionTime ASC, ui.id ASC")
+    List<UserNewsInteraction> findPositiveInteractionsSince(@Param("fromDate") LocalDateTime fromDate, Pageable pageable);
+    
     @Query("SELECT ui FROM UserNewsInteraction ui WHERE ui.userId = :userId ORDER BY ui.interactionTime DESC")
     List<UserNewsInteraction> findByUserIdOrderByInteractionTimeDesc(@Param("userId") Long userId, Pageable pageable);
     
@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Data
@@ -47,27 +48,34 @@ public class UserPreferenceProfile {
     @JoinColumn(name = "category_id", insertable = false, updatable = false)
     private NewsCategory category;
     
+    // 선호도 판단 기준 (랭킹 경로에서는 float로 비교, BigDecimal은 컬럼 값에만 사용)
+    public static final float HIGH_PREFERENCE_THRESHOLD = 0.7f;
+    public static final float LOW_PREFERENCE_THRESHOLD = 0.3f;
+    
     // 비즈니스 메소드
-    public void increasePreference(BigDecimal amount) {
-        this.preferenceScore = this.preferenceScore.add(amount);
-        if (this.preferenceScore.compareTo(BigDecimal.ONE) > 0) {
-            this.preferenceScore = BigDecimal.ONE;
-        }
+    public float preferenceValue() {
+        return preferenceScore != null ? preferenceScore.floatValue() : 0.5f;
+    }
+    
+    public void increasePreference(float amount) {
+        setPreferenceValue(preferenceValue() + amount);
     }
     
-    public void decreasePreference(BigDecimal amount) {
-        this.preferenceScore = this.preferenceScore.subtract(amount);
-        if (this.preferenceScore.compareTo(BigDecimal.ZERO) < 0) {
-            this.preferenceScore = BigDecimal.ZERO;
-        }
+    public void decreasePreference(float amount) {
+        setPreferenceValue(preferenceValue() - amount);
     }
     
     public boolean isHighPreference() {
-        return preferenceScore.compareTo(new BigDecimal("0.7")) >= 0;
+        return preferenceValue() >= HIGH_PREFERENCE_THRESHOLD;
     }
     
     public boolean isLowPreference() {
-        return preferenceScore.compareTo(new BigDecimal("0.3")) <= 0;
+        return preferenceValue() <= LOW_PREFERENCE_THRESHOLD;
+    }
+    
+    private void setPreferenceValue(float value) {
+        float clamped = Math.max(0f, Math.min(1f, value));
+        this.preferenceScore = BigDecimal.valueOf(clamped).setScale(4, RoundingMode.HALF_UP);
     }
     
     // 팩토리 메소드
@@ -36,5 +36,7 @@ public interface UserPreferenceProfileRepository extends JpaRepository<UserPrefe
     
     boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
     
+    boolean existsByUserId(Long userId);
+    
     void deleteByUserIdAndCategoryId(Long userId, Long categoryId);
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.example.jibmusil.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * 본문 내용의 128비트 MurmurHash3(x64_128, seed 0) 지문. 같은 텍스트는 항상 같은 값이 되어
+ * 저장 위치를 가리키는 키(claim check)로 쓰고, 받은 쪽에서 다시 계산해 무결성을 확인할 수 있다.
+ * 암호학적 해시가 아니므로 악의적인 충돌에는 대비하지 않는다.
+ */
+public record ContentHash(long high, long low) {
+
+    public static final int BYTES = 16;
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final HexFormat HEX = HexFormat.of();
+
+    public static ContentHash of(String text) {
+        return of(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ContentHash of(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = buffer.getLong(i * 16);
+            long k2 = buffer.getLong(i * 16 + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        // 16바이트 미만 꼬리: 9번째 바이트부터는 k2, 그 앞은 k1에 little-endian으로 채운다
+        int tail = blocks * 16;
+        int remaining = data.length & 15;
+        if (remaining > 8) {
+            long k2 = 0;
+            for (int i = remaining - 1; i >= 8; i--) {
+                k2 = k2 << 8 | (data[tail + i] & 0xff);
+            }
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            long k1 = 0;
+            for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+                k1 = k1 << 8 | (data[tail + i] & 0xff);
+            }
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new ContentHash(h1, h2);
+    }
+
+    public static ContentHash fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("Content hash must be " + BYTES + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new ContentHash(buffer.getLong(), buffer.getLong());
+    }
+
+    public static ContentHash fromHex(String hex) {
+        return fromBytes(HEX.parseHex(hex));
+    }
+
+    public boolean matches(String text) {
+        return equals(of(text));
+    }
+
+    /**
+     * high, low 순서의 big-endian 16바이트 (DB BINARY(16) 키).
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(high).putLong(low).array();
+    }
+
+    public String toHex() {
+        return HEX.toHexDigits(high) + HEX.toHexDigits(low);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.jibmusil.util;
+
+import java.util.Arrays;
+
+/**
+ * long → float 오픈 어드레싱 해시맵 (선형 탐사).
+ * 박싱 없이 동작하며 동기화는 호출 측에서 책임진다.
+ */
+public class LongFloatHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private float[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    // 키 0은 빈 슬롯 표시로 쓰이므로 별도로 보관
+    private boolean hasZeroKey;
+    private float zeroValue;
+
+    public LongFloatHashMap() {
+        this(16);
+    }
+
+    public LongFloatHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return slotOf(key) >= 0;
+    }
+
+    public float get(long key, float defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(long key, float value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = findOrInsert(key);
+        values[slot] = value;
+    }
+
+    /**
+     * 값을 누적하고 누적 후 값을 반환한다. 키가 없으면 delta로 새로 생성한다.
+     */
+    public float addTo(long key, float delta) {
+        if (key == EMPTY) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = findOrInsert(key);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0f;
+            return had;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftKeysFrom(slot);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0f);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0f;
+    }
+
+    /**
+     * 모든 값에 factor를 곱한다. 시간 감쇠의 기준 시점을 옮길 때 사용한다.
+     */
+    public void scaleAll(float factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] *= factor;
+            }
+        }
+        zeroValue *= factor;
+    }
+
+    /**
+     * 값이 threshold 미만인 항목을 모두 제거하고 제거한 개수를 반환한다.
+     */
+    public int removeBelow(float threshold) {
+        int removed = 0;
+        int i = 0;
+        // 역방향 시프트 삭제 후에는 같은 슬롯을 다시 검사해야 한다
+        while (i < keys.length) {
+            if (keys[i] != EMPTY && values[i] < threshold) {
+                shiftKeysFrom(i);
+                size--;
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        if (hasZeroKey && zeroValue < threshold) {
+            hasZeroKey = false;
+            zeroValue = 0f;
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * 조건을 만족하는 항목을 모두 제거하고 제거한 개수를 반환한다.
+     */
+    public int removeIf(EntryPredicate predicate) {
+        int removed = 0;
+        int i = 0;
+        while (i < keys.length) {
+            if (keys[i] != EMPTY && predicate.test(keys[i], values[i])) {
+                shiftKeysFrom(i);
+                size--;
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        if (hasZeroKey && predicate.test(EMPTY, zeroValue)) {
+            hasZeroKey = false;
+            zeroValue = 0f;
+            removed++;
+        }
+        return removed;
+    }
+
+    public void forEach(Consumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 값들을 dest에 복사하고 복사한 개수를 반환한다. dest가 작으면 새 배열을 할당하지 않고 잘라낸다.
+     */
+    public int copyValues(float[] dest) {
+        int n = 0;
+        if (hasZeroKey && n < dest.length) {
+            dest[n++] = zeroValue;
+        }
+        for (int i = 0; i < keys.length && n < dest.length; i++) {
+            if (keys[i] != EMPTY) {
+                dest[n++] = values[i];
+            }
+        }
+        return n;
+    }
+
+    private int slotOf(long key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return -1;
+            }
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int findOrInsert(long key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return slot;
+            }
+            if (existing == EMPTY) {
+                if (size >= resizeAt) {
+                    rehash(keys.length << 1);
+                    return findOrInsert(key);
+                }
+                keys[slot] = key;
+                values[slot] = 0f;
+                size++;
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void shiftKeysFrom(int slot) {
+        int last = slot;
+        int current = (slot + 1) & mask;
+        while (true) {
+            long key = keys[current];
+            if (key == EMPTY) {
+                break;
+            }
+            int ideal = mix(key) & mask;
+            // current 위치의 키가 last 위치로 당겨질 수 있는지 확인
+            if (((current - ideal) & mask) >= ((current - last) & mask)) {
+                keys[last] = key;
+                values[last] = values[current];
+                last = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last] = EMPTY;
+        values[last] = 0f;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(long key, float value);
+    }
+
+    @FunctionalInterface
+    public interface EntryPredicate {
+        boolean test(long key, float value);
+    }
+}
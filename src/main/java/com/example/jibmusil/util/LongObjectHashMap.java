@@ -0,0 +1,226 @@
+package com.example.jibmusil.util;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * long → 객체 오픈 어드레싱 해시맵 (선형 탐사).
+ * 키를 박싱하지 않으며 동기화는 호출 측에서 책임진다. null 값은 저장하지 않는다.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    // 키 0은 빈 슬롯 표시로 쓰이므로 별도로 보관
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size + (zeroValue != null ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == EMPTY) {
+            return zeroValue;
+        }
+        int slot = slotOf(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        if (key == EMPTY) {
+            if (zeroValue == null) {
+                zeroValue = factory.apply(key);
+            }
+            return zeroValue;
+        }
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        V value = factory.apply(key);
+        // findOrInsert가 배열을 키울 수 있으므로 슬롯을 먼저 구한 뒤 새 values에 쓴다
+        int inserted = findOrInsert(key);
+        values[inserted] = value;
+        return value;
+    }
+
+    public void put(long key, V value) {
+        if (key == EMPTY) {
+            zeroValue = value;
+            return;
+        }
+        int slot = findOrInsert(key);
+        values[slot] = value;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean had = zeroValue != null;
+            zeroValue = null;
+            return had;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftKeysFrom(slot);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+        zeroValue = null;
+    }
+
+    /**
+     * 조건을 만족하는 항목을 모두 제거하고 제거한 개수를 반환한다.
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(EntryPredicate<? super V> predicate) {
+        int removed = 0;
+        int i = 0;
+        // 역방향 시프트 삭제 후에는 같은 슬롯을 다시 검사해야 한다
+        while (i < keys.length) {
+            if (keys[i] != EMPTY && predicate.test(keys[i], (V) values[i])) {
+                shiftKeysFrom(i);
+                size--;
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        if (zeroValue != null && predicate.test(EMPTY, zeroValue)) {
+            zeroValue = null;
+            removed++;
+        }
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super V> consumer) {
+        if (zeroValue != null) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    private int slotOf(long key) {
+        int slot = LongFloatHashMap.mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == EMPTY) {
+                return -1;
+            }
+            if (existing == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int findOrInsert(long key) {
+        int slot = LongFloatHashMap.mix(key) & mask;
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return slot;
+            }
+            if (existing == EMPTY) {
+                if (size >= resizeAt) {
+                    rehash(keys.length << 1);
+                    return findOrInsert(key);
+                }
+                keys[slot] = key;
+                size++;
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void shiftKeysFrom(int slot) {
+        int last = slot;
+        int current = (slot + 1) & mask;
+        while (true) {
+            long key = keys[current];
+            if (key == EMPTY) {
+                break;
+            }
+            int ideal = LongFloatHashMap.mix(key) & mask;
+            // current 위치의 키가 last 위치로 당겨질 수 있는지 확인
+            if (((current - ideal) & mask) >= ((current - last) & mask)) {
+                keys[last] = key;
+                values[last] = values[current];
+                last = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[last] = EMPTY;
+        values[last] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = LongFloatHashMap.mix(key) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    @FunctionalInterface
+    public interface Consumer<V> {
+        void accept(long key, V value);
+    }
+
+    @FunctionalInterface
+    public interface EntryPredicate<V> {
+        boolean test(long key, V value);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.jibmusil.util;
+
+import java.util.Arrays;
+
+/**
+ * long 키용 확장형 블룸 필터 (Almeida et al., "Scalable Bloom Filters").
+ * 현재 단계가 용량에 차면 두 배 크기에 더 엄격한 오탐률을 가진 단계를 추가하므로
+ * 원소 수를 미리 몰라도 전체 오탐률이 목표치 이하로 유지된다. 거짓 음성은 없다.
+ * 추가는 동기화되고 조회는 잠금 없이 수행된다 (진행 중인 추가는 보이지 않을 수 있음).
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.8;
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final double falsePositiveRate;
+    private volatile Stage[] stages;
+    private int count;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        // 단계별 오탐률의 등비급수 합이 목표치가 되도록 첫 단계를 (1 - r)배로 시작
+        this.stages = new Stage[]{new Stage(Math.max(64, initialCapacity), falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    public boolean mightContain(long key) {
+        long hash = hash(key);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void add(long key) {
+        long hash = hash(key);
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(hash)) {
+                return;
+            }
+        }
+        Stage last = current[current.length - 1];
+        if (last.size >= last.capacity) {
+            last = new Stage(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+            Stage[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = last;
+            stages = grown;
+        }
+        last.add(hash);
+        count++;
+    }
+
+    /**
+     * 추가된 서로 다른 키 수의 근사값 (오탐으로 건너뛴 키는 세지 않음).
+     */
+    public synchronized int approximateCount() {
+        return count;
+    }
+
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Stage stage : stages) {
+            bytes += (long) stage.bits.length * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    private static long hash(long key) {
+        // splitmix64 마무리 함수
+        long h = key + 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private static final class Stage {
+        private final long[] bits;
+        private final long bitMask;
+        private final int hashFunctions;
+        private final int capacity;
+        private final double falsePositiveRate;
+        private int size;
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // m = -n ln p / (ln 2)^2 를 2의 거듭제곱으로 올림, k = (m / n) ln 2
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / LN2_SQUARED);
+            long bitCount = Long.highestOneBit(Math.max(64, optimalBits - 1)) << 1;
+            this.bits = new long[(int) (bitCount >>> 6)];
+            this.bitMask = bitCount - 1;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+
+        boolean mightContain(long hash) {
+            // 이중 해싱: h_i = h1 + i * h2
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = (h1 + (long) i * h2) & bitMask;
+                if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = (h1 + (long) i * h2) & bitMask;
+                bits[(int) (bit >>> 6)] |= 1L << bit;
+            }
+            size++;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리플레이에 쓰는 상호작용 로그와 기사 목록.
+ * user_news_interactions 내보내기 CSV를 읽거나, 카테고리 선호와 인기도 편중을 흉내 낸 합성 로그를 만든다.
+ *
+ * <pre>
+ * interactions.csv: interaction_time,user_id,news_article_id,interaction_type,reading_time_seconds
+ * articles.csv:     id,category_id,source_name,published_at,title
+ * </pre>
+ */
+record InteractionLog(List<Article> articles, List<Event> events) {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd[ ]['T']HH:mm:ss[.SSSSSS][.SSS]");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    record Event(long timeMillis, long userId, long articleId, InteractionType type, int readingTimeSeconds) {}
+
+    record Article(long id, long categoryId, String sourceName, String title, long publishedMillis, String[] keywords) {}
+
+    long startMillis() {
+        return events.isEmpty() ? 0L : events.get(0).timeMillis();
+    }
+
+    long endMillis() {
+        return events.isEmpty() ? 0L : events.get(events.size() - 1).timeMillis();
+    }
+
+    static InteractionLog read(Path interactionsFile, Path articlesFile) throws IOException {
+        List<Event> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(interactionsFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",", -1);
+                if (columns.length < 4 || !isNumeric(columns[1])) {
+                    continue; // 헤더 또는 잘못된 행
+                }
+                events.add(new Event(
+                        toMillis(columns[0].trim()),
+                        Long.parseLong(columns[1].trim()),
+                        Long.parseLong(columns[2].trim()),
+                        InteractionType.valueOf(columns[3].trim()),
+                        columns.length > 4 && !columns[4].isBlank() ? Integer.parseInt(columns[4].trim()) : 0));
+            }
+        }
+        events.sort(Comparator.comparingLong(Event::timeMillis));
+
+        Map<Long, Article> articles = new TreeMap<>();
+        if (articlesFile != null) {
+            try (BufferedReader reader = Files.newBufferedReader(articlesFile)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",", 5);
+                    if (columns.length < 4 || !isNumeric(columns[0])) {
+                        continue; // 헤더 또는 잘못된 행
+                    }
+                    long id = Long.parseLong(columns[0].trim());
+                    articles.put(id, new Article(
+                            id,
+                            columns[1].isBlank() ? -1L : Long.parseLong(columns[1].trim()),
+                            columns[2].trim(),
+                            columns.length > 4 ? columns[4].trim() : "Article " + id,
+                            columns[3].isBlank() ? 0L : toMillis(columns[3].trim()),
+                            null));
+                }
+            }
+        }
+        // 기사 목록에 없는 기사는 카테고리 없이 첫 상호작용 시각에 발행된 것으로 간주
+        for (Event event : events) {
+            articles.computeIfAbsent(event.articleId(),
+                    id -> new Article(id, -1L, "unknown", "Article " + id, event.timeMillis(), null));
+        }
+        return new InteractionLog(new ArrayList<>(articles.values()), events);
+    }
+
+    /**
+     * 사용자마다 2~3개의 선호 카테고리를 두고, 카테고리 안에서는 Zipf 분포로 인기 기사에 몰리는 합성 로그.
+     * 마지막 이벤트가 현재 시각 근처가 되도록 days일 전부터 생성한다.
+     */
+    static InteractionLog synthetic(long seed, int userCount, int articleCount, int categoryCount, int eventCount, int days) {
+        Random random = new Random(seed);
+        long end = System.currentTimeMillis();
+        long start = end - TimeUnit.DAYS.toMillis(days);
+
+        List<Article> articles = new ArrayList<>(articleCount);
+        for (int i = 1; i <= articleCount; i++) {
+            long categoryId = 1 + random.nextInt(categoryCount);
+            long published = start + (long) (random.nextDouble() * (end - start));
+            // 카테고리마다 8개 단어의 어휘에서 키워드 3개를 뽑아 콘텐츠 기반 추천도 동작하게 함
+            String[] keywords = new String[3];
+            for (int j = 0; j < keywords.length; j++) {
+                keywords[j] = "topic" + categoryId + "-" + random.nextInt(8);
+            }
+            articles.add(new Article(i, categoryId, "source-" + random.nextInt(25),
+                    "Synthetic article " + i + " about topic " + categoryId, published, keywords));
+        }
+        articles.sort(Comparator.comparingLong(Article::publishedMillis));
+
+        // 카테고리별 기사 목록 (발행순)
+        Map<Long, List<Article>> byCategory = new HashMap<>();
+        for (Article article : articles) {
+            byCategory.computeIfAbsent(article.categoryId(), id -> new ArrayList<>()).add(article);
+        }
+
+        long[][] userCategories = new long[userCount + 1][];
+        for (int user = 1; user <= userCount; user++) {
+            int preferred = 2 + random.nextInt(2);
+            userCategories[user] = new long[preferred];
+            for (int i = 0; i < preferred; i++) {
+                userCategories[user][i] = 1 + random.nextInt(categoryCount);
+            }
+        }
+
+        List<Event> events = new ArrayList<>(eventCount);
+        while (events.size() < eventCount) {
+            long time = start + (long) (random.nextDouble() * (end - start));
+            long userId = 1 + random.nextInt(userCount);
+            // 80%는 선호 카테고리, 나머지는 탐색
+            long categoryId = random.nextDouble() < 0.8
+                    ? userCategories[(int) userId][random.nextInt(userCategories[(int) userId].length)]
+                    : 1 + random.nextInt(categoryCount);
+            List<Article> candidates = byCategory.get(categoryId);
+            if (candidates == null) {
+                continue;
+            }
+            int published = publishedBefore(candidates, time);
+            if (published == 0) {
+                continue;
+            }
+            // 최근 기사일수록 순위가 높은 Zipf 분포
+            Article article = candidates.get(published - 1 - zipf(random, published));
+            events.add(new Event(time, userId, article.id(), randomType(random), random.nextInt(240)));
+        }
+        events.sort(Comparator.comparingLong(Event::timeMillis));
+        return new InteractionLog(articles, events);
+    }
+
+    private static int publishedBefore(List<Article> sorted, long time) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid).publishedMillis() <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int zipf(Random random, int n) {
+        // 지수 1의 Zipf 근사: 역변환 샘플링
+        double u = random.nextDouble();
+        int rank = (int) Math.floor(Math.pow(n + 1, u)) - 1;
+        return Math.min(Math.max(rank, 0), n - 1);
+    }
+
+    private static InteractionType randomType(Random random) {
+        double r = random.nextDouble();
+        if (r < 0.50) return InteractionType.VIEW;
+        if (r < 0.75) return InteractionType.CLICK;
+        if (r < 0.85) return InteractionType.LIKE;
+        if (r < 0.90) return InteractionType.SHARE;
+        if (r < 0.95) return InteractionType.SAVE;
+        return InteractionType.DISLIKE;
+    }
+
+    private static boolean isNumeric(String column) {
+        String trimmed = column.trim();
+        return !trimmed.isEmpty() && Character.isDigit(trimmed.charAt(0));
+    }
+
+    private static long toMillis(String timestamp) {
+        return LocalDateTime.parse(timestamp, TIMESTAMP).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.analytics.SentimentTextStore;
+import com.example.jibmusil.event.EventPublisher;
+import com.example.jibmusil.interaction.InteractionDeduplicator;
+import com.example.jibmusil.interaction.InteractionEvent;
+import com.example.jibmusil.interaction.InteractionFanout;
+import com.example.jibmusil.kafka.NewsKafkaProducer;
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.PopularityCounters;
+import com.example.jibmusil.news.TrendingEngine;
+import com.example.jibmusil.user.User;
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import com.example.jibmusil.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 상호작용 로그를 시간순으로 재생해 추천기별 랭킹 품질과 지연을 함께 측정하는 오프라인 하네스.
+ * 실제 리포지토리와 추천 빈을 H2 인메모리 DB 위에 띄우므로 MySQL/Redis/Kafka 없이 실행된다.
+ *
+ * <p>로그의 앞부분(train-fraction)을 실제 수집 경로와 같은 순서로 반영한 뒤,
+ * 분할 시점에 각 사용자에게 추천을 요청해 이후 구간의 긍정 상호작용과 비교한다.
+ * 분할 시점이 현재 시각이 되도록 로그 전체를 평행 이동하므로 최근 N일 조회도 그대로 동작한다.
+ *
+ * <pre>
+ * ./gradlew replay
+ * ./gradlew replay -PreplayArgs="--interactions=interactions.csv --articles=articles.csv --k=20"
+ * </pre>
+ */
+@Slf4j
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.example.jibmusil")
+@EnableJpaRepositories("com.example.jibmusil")
+@Import({RecommendationEngine.class, ItemCooccurrenceModel.class, RecommendationCache.class,
+         DiversityReranker.class, EmbeddingScorer.class, PreferenceAccumulator.class, SeenArticleFilter.class,
+         ColdStartPools.class, PopularityCounters.class, TrendingEngine.class,
+         InteractionDeduplicator.class, InteractionFanout.class, NewsKafkaProducer.class, SentimentTextStore.class})
+public class RecommendationReplay {
+
+    private static final Set<InteractionType> POSITIVE = Set.of(
+            InteractionType.CLICK, InteractionType.LIKE, InteractionType.SHARE, InteractionType.SAVE);
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    @Bean
+    CacheManager cacheManager() {
+        return new ConcurrentMapCacheManager("recommendations");
+    }
+
+    // 팬아웃이 내는 조회/활동 이벤트는 직렬화까지만 하고 버린다
+    @Bean
+    EventPublisher eventPublisher() {
+        return (topic, key, payload, outboxId) -> CompletableFuture.completedFuture(null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        InteractionLog interactionLog = options.containsKey("interactions")
+                ? InteractionLog.read(Path.of(options.get("interactions")),
+                                      options.containsKey("articles") ? Path.of(options.get("articles")) : null)
+                : InteractionLog.synthetic(
+                        Long.parseLong(options.getOrDefault("seed", "42")),
+                        Integer.parseInt(options.getOrDefault("synthetic-users", "500")),
+                        Integer.parseInt(options.getOrDefault("synthetic-articles", "3000")),
+                        Integer.parseInt(options.getOrDefault("synthetic-categories", "12")),
+                        Integer.parseInt(options.getOrDefault("synthetic-events", "40000")),
+                        Integer.parseInt(options.getOrDefault("synthetic-days", "14")));
+        if (interactionLog.events().isEmpty()) {
+            throw new IllegalArgumentException("Interaction log is empty");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RecommendationReplay.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.profiles.active=replay")) {
+            new Run(context, interactionLog,
+                    Integer.parseInt(options.getOrDefault("k", "10")),
+                    Double.parseDouble(options.getOrDefault("train-fraction", "0.8")),
+                    Integer.parseInt(options.getOrDefault("max-users", "300")),
+                    Integer.parseInt(options.getOrDefault("warmup-requests", "20")))
+                    .execute();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg);
+            }
+        }
+        return options;
+    }
+
+    private static final class Run {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final NewsRepository newsRepository;
+        private final RecommendationEngine recommendationEngine;
+        private final ItemCooccurrenceModel itemCooccurrenceModel;
+        private final RecommendationCache recommendationCache;
+        private final InteractionFanout interactionFanout;
+        private final PreferenceAccumulator preferenceAccumulator;
+        private final ColdStartPools coldStartPools;
+        private final PopularityCounters popularityCounters;
+        private final InteractionDeduplicator deduplicator;
+        private final TrendingEngine trendingEngine;
+        private final UserRepository userRepository;
+        private final InteractionLog interactionLog;
+        private final int k;
+        private final int maxUsers;
+        private final int warmupRequests;
+        private final long splitMillis;
+        private final long offsetMillis;
+
+        private final Map<Long, Set<Long>> seenByUser = new HashMap<>();
+        private final Set<Long> catalog = new HashSet<>();
+        private final Set<Long> categories = new HashSet<>();
+        private final Set<Long> users = new HashSet<>();
+        private final List<Object[]> pendingInteractions = new ArrayList<>();
+        private int nextArticle;
+        private int suppressed;
+
+        Run(ConfigurableApplicationContext context, InteractionLog interactionLog,
+            int k, double trainFraction, int maxUsers, int warmupRequests) {
+            this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+            this.newsRepository = context.getBean(NewsRepository.class);
+            this.recommendationEngine = context.getBean(RecommendationEngine.class);
+            this.itemCooccurrenceModel = context.getBean(ItemCooccurrenceModel.class);
+            this.recommendationCache = context.getBean(RecommendationCache.class);
+            this.interactionFanout = context.getBean(InteractionFanout.class);
+            this.preferenceAccumulator = context.getBean(PreferenceAccumulator.class);
+            this.coldStartPools = context.getBean(ColdStartPools.class);
+            this.popularityCounters = context.getBean(PopularityCounters.class);
+            this.deduplicator = context.getBean(InteractionDeduplicator.class);
+            this.trendingEngine = context.getBean(TrendingEngine.class);
+            this.userRepository = context.getBean(UserRepository.class);
+            this.interactionLog = interactionLog;
+            this.k = k;
+            this.maxUsers = maxUsers;
+            this.warmupRequests = warmupRequests;
+            List<InteractionLog.Event> events = interactionLog.events();
+            int splitIndex = Math.min(events.size() - 1, (int) (events.size() * trainFraction));
+            this.splitMillis = events.get(splitIndex).timeMillis();
+            this.offsetMillis = System.currentTimeMillis() - splitMillis;
+        }
+
+        void execute() {
+            long replayStart = System.nanoTime();
+            List<InteractionLog.Article> articles = new ArrayList<>(interactionLog.articles());
+            articles.sort((a, b) -> Long.compare(a.publishedMillis(), b.publishedMillis()));
+
+            // 1. 학습 구간: 기사 발행과 상호작용을 시간순으로 수집 경로에 반영
+            int replayed = 0;
+            List<InteractionLog.Event> testEvents = new ArrayList<>();
+            for (InteractionLog.Event event : interactionLog.events()) {
+                if (event.timeMillis() >= splitMillis) {
+                    testEvents.add(event);
+                    continue;
+                }
+                publishUntil(articles, event.timeMillis());
+                ingest(event);
+                replayed++;
+            }
+            publishUntil(articles, splitMillis);
+            flushInteractions();
+            preferenceAccumulator.flush();
+            popularityCounters.flush();
+            coldStartPools.refresh();
+            log.info("Replayed {} interactions ({} suppressed as repeats) over {} articles in {} ms", replayed, suppressed,
+                     catalog.size(), (System.nanoTime() - replayStart) / 1_000_000);
+
+            // 2. 평가 구간: 분할 시점에 이미 발행된 기사 중 처음 본 긍정 상호작용이 정답
+            Map<Long, Set<Long>> relevantByUser = new LinkedHashMap<>();
+            for (InteractionLog.Event event : testEvents) {
+                if (POSITIVE.contains(event.type()) && catalog.contains(event.articleId())
+                        && users.contains(event.userId())
+                        && !seenByUser.getOrDefault(event.userId(), Set.of()).contains(event.articleId())) {
+                    relevantByUser.computeIfAbsent(event.userId(), id -> new HashSet<>()).add(event.articleId());
+                }
+            }
+            List<Long> evaluatedUsers = relevantByUser.keySet().stream().limit(maxUsers).collect(Collectors.toList());
+            log.info("Evaluating {} users against {} held-out interactions", evaluatedUsers.size(), testEvents.size());
+
+            List<ReplayMetrics> results = new ArrayList<>();
+            recommenders().forEach((name, recommender) -> results.add(evaluate(name, recommender, evaluatedUsers, relevantByUser)));
+            report(results, evaluatedUsers.size());
+        }
+
+        private Map<String, BiFunction<User, Integer, List<Long>>> recommenders() {
+            Map<String, BiFunction<User, Integer, List<Long>>> recommenders = new LinkedHashMap<>();
+            recommenders.put("hybrid", (user, limit) -> {
+                // 캐시 적중이 아닌 전체 생성 경로를 측정
+                recommendationCache.evict(user.getId());
+                return ids(recommendationEngine.getPersonalizedRecommendations(user.getId(), limit));
+            });
+            recommenders.put("preference", (user, limit) -> ids(recommendationEngine.getPreferenceBasedRecommendations(user, limit)));
+            recommenders.put("collaborative", (user, limit) -> ids(recommendationEngine.getCollaborativeFilteringRecommendations(user, limit)));
+            recommenders.put("content", (user, limit) -> ids(recommendationEngine.getContentBasedRecommendations(user, limit)));
+            recommenders.put("item-cf", (user, limit) -> {
+                Set<Long> seen = seenByUser.getOrDefault(user.getId(), Set.of());
+                return Arrays.stream(itemCooccurrenceModel.recommendForUser(user.getId(), limit, seen::contains))
+                        .boxed().collect(Collectors.toList());
+            });
+            recommenders.put("trending", (user, limit) -> ids(trendingEngine.getTrending(limit)));
+            return recommenders;
+        }
+
+        private ReplayMetrics evaluate(String name, BiFunction<User, Integer, List<Long>> recommender,
+                                       List<Long> evaluatedUsers, Map<Long, Set<Long>> relevantByUser) {
+            List<User> userEntities = userRepository.findAllById(evaluatedUsers);
+            // JIT 워밍업 요청은 집계하지 않음
+            for (int i = 0; i < Math.min(warmupRequests, userEntities.size()); i++) {
+                recommender.apply(userEntities.get(i), k);
+            }
+            ReplayMetrics metrics = new ReplayMetrics(name, k);
+            for (User user : userEntities) {
+                long start = System.nanoTime();
+                List<Long> recommended = recommender.apply(user, k);
+                long latency = System.nanoTime() - start;
+                metrics.record(recommended, relevantByUser.get(user.getId()), latency);
+            }
+            return metrics;
+        }
+
+        private void report(List<ReplayMetrics> results, int evaluatedUsers) {
+            System.out.printf("%nReplay: %d events, %d articles in catalog, %d users evaluated, k=%d%n",
+                              interactionLog.events().size(), catalog.size(), evaluatedUsers, k);
+            System.out.printf("%-14s %8s %10s %10s %8s %8s %9s %9s %9s %9s%n",
+                              "recommender", "requests", "prec@k", "recall@k", "ndcg@k", "hit", "coverage",
+                              "p50(ms)", "p95(ms)", "p99(ms)");
+            for (ReplayMetrics metrics : results) {
+                System.out.printf("%-14s %8d %10.4f %10.4f %8.4f %8.4f %9.4f %9.2f %9.2f %9.2f%n",
+                                  metrics.recommender(), metrics.requests(), metrics.precision(), metrics.recall(),
+                                  metrics.ndcg(), metrics.hitRate(), metrics.coverage(catalog.size()),
+                                  metrics.latencyMillis(50), metrics.latencyMillis(95), metrics.latencyMillis(99));
+            }
+        }
+
+        private void publishUntil(List<InteractionLog.Article> articles, long timeMillis) {
+            List<Object[]> categoryRows = new ArrayList<>();
+            List<Object[]> articleRows = new ArrayList<>();
+            List<Long> published = new ArrayList<>();
+            while (nextArticle < articles.size() && articles.get(nextArticle).publishedMillis() <= timeMillis) {
+                InteractionLog.Article article = articles.get(nextArticle++);
+                Long categoryId = article.categoryId() >= 0 ? article.categoryId() : null;
+                if (categoryId != null && categories.add(categoryId)) {
+                    categoryRows.add(new Object[]{categoryId, "category-" + categoryId});
+                }
+                Timestamp publishedAt = timestamp(article.publishedMillis());
+                articleRows.add(new Object[]{article.id(), article.title(), "https://replay.local/articles/" + article.id(),
+                                             publishedAt, article.sourceName(), categoryId, article.keywords(),
+                                             publishedAt, publishedAt});
+                catalog.add(article.id());
+                published.add(article.id());
+            }
+            if (published.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO news_categories (id, name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)", categoryRows);
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO news_articles (id, title, url, published_at, source_name, category_id, keywords,
+                                               popularity_score, language, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, 0, 'en', ?, ?)
+                    """, articleRows);
+            // 실제 수집 경로(NewsService)와 같이 저장 직후 트렌딩에 등록
+            trendingEngine.onArticlesIngested(newsRepository.findAllById(published));
+        }
+
+        private void ingest(InteractionLog.Event event) {
+            if (!catalog.contains(event.articleId())) {
+                return; // 발행 전 기사에 대한 이벤트(내보내기 데이터의 시계 오차)는 건너뜀
+            }
+            if (users.add(event.userId())) {
+                jdbcTemplate.update("""
+                        INSERT INTO users (id, username, email, password, is_active, created_at, updated_at)
+                        VALUES (?, ?, ?, 'replay', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                        """, event.userId(), "replay-user-" + event.userId(), "user" + event.userId() + "@replay.local");
+            }
+            long timeMillis = event.timeMillis() + offsetMillis;
+            seenByUser.computeIfAbsent(event.userId(), id -> new HashSet<>()).add(event.articleId());
+            InteractionEvent interaction = new InteractionEvent(event.userId(), event.articleId(), event.type(),
+                                                                 event.readingTimeSeconds(), timeMillis);
+            // 컨트롤러와 같이 윈도우 안의 반복 상호작용은 기록하지 않음
+            if (deduplicator.isDuplicate(interaction)) {
+                suppressed++;
+                return;
+            }
+            pendingInteractions.add(new Object[]{event.userId(), event.articleId(), event.type().name(),
+                                                 timestamp(event.timeMillis()), event.readingTimeSeconds()});
+            if (pendingInteractions.size() >= INSERT_BATCH_SIZE) {
+                flushInteractions();
+            }
+
+            // 수집 버퍼의 writer 스레드와 같은 팬아웃 (이벤트 발행만 no-op)
+            interactionFanout.apply(interaction);
+        }
+
+        private void flushInteractions() {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO user_news_interactions (user_id, news_article_id, interaction_type,
+                                                        interaction_time, reading_time_seconds)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, pendingInteractions);
+            pendingInteractions.clear();
+        }
+
+        private Timestamp timestamp(long logMillis) {
+            return new Timestamp(logMillis + offsetMillis);
+        }
+
+        private static List<Long> ids(List<NewsArticle> articles) {
+            return articles.stream().map(NewsArticle::getId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.jibmusil.recommendation;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천기 하나의 랭킹 품질(precision@k, recall@k, NDCG@k, 커버리지)과 요청 지연 분포를 누적한다.
+ */
+final class ReplayMetrics {
+
+    private final String recommender;
+    private final int k;
+    private final Set<Long> recommendedArticles = new HashSet<>();
+
+    private long[] latencies = new long[1024];
+    private int requests;
+    private double precisionSum;
+    private double recallSum;
+    private double ndcgSum;
+    private int hitRequests;
+
+    ReplayMetrics(String recommender, int k) {
+        this.recommender = recommender;
+        this.k = k;
+    }
+
+    String recommender() {
+        return recommender;
+    }
+
+    void record(List<Long> recommended, Set<Long> relevant, long latencyNanos) {
+        if (requests == latencies.length) {
+            latencies = Arrays.copyOf(latencies, requests * 2);
+        }
+        latencies[requests++] = latencyNanos;
+
+        int hits = 0;
+        double dcg = 0.0;
+        int n = Math.min(k, recommended.size());
+        for (int rank = 0; rank < n; rank++) {
+            Long articleId = recommended.get(rank);
+            recommendedArticles.add(articleId);
+            if (relevant.contains(articleId)) {
+                hits++;
+                dcg += 1.0 / log2(rank + 2);
+            }
+        }
+        double idcg = 0.0;
+        for (int rank = 0; rank < Math.min(k, relevant.size()); rank++) {
+            idcg += 1.0 / log2(rank + 2);
+        }
+
+        precisionSum += (double) hits / k;
+        recallSum += relevant.isEmpty() ? 0.0 : (double) hits / relevant.size();
+        ndcgSum += idcg > 0.0 ? dcg / idcg : 0.0;
+        if (hits > 0) {
+            hitRequests++;
+        }
+    }
+
+    int requests() {
+        return requests;
+    }
+
+    double precision() {
+        return requests > 0 ? precisionSum / requests : 0.0;
+    }
+
+    double recall() {
+        return requests > 0 ? recallSum / requests : 0.0;
+    }
+
+    double ndcg() {
+        return requests > 0 ? ndcgSum / requests : 0.0;
+    }
+
+    double hitRate() {
+        return requests > 0 ? (double) hitRequests / requests : 0.0;
+    }
+
+    double coverage(int catalogSize) {
+        return catalogSize > 0 ? (double) recommendedArticles.size() / catalogSize : 0.0;
+    }
+
+    /**
+     * 지연 백분위수(밀리초). percentile은 0~100.
+     */
+    double latencyMillis(double percentile) {
+        if (requests == 0) {
+            return 0.0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, requests);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * requests) - 1;
+        return sorted[Math.max(0, Math.min(index, requests - 1))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static double log2(int value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
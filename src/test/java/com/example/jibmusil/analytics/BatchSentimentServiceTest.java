@@ -0,0 +1,96 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchSentimentServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SentimentAnalysisService sentimentAnalysisService = new SentimentAnalysisService(
+            new LexiconSentimentScorer(new ClassPathResource[]{new ClassPathResource("sentiment/lexicon-en.tsv"),
+                                                               new ClassPathResource("sentiment/lexicon-ko.tsv")}, 3, 2, 2),
+            new HashedFeatureSentimentModel(""),
+            new SentimentResultCache(new NoOpCacheManager(), meterRegistry, 1 << 20, Duration.ofHours(1), "v1"));
+    private final NewsRepository newsRepository = mock(NewsRepository.class);
+    private final BatchSentimentService service =
+            new BatchSentimentService(sentimentAnalysisService, newsRepository, meterRegistry, 4, 8, 1_000);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void analyzeTexts_shouldMatchSequentialResultsInInputOrderUsingThePool() {
+        String[] samples = {"Shares surged after strong earnings", "Factory fire killed three workers",
+                            "반도체 수출이 상승세를 이어갔다", "The meeting is on Tuesday", ""};
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            texts.add(samples[i % samples.length] + (i % samples.length == 4 ? "" : " #" + i));
+        }
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        BatchSentimentService recording = new BatchSentimentService(new SentimentAnalysisService(
+                new LexiconSentimentScorer(new ClassPathResource[]{new ClassPathResource("sentiment/lexicon-en.tsv")}, 3, 2, 2),
+                new HashedFeatureSentimentModel(""),
+                new SentimentResultCache(new NoOpCacheManager(), new SimpleMeterRegistry(), 0, Duration.ofHours(1), "v1")) {
+            @Override
+            public SentimentResult analyze(String text) {
+                threads.add(Thread.currentThread().getName());
+                return super.analyze(text);
+            }
+        }, newsRepository, new SimpleMeterRegistry(), 4, 8, 1_000);
+
+        List<SentimentResult> results = service.analyzeTexts(texts);
+        recording.analyzeTexts(texts);
+        recording.shutdown();
+
+        assertThat(results).hasSize(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            assertThat(results.get(i)).isEqualTo(sentimentAnalysisService.analyze(texts.get(i)));
+        }
+        assertThat(results.get(0).score()).isPositive();
+        assertThat(results.get(1).score()).isNegative();
+        assertThat(threads).allMatch(name -> name.contains("ForkJoinPool"));
+        assertThat(meterRegistry.get("sentiment.batch.items").counter().count()).isEqualTo(1_000);
+    }
+
+    @Test
+    void analyzeArticles_shouldKeepRequestOrderAndSkipMissingArticles() {
+        NewsArticle up = NewsArticle.builder().title("Exports surge").description("record growth").build();
+        up.setId(2L);
+        NewsArticle down = NewsArticle.builder().title("Markets crash").description("investors fear recession").build();
+        down.setId(1L);
+        when(newsRepository.findAllById(anyIterable())).thenReturn(List.of(down, up));
+
+        Map<Long, SentimentResult> results = service.analyzeArticles(List.of(2L, 99L, 1L));
+
+        assertThat(results.keySet()).containsExactly(2L, 1L);
+        assertThat(results.get(2L).score()).isPositive();
+        assertThat(results.get(1L).score()).isNegative();
+    }
+
+    @Test
+    void analyzeTexts_shouldRejectOversizedBatches() {
+        assertThatThrownBy(() -> service.analyzeTexts(new ArrayList<>(java.util.Collections.nCopies(1_001, "text"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
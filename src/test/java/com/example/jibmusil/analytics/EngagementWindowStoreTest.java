@@ -0,0 +1,142 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.kafka.EngagementWindowConsumer;
+import com.example.jibmusil.kafka.NewsEvent;
+import com.example.jibmusil.kafka.NewsEventCodec;
+import com.example.jibmusil.news.NewsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EngagementWindowStoreTest {
+
+    private static final long WINDOW = 1_760_000_040_000L;
+    private static final String TOPIC = "news-view";
+
+    private JdbcTemplate jdbcTemplate;
+    private EngagementWindowStore store;
+    private EngagementWindowConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE article_engagement_minutes (
+                    window_start DATETIME NOT NULL, news_article_id BIGINT NOT NULL,
+                    views BIGINT NOT NULL DEFAULT 0, activities BIGINT NOT NULL DEFAULT 0,
+                    PRIMARY KEY (window_start, news_article_id))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE category_engagement_minutes (
+                    window_start DATETIME NOT NULL, category_id BIGINT NOT NULL,
+                    views BIGINT NOT NULL DEFAULT 0, activities BIGINT NOT NULL DEFAULT 0,
+                    PRIMARY KEY (window_start, category_id))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE engagement_consumer_offsets (
+                    topic VARCHAR(100) NOT NULL, partition_id INT NOT NULL, next_offset BIGINT NOT NULL,
+                    PRIMARY KEY (topic, partition_id))
+                """);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        store = new EngagementWindowStore(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), meterRegistry);
+        NewsRepository newsRepository = mock(NewsRepository.class);
+        when(newsRepository.findCategoryIdsByIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, 1L}));
+        consumer = new EngagementWindowConsumer(store, newsRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void write_shouldAddUpWindowsAcrossBatches() {
+        store.write(List.of(window(10L, 3, 1)));
+        store.write(List.of(window(10L, 2, 0), window(11L, 1, 1)));
+
+        assertThat(articleViews(10L)).isEqualTo(5);
+        assertThat(articleViews(11L)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT activities FROM article_engagement_minutes WHERE news_article_id = 10", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void consume_shouldNotDoubleCountRedeliveredRecords() {
+        consumer.consume(views(0, 5));
+        // 커밋 전에 리밸런스되어 3 ~ 4가 다시 오고 5 ~ 7이 새로 온 경우
+        consumer.consume(views(3, 8));
+        // 같은 poll 전체가 다시 온 경우
+        consumer.consume(views(3, 8));
+
+        assertThat(articleViews(10L)).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT views FROM category_engagement_minutes WHERE category_id = 1", Long.class)).isEqualTo(8);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT next_offset FROM engagement_consumer_offsets WHERE topic = ? AND partition_id = 0",
+                Long.class, TOPIC)).isEqualTo(8);
+    }
+
+    @Test
+    void write_shouldRollBackWindowsAndOffsetsTogether() {
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+
+        assertThatThrownBy(() -> store.write(Map.of(partition, 5L), applied -> {
+            store.write(List.of(window(10L, 5, 0)));
+            throw new IllegalStateException("category lookup failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article_engagement_minutes", Long.class)).isZero();
+        consumer.consume(views(0, 5));
+        assertThat(articleViews(10L)).isEqualTo(5);
+    }
+
+    private long articleViews(long articleId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT SUM(views) FROM article_engagement_minutes WHERE news_article_id = ?", Long.class, articleId);
+    }
+
+    private static EngagementWindowStore.Window window(long articleId, int views, int activities) {
+        EngagementWindowStore.Window window = new EngagementWindowStore.Window(WINDOW);
+        window.articleViews().addTo(articleId, views);
+        if (activities > 0) {
+            window.articleActivities().addTo(articleId, activities);
+        }
+        return window;
+    }
+
+    // 기사 10의 조회 이벤트, 오프셋 [from, to)
+    private static List<ConsumerRecord<String, byte[]>> views(long from, long to) {
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        for (long offset = from; offset < to; offset++) {
+            byte[] payload = NewsEventCodec.encode(new NewsEvent.View(10L, WINDOW, 1));
+            records.add(new ConsumerRecord<>(TOPIC, 0, offset, WINDOW + offset, TimestampType.CREATE_TIME,
+                                             1, payload.length, "10", payload, new RecordHeaders(), Optional.empty()));
+        }
+        return records;
+    }
+}
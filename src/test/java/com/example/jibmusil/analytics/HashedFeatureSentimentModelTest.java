@@ -0,0 +1,182 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentModelTrainer.Evaluation;
+import com.example.jibmusil.analytics.SentimentModelTrainer.Example;
+import com.example.jibmusil.analytics.SentimentModelTrainer.Weights;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedFeatureSentimentModelTest {
+
+    private static final String[] SUBJECTS = {
+            "Samsung", "Hyundai Motor", "The KOSPI", "Chip exports", "The startup", "Battery makers", "Retail sales",
+            "삼성전자", "현대차", "코스피", "반도체 수출", "배터리 업계", "소비 심리", "건설 경기"
+    };
+    private static final String[] POSITIVE = {
+            "surged to a record high", "beat profit expectations", "rallied on strong demand",
+            "won a major contract", "reported robust growth", "recovered sharply after upbeat guidance",
+            "급등하며 사상 최고치를 경신했다", "호조를 보이며 흑자 전환했다", "예상을 웃도는 실적을 냈다",
+            "수주에 성공하며 반등했다"
+    };
+    private static final String[] NEGATIVE = {
+            "plunged amid recession fears", "missed forecasts and cut jobs", "slumped on weak demand",
+            "faced a costly recall", "reported heavy losses", "fell sharply after a downgrade",
+            "급락하며 투자자 우려가 커졌다", "부진을 면치 못하며 적자로 돌아섰다", "예상을 밑도는 실적에 실망했다",
+            "리콜 사태로 타격을 입었다"
+    };
+    private static final String[] NEUTRAL = {
+            "will hold a shareholder meeting on Tuesday", "announced its board schedule",
+            "published the quarterly filing", "다음 주 이사회 일정을 공개했다", "정기 주주총회를 개최한다"
+    };
+    private static final String[] FILLER = {
+            "", " officials said.", " according to the report.", " 관계자가 밝혔다.", " 업계에 따르면."
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void trainer_shouldLearnLabelledFileAndReportAccuracyAndLatency() throws IOException {
+        Path labelled = tempDir.resolve("labelled.tsv");
+        Files.write(labelled, corpus(new Random(7), 3_000));
+        List<Example> examples = SentimentModelTrainer.read(labelled);
+        assertThat(examples).hasSize(3_000); // 헤더 줄은 건너뛴다
+        List<Example> training = examples.subList(600, examples.size());
+        List<Example> validation = examples.subList(0, 600);
+
+        Weights weights = new SentimentModelTrainer(16, 8, 0.5, 1e-6, 42).train(training);
+        Path modelFile = tempDir.resolve("sentiment-model.bin");
+        HashedFeatureSentimentModel.write(modelFile, weights.bias(), weights.values());
+        HashedFeatureSentimentModel model = new HashedFeatureSentimentModel(modelFile.toString());
+
+        Evaluation evaluation = SentimentModelTrainer.evaluate(model, validation);
+
+        assertThat(model.isLoaded()).isTrue();
+        assertThat(Files.size(modelFile)).isEqualTo(HashedFeatureSentimentModel.HEADER_BYTES + 4L * (1 << 16));
+        assertThat(evaluation.examples()).isEqualTo(600);
+        assertThat(evaluation.accuracy()).isGreaterThan(0.9);
+        assertThat(evaluation.nanosPerArticle()).isPositive();
+        assertThat(model.score("Hyundai Motor surged to a record high")).isGreaterThan(0.1);
+        assertThat(model.score("현대차 급락하며 투자자 우려가 커졌다")).isLessThan(-0.1);
+    }
+
+    @Test
+    void mappedModel_shouldScoreLikeTheInMemoryWeightsWithoutAllocating() throws IOException {
+        Weights weights = new SentimentModelTrainer(12, 4, 0.5, 1e-6, 1)
+                .train(SentimentModelTrainer.read(writeCorpus(500)));
+        Path modelFile = tempDir.resolve("model.bin");
+        HashedFeatureSentimentModel.write(modelFile, weights.bias(), weights.values());
+        HashedFeatureSentimentModel mapped = new HashedFeatureSentimentModel(modelFile.toString());
+        HashedFeatureSentimentModel heap = new HashedFeatureSentimentModel(
+                HashedFeatureSentimentModel.encode(weights.bias(), weights.values()));
+
+        String text = "삼성전자 예상을 웃도는 실적을 냈다. Chip exports rallied on strong demand";
+        assertThat(mapped.score(text)).isEqualTo(heap.score(text));
+        assertThat(mapped.score("")).isZero();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        double sink = 0;
+        for (int i = 0; i < 20_000; i++) {
+            sink += mapped.score(text);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 20_000; i++) {
+            sink += mapped.score(text);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertThat(sink).isNotNaN();
+        assertThat(allocated).isLessThan(1_024);
+    }
+
+    @Test
+    void identity_shouldChangeOnlyWhenWeightsChange() throws IOException {
+        float[] values = new float[1 << 10];
+        values[3] = 0.5f;
+        Path modelFile = tempDir.resolve("identity.bin");
+        HashedFeatureSentimentModel.write(modelFile, 0.1f, values);
+        HashedFeatureSentimentModel mapped = new HashedFeatureSentimentModel(modelFile.toString());
+        HashedFeatureSentimentModel heap = new HashedFeatureSentimentModel(
+                HashedFeatureSentimentModel.encode(0.1f, values));
+        values[3] = 0.25f;
+        HashedFeatureSentimentModel retrained = new HashedFeatureSentimentModel(
+                HashedFeatureSentimentModel.encode(0.1f, values));
+
+        assertThat(mapped.identity()).startsWith("model-10-").isEqualTo(heap.identity());
+        assertThat(retrained.identity()).isNotEqualTo(mapped.identity());
+        assertThat(new HashedFeatureSentimentModel("").identity()).isNull();
+    }
+
+    @Test
+    void analysisService_shouldFallBackToLexiconWithoutUsableModel() throws IOException {
+        Path corrupt = tempDir.resolve("corrupt.bin");
+        Files.write(corrupt, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17});
+        LexiconSentimentScorer lexicon = new LexiconSentimentScorer(
+                new ClassPathResource[]{new ClassPathResource("sentiment/lexicon-en.tsv")}, 3, 2, 2);
+
+        for (String path : new String[]{"", corrupt.toString(), tempDir.resolve("missing.bin").toString()}) {
+            HashedFeatureSentimentModel model = new HashedFeatureSentimentModel(path);
+            assertThat(model.isLoaded()).isFalse();
+            SentimentAnalysisService service = newService(lexicon, model);
+            assertThat(service.sentimentScore("Shares surged after strong earnings"))
+                    .isEqualTo(lexicon.score("Shares surged after strong earnings"));
+        }
+
+        // 모델이 있으면 모델 점수를 쓴다
+        Weights weights = new SentimentModelTrainer(12, 4, 0.5, 1e-6, 1)
+                .train(SentimentModelTrainer.read(writeCorpus(500)));
+        HashedFeatureSentimentModel model = new HashedFeatureSentimentModel(
+                HashedFeatureSentimentModel.encode(weights.bias(), weights.values()));
+        assertThat(newService(lexicon, model).sentimentScore("코스피 급등하며 사상 최고치를 경신했다"))
+                .isEqualTo(model.score("코스피 급등하며 사상 최고치를 경신했다"));
+    }
+
+    @Test
+    void parseLine_shouldAcceptNamedAndNumericLabelsAndQuotedCsv() {
+        assertThat(SentimentModelTrainer.parseLine("positive\tgreat quarter", '\t').target()).isEqualTo(1f);
+        assertThat(SentimentModelTrainer.parseLine("부정\t실적 부진", '\t').target()).isEqualTo(0f);
+        assertThat(SentimentModelTrainer.parseLine("0.5,\"Sales rose, \"\"modestly\"\"\"", ','))
+                .isEqualTo(new Example("Sales rose, \"modestly\"", 0.75f));
+        assertThat(SentimentModelTrainer.parseLine("label,text", ',')).isNull();
+    }
+
+    private Path writeCorpus(int size) throws IOException {
+        Path labelled = tempDir.resolve("corpus-" + size + ".csv");
+        Files.write(labelled, corpus(new Random(size), size).stream().map(line -> line.replace('\t', ',')).toList());
+        return labelled;
+    }
+
+    // 주어 + 긍정/부정/중립 서술 + 꼬리말을 섞은 합성 라벨 데이터 (첫 줄은 헤더)
+    private static List<String> corpus(Random random, int size) {
+        List<String> lines = new ArrayList<>(size + 1);
+        lines.add("label\ttext");
+        for (int i = 0; i < size; i++) {
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            String filler = FILLER[random.nextInt(FILLER.length)];
+            switch (random.nextInt(5)) {
+                case 0, 1 -> lines.add("positive\t" + subject + " " + POSITIVE[random.nextInt(POSITIVE.length)] + filler);
+                case 2, 3 -> lines.add("negative\t" + subject + " " + NEGATIVE[random.nextInt(NEGATIVE.length)] + filler);
+                default -> lines.add("neutral\t" + subject + " " + NEUTRAL[random.nextInt(NEUTRAL.length)] + filler);
+            }
+        }
+        return lines;
+    }
+
+    private static SentimentAnalysisService newService(LexiconSentimentScorer lexicon, HashedFeatureSentimentModel model) {
+        return new SentimentAnalysisService(lexicon, model, new SentimentResultCache(
+                new NoOpCacheManager(), new SimpleMeterRegistry(), 0, Duration.ofMinutes(1), "test"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.jibmusil.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LexiconSentimentScorerTest {
+
+    private final LexiconSentimentScorer scorer = new LexiconSentimentScorer(
+            new ClassPathResource[]{new ClassPathResource("sentiment/lexicon-en.tsv"),
+                                    new ClassPathResource("sentiment/lexicon-ko.tsv")}, 3, 2, 2);
+
+    @Test
+    void lexicon_shouldFindEveryTermWithoutCollisions() {
+        List<SentimentLexicon.Term> terms = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            terms.add(new SentimentLexicon.Term("term" + i, SentimentLexicon.TERM, i, false));
+        }
+        SentimentLexicon lexicon = SentimentLexicon.build(terms);
+
+        for (int i = 0; i < 50_000; i++) {
+            String text = "term" + i;
+            int slot = lexicon.find("  " + text + " ", 2, 2 + text.length());
+            assertThat(slot).isNotNegative();
+            assertThat(lexicon.value(slot)).isEqualTo(i);
+        }
+        assertThat(lexicon.find("term50000", 0, 9)).isNegative();
+        assertThat(lexicon.find("term", 0, 4)).isNegative();
+    }
+
+    @Test
+    void identity_shouldDependOnTermsAndWindowsButNotTermOrder() {
+        SentimentLexicon.Term good = new SentimentLexicon.Term("good", SentimentLexicon.TERM, 1.9f, false);
+        SentimentLexicon.Term not = new SentimentLexicon.Term("not", SentimentLexicon.NEGATE, 0f, false);
+        SentimentLexicon lexicon = SentimentLexicon.build(List.of(good, not));
+
+        String identity = new LexiconSentimentScorer(lexicon, 3, 2, 2).identity();
+
+        assertThat(new LexiconSentimentScorer(SentimentLexicon.build(List.of(not, good)), 3, 2, 2).identity())
+                .isEqualTo(identity);
+        assertThat(new LexiconSentimentScorer(lexicon, 4, 2, 2).identity()).isNotEqualTo(identity);
+        SentimentLexicon reweighted = SentimentLexicon.build(
+                List.of(new SentimentLexicon.Term("good", SentimentLexicon.TERM, 2.1f, false), not));
+        assertThat(new LexiconSentimentScorer(reweighted, 3, 2, 2).identity()).isNotEqualTo(identity);
+    }
+
+    @Test
+    void score_shouldMatchWholeWordsOnly() {
+        // 부분 문자열 매칭이던 예전 방식은 likely → like, football → fall을 감성어로 셌다
+        assertThat(scorer.score("The football match is likely to resume, officials said.")).isZero();
+        assertThat(scorer.score("Shares fall after earnings")).isNegative();
+    }
+
+    @Test
+    void score_shouldCountRepeatsAndApplyIntensifiers() {
+        double once = scorer.score("Results were good.");
+        assertThat(scorer.score("Results were good, good and good.")).isGreaterThan(once);
+        assertThat(scorer.score("Results were very good.")).isGreaterThan(once);
+        assertThat(scorer.score("Results were slightly good.")).isBetween(0.0, once);
+        assertThat(scorer.score("RESULTS WERE GOOD.")).isEqualTo(once);
+    }
+
+    @Test
+    void score_shouldFlipSentimentWithinNegationWindow() {
+        assertThat(scorer.score("The launch was not a success")).isNegative();
+        assertThat(scorer.score("Investors don’t see any problems")).isPositive();
+        // 문장이 끝나면 부정 범위도 끝난다
+        assertThat(scorer.score("It did not rain. Sales were strong")).isPositive();
+    }
+
+    @Test
+    void score_shouldHandleKoreanStemsAndPostNegation() {
+        assertThat(scorer.score("반도체 수출이 3개월 연속 상승세를 이어갔다")).isPositive();
+        assertThat(scorer.score("증시가 급락하며 투자자 불안이 커졌다")).isNegative();
+        assertThat(scorer.score("실적이 좋지 않다")).isNegative();
+        assertThat(scorer.score("실적이 안 좋다")).isNegative();
+        assertThat(scorer.score("안정적인 성장이 예상된다")).isPositive();
+    }
+}
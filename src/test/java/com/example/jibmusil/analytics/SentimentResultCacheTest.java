@@ -0,0 +1,100 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.analytics.SentimentAnalysisService.SentimentResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SentimentResultCacheTest {
+
+    private final AtomicInteger analyzed = new AtomicInteger();
+    private final Function<String, SentimentResult> analyzer = text -> {
+        analyzed.incrementAndGet();
+        return new SentimentResult(BigDecimal.valueOf(text.length() % 10, 1), "Positive", 0.8);
+    };
+
+    @Test
+    void get_shouldAnalyzeEachContentOnceAcrossTiers() {
+        CacheManager redis = new ConcurrentMapCacheManager(SentimentResultCache.CACHE_NAME);
+        SentimentResultCache cache = newCache(redis, new SimpleMeterRegistry());
+
+        SentimentResult first = cache.get("반도체 수출 급증", analyzer);
+        assertThat(cache.get(new String("반도체 수출 급증"), analyzer)).isEqualTo(first);
+        assertThat(analyzed).hasValue(1);
+
+        // 다른 인스턴스(빈 로컬 캐시)는 Redis 계층에서 결과를 가져온다
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        assertThat(newCache(redis, otherRegistry).get("반도체 수출 급증", analyzer)).isEqualTo(first);
+        assertThat(analyzed).hasValue(1);
+        assertThat(otherRegistry.get("sentiment.cache.hit.ratio").tag("tier", "redis").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_shouldNotConfuseTextsWithEqualStringHashCodes() {
+        // 예전 키였던 String.hashCode는 "Aa"와 "BB"가 같다
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        SentimentResultCache cache = newCache(new ConcurrentMapCacheManager(SentimentResultCache.CACHE_NAME),
+                                              new SimpleMeterRegistry());
+
+        cache.get("Aa", text -> new SentimentResult(BigDecimal.ONE, "Very Positive", 0.9));
+        SentimentResult other = cache.get("BB", text -> new SentimentResult(BigDecimal.ONE.negate(), "Very Negative", 0.9));
+
+        assertThat(other.label()).isEqualTo("Very Negative");
+    }
+
+    @Test
+    void get_shouldNotReuseRedisResultsOfAnotherScorer() {
+        CacheManager redis = new ConcurrentMapCacheManager(SentimentResultCache.CACHE_NAME);
+        newCache(redis, new SimpleMeterRegistry(), "lexicon-1").get("반도체 수출 급증", analyzer);
+
+        // 모델을 바꿔 배포한 인스턴스는 이전 채점기의 결과를 쓰지 않고 다시 분석한다
+        SentimentResultCache retrained = newCache(redis, new SimpleMeterRegistry(), "model-16-2");
+        retrained.get("반도체 수출 급증", analyzer);
+        assertThat(analyzed).hasValue(2);
+
+        newCache(redis, new SimpleMeterRegistry(), "model-16-2").get("반도체 수출 급증", analyzer);
+        assertThat(analyzed).hasValue(2);
+    }
+
+    @Test
+    void get_shouldKeepWorkingWhenRedisFails() {
+        Cache failing = mock(Cache.class);
+        when(failing.get(anyString(), eq(SentimentResult.class))).thenThrow(new IllegalStateException("redis down"));
+        doThrow(new IllegalStateException("redis down")).when(failing).put(any(), any());
+        CacheManager failingManager = mock(CacheManager.class);
+        when(failingManager.getCache(SentimentResultCache.CACHE_NAME)).thenReturn(failing);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SentimentResultCache cache = newCache(failingManager, meterRegistry);
+
+        assertThat(cache.get("text", analyzer).label()).isEqualTo("Positive");
+        assertThat(cache.get("text", analyzer).label()).isEqualTo("Positive");
+        assertThat(analyzed).hasValue(1);
+        assertThat(meterRegistry.get("sentiment.cache.redis.requests").tag("result", "error").counter().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("sentiment.cache.hit.ratio").tag("tier", "local").gauge().value()).isEqualTo(0.5);
+    }
+
+    private static SentimentResultCache newCache(CacheManager cacheManager, SimpleMeterRegistry meterRegistry) {
+        return newCache(cacheManager, meterRegistry, "lexicon-1");
+    }
+
+    private static SentimentResultCache newCache(CacheManager cacheManager, SimpleMeterRegistry meterRegistry,
+                                                 String scorerIdentity) {
+        return new SentimentResultCache(cacheManager, meterRegistry, 1 << 20, Duration.ofHours(1), scorerIdentity);
+    }
+}
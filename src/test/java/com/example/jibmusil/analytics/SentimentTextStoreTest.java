@@ -0,0 +1,95 @@
+package com.example.jibmusil.analytics;
+
+import com.example.jibmusil.util.ContentHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentimentTextStoreTest {
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private JdbcTemplate jdbcTemplate;
+    private SentimentTextStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("""
+                CREATE TABLE sentiment_texts (
+                    content_hash BINARY(16) PRIMARY KEY, text MEDIUMTEXT NOT NULL, created_at DATETIME NOT NULL)
+                """);
+        store = newStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void store_shouldWriteEachTextOnceAndFindItFromAnotherInstance() {
+        ContentHash hash = store.store("Chipmakers rally after record earnings");
+        assertThat(store.store("Chipmakers rally after record earnings")).isEqualTo(hash);
+
+        assertThat(rowCount()).isEqualTo(1);
+        // 로컬 캐시가 비어 있는 다른 인스턴스도 DB에서 찾는다
+        assertThat(newStore().find(hash)).contains("Chipmakers rally after record earnings");
+        assertThat(newStore().find(ContentHash.of("never stored"))).isEmpty();
+    }
+
+    @Test
+    void find_shouldRejectStoredTextThatDoesNotMatchHash() {
+        ContentHash hash = ContentHash.of("original text");
+        jdbcTemplate.update("INSERT INTO sentiment_texts VALUES (?, ?, ?)",
+                            hash.toBytes(), "tampered text", new Timestamp(System.currentTimeMillis()));
+
+        assertThat(store.find(hash)).isEmpty();
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteOnlyTextsOlderThanRetention() {
+        ContentHash fresh = store.store("fresh text");
+        ContentHash stale = ContentHash.of("stale text");
+        jdbcTemplate.update("INSERT INTO sentiment_texts VALUES (?, ?, ?)", stale.toBytes(), "stale text",
+                            new Timestamp(System.currentTimeMillis() - RETENTION.plusHours(1).toMillis()));
+
+        assertThat(store.purgeExpired()).isEqualTo(1);
+
+        assertThat(rowCount()).isEqualTo(1);
+        assertThat(newStore().find(fresh)).contains("fresh text");
+        assertThat(newStore().find(stale)).isEmpty();
+    }
+
+    @Test
+    void store_shouldRewritePurgedTextAndRefreshCreatedAt() {
+        ContentHash hash = store.store("repeated text");
+        jdbcTemplate.update("UPDATE sentiment_texts SET created_at = ?",
+                            new Timestamp(System.currentTimeMillis() - RETENTION.plusHours(1).toMillis()));
+        store.purgeExpired();
+
+        // 지운 뒤 캐시가 비워졌으므로 같은 원문을 다시 저장하면 DB에 다시 쓰인다
+        store.store("repeated text");
+
+        assertThat(store.purgeExpired()).isZero();
+        assertThat(newStore().find(hash)).contains("repeated text");
+    }
+
+    private SentimentTextStore newStore() {
+        return new SentimentTextStore(jdbcTemplate, new SimpleMeterRegistry(), 1 << 20, Duration.ofHours(1), RETENTION);
+    }
+
+    private long rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sentiment_texts", Long.class);
+    }
+}
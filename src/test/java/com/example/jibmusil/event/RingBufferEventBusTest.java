@@ -0,0 +1,229 @@
+package com.example.jibmusil.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferEventBusTest {
+
+    private RingBufferEventBus bus;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (bus != null) {
+            bus.stop();
+        }
+    }
+
+    @Test
+    void publish_shouldDeliverEveryEventFromConcurrentProducersInOrderPerProducer() throws Exception {
+        RecordingSubscriber all = new RecordingSubscriber(Set.of());
+        RecordingSubscriber views = new RecordingSubscriber(Set.of("news-view"));
+        bus = newBus(List.of(all, views), 64, null);
+        bus.start();
+
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String topic = p % 2 == 0 ? "news-view" : "user-activity";
+            String key = Integer.toString(p);
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    bus.publish(topic, key, ByteBuffer.allocate(4).putInt(i).array()).join();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        bus.stop();
+
+        assertThat(all.records).hasSize(producers * perProducer);
+        assertThat(views.records).hasSize(producers / 2 * perProducer)
+                .allMatch(record -> record.topic().equals("news-view"));
+        // 같은 생산자의 이벤트는 발행 순서대로 전달된다
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        for (ConsumerRecord<String, byte[]> record : all.records) {
+            int producer = Integer.parseInt(record.key());
+            int value = ByteBuffer.wrap(record.value()).getInt();
+            assertThat(value).isEqualTo(last[producer] + 1);
+            last[producer] = value;
+        }
+        bus = null;
+    }
+
+    @Test
+    void publish_shouldFailAfterTimeoutWhenSlowestSubscriberIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        EventBusSubscriber blocked = new EventBusSubscriber() {
+            @Override
+            public Set<String> topics() {
+                return Set.of();
+            }
+
+            @Override
+            public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        bus = newBus(List.of(blocked), 4, null);
+        bus.start();
+
+        // 첫 이벤트를 구독자가 붙잡은 뒤 나머지 슬롯이 차면 다음 발행은 타임아웃으로 실패
+        boolean rejected = false;
+        for (int i = 0; i < 10 && !rejected; i++) {
+            rejected = bus.publish("news-view", "1", new byte[]{1}).isCompletedExceptionally();
+        }
+        release.countDown();
+
+        assertThat(rejected).isTrue();
+    }
+
+    @Test
+    void journal_shouldPersistEventsForReplay(@TempDir Path dir) throws Exception {
+        Path journal = dir.resolve("events.journal");
+        bus = newBus(List.of(), 16, journal);
+        bus.start();
+
+        bus.publish("news-processed", "10", new byte[]{1, 2, 3}, 7L);
+        bus.publish("news-view", null, new byte[]{4});
+        bus.stop();
+        bus = null;
+
+        List<EventJournal.JournalRecord> replayed = new CopyOnWriteArrayList<>();
+        assertThat(EventJournal.replay(journal, replayed::add)).isEqualTo(2);
+        assertThat(replayed.get(0).topic()).isEqualTo("news-processed");
+        assertThat(replayed.get(0).key()).isEqualTo("10");
+        assertThat(replayed.get(0).outboxId()).isEqualTo(7L);
+        assertThat(replayed.get(0).payload()).containsExactly(1, 2, 3);
+        assertThat(replayed.get(1).key()).isNull();
+        assertThat(replayed.get(1).sequence()).isEqualTo(1L);
+    }
+
+    @Test
+    void onEvents_shouldRetryFailedBatchAndDeadLetterItWhenRetriesRunOut(@TempDir Path dir) throws Exception {
+        Path deadLetters = dir.resolve("dead-letter.journal");
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        RecordingSubscriber flaky = new RecordingSubscriber(Set.of()) {
+            @Override
+            public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalStateException("database unavailable");
+                }
+                super.onEvents(records);
+            }
+        };
+        EventBusSubscriber broken = new EventBusSubscriber() {
+            @Override
+            public Set<String> topics() {
+                return Set.of("news-view");
+            }
+
+            @Override
+            public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+                throw new IllegalStateException("always fails");
+            }
+        };
+        bus = newBus(List.of(flaky, broken), 16, null, deadLetters);
+        bus.start();
+
+        bus.publish("news-view", "10", new byte[]{1});
+        bus.stop();
+        bus = null;
+
+        // 두 번 실패한 뒤 세 번째 시도에서 처리되어 한 번만 전달된다
+        assertThat(flaky.records).hasSize(1);
+        List<EventJournal.JournalRecord> deadLettered = new ArrayList<>();
+        assertThat(EventJournal.replay(deadLetters, deadLettered::add)).isEqualTo(1);
+        assertThat(deadLettered.get(0).key()).isEqualTo("10");
+        assertThat(deadLettered.get(0).payload()).containsExactly(1);
+    }
+
+    @Test
+    void start_shouldReplayJournaledEventsAfterCheckpointAndContinueSequences(@TempDir Path dir) throws Exception {
+        Path journalPath = dir.resolve("events.journal");
+        // 시퀀스 0 ~ 4를 저널에 쓰고 구독자는 1까지 처리한 채로 죽은 상황
+        try (EventJournal journal = new EventJournal(journalPath, false)) {
+            List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                records.add(new ConsumerRecord<>(i % 2 == 0 ? "news-view" : "user-activity", 0, i, "1",
+                                                 new byte[]{(byte) i}));
+            }
+            journal.onEvents(records);
+            journal.writeCheckpoint(1);
+        }
+
+        RecordingSubscriber views = new RecordingSubscriber(Set.of("news-view"));
+        bus = newBus(List.of(views), 16, journalPath);
+        bus.start();
+
+        assertThat(views.records).extracting(ConsumerRecord::offset).containsExactly(2L, 4L);
+
+        bus.publish("news-view", "1", new byte[]{5});
+        bus.stop();
+        bus = null;
+
+        // 새 발행은 저널의 마지막 시퀀스 다음부터 이어진다
+        assertThat(views.records).extracting(ConsumerRecord::offset).containsExactly(2L, 4L, 5L);
+
+        // 정상 종료 후에는 다시 전달할 것이 없다
+        RecordingSubscriber restarted = new RecordingSubscriber(Set.of());
+        bus = newBus(List.of(restarted), 16, journalPath);
+        bus.start();
+        bus.stop();
+        bus = null;
+        assertThat(restarted.records).isEmpty();
+    }
+
+    private static RingBufferEventBus newBus(List<EventBusSubscriber> subscribers, int capacity, Path journalPath) {
+        return newBus(subscribers, capacity, journalPath, null);
+    }
+
+    private static RingBufferEventBus newBus(List<EventBusSubscriber> subscribers, int capacity, Path journalPath,
+                                             Path deadLetterPath) {
+        return new RingBufferEventBus(subscribers, new SimpleMeterRegistry(), capacity, 16,
+                                      Duration.ofMillis(100), Duration.ofSeconds(5), journalPath != null, journalPath,
+                                      false, Duration.ofMillis(10), 3, Duration.ofMillis(1), deadLetterPath);
+    }
+
+    private static class RecordingSubscriber implements EventBusSubscriber {
+        private final Set<String> topics;
+        private final List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+
+        RecordingSubscriber(Set<String> topics) {
+            this.topics = topics;
+        }
+
+        @Override
+        public Set<String> topics() {
+            return topics;
+        }
+
+        @Override
+        public void onEvents(List<ConsumerRecord<String, byte[]>> records) {
+            this.records.addAll(records);
+        }
+    }
+}
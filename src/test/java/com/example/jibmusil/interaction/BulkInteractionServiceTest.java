@@ -0,0 +1,74 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.interaction.BulkInteractionService.BulkInteraction;
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkInteractionServiceTest {
+
+    private InteractionIngestionBuffer buffer;
+    private InteractionDeduplicator deduplicator;
+    private BulkInteractionService service;
+
+    @BeforeEach
+    void setUp() {
+        buffer = mock(InteractionIngestionBuffer.class);
+        deduplicator = new InteractionDeduplicator(new SimpleMeterRegistry(), Set.of(InteractionType.VIEW),
+                                                   Duration.ofMinutes(10), 1024, 4);
+        service = new BulkInteractionService(buffer, deduplicator, new SimpleMeterRegistry(),
+                                             100, Duration.ofDays(7), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_shouldValidateDeduplicateAndQueueInClientTimeOrder() {
+        when(buffer.offerAll(anyList())).thenReturn(true);
+        Instant now = Instant.now();
+
+        BulkInteractionService.Result result = service.ingest(7L, Arrays.asList(
+                new BulkInteraction(10L, InteractionType.LIKE, null, now.minusSeconds(60)),
+                new BulkInteraction(10L, InteractionType.VIEW, 30, now.minusSeconds(120)),
+                new BulkInteraction(10L, InteractionType.VIEW, 5, now.minusSeconds(90)),
+                new BulkInteraction(null, InteractionType.VIEW, null, now),
+                new BulkInteraction(11L, InteractionType.CLICK, null, now.minus(Duration.ofDays(30))),
+                null));
+
+        assertThat(result.queued()).isTrue();
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.rejected()).extracting(BulkInteractionService.Rejection::index).containsExactly(3, 4, 5);
+
+        ArgumentCaptor<List<InteractionEvent>> queued = ArgumentCaptor.forClass(List.class);
+        verify(buffer).offerAll(queued.capture());
+        assertThat(queued.getValue()).extracting(InteractionEvent::type)
+                .containsExactly(InteractionType.VIEW, InteractionType.LIKE);
+        assertThat(queued.getValue().get(0).readingTimeSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    void ingest_shouldLetRetriesThroughWhenBufferIsFull() {
+        when(buffer.offerAll(anyList())).thenReturn(false, true);
+        List<BulkInteraction> batch = List.of(new BulkInteraction(10L, InteractionType.VIEW, null, Instant.now()));
+
+        assertThat(service.ingest(7L, batch).queued()).isFalse();
+
+        BulkInteractionService.Result retry = service.ingest(7L, batch);
+        assertThat(retry.queued()).isTrue();
+        assertThat(retry.accepted()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InteractionDeduplicatorTest {
+
+    private final InteractionDeduplicator deduplicator = new InteractionDeduplicator(
+            new SimpleMeterRegistry(), Set.of(InteractionType.VIEW), Duration.ofMinutes(10), 1024, 4);
+
+    @Test
+    void isDuplicate_shouldSuppressRepeatedViewsOnlyInsideWindow() {
+        long start = 1_000_000L;
+
+        assertThat(deduplicator.isDuplicate(view(1, 10, start))).isFalse();
+        assertThat(deduplicator.isDuplicate(view(1, 10, start + 60_000))).isTrue();
+        assertThat(deduplicator.isDuplicate(view(2, 10, start + 60_000))).isFalse();
+        assertThat(deduplicator.isDuplicate(view(1, 11, start + 60_000))).isFalse();
+        assertThat(deduplicator.isDuplicate(new InteractionEvent(1, 10, InteractionType.LIKE, 0, start + 60_000))).isFalse();
+        assertThat(deduplicator.isDuplicate(new InteractionEvent(1, 10, InteractionType.LIKE, 0, start + 60_000))).isFalse();
+
+        assertThat(deduplicator.isDuplicate(view(1, 10, start + 600_000))).isFalse();
+        assertThat(deduplicator.isDuplicate(view(1, 10, start + 601_000))).isTrue();
+        assertThat(deduplicator.suppressionRatio()).isEqualTo(2.0 / 6.0);
+    }
+
+    @Test
+    void isDuplicate_shouldStayBoundedWhenKeysExceedCapacity() {
+        int suppressed = 0;
+        for (long article = 0; article < 100_000; article++) {
+            if (deduplicator.isDuplicate(view(article % 97, article, 0))) {
+                suppressed++;
+            }
+        }
+
+        // 서로 다른 키만 넣었으므로 덮어쓰기가 일어나도 지문 충돌이 없는 한 억제되지 않아야 한다
+        assertThat(suppressed).isZero();
+        assertThat(deduplicator.isDuplicate(view(99_999 % 97, 99_999, 1))).isTrue();
+    }
+
+    private static InteractionEvent view(long userId, long articleId, long timeMillis) {
+        return new InteractionEvent(userId, articleId, InteractionType.VIEW, 0, timeMillis);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InteractionIngestionBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final InteractionFanout fanout = mock(InteractionFanout.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_shouldWriteEveryAcceptedEventInBatchesAndFanOut() throws Exception {
+        AtomicInteger written = new AtomicInteger();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<?> batch = invocation.getArgument(1);
+            assertThat(batch.size()).isLessThanOrEqualTo(100);
+            written.addAndGet(batch.size());
+            return new int[0][];
+        });
+        // writer는 배치 리스트를 재사용하므로 호출 시점에 크기를 센다
+        AtomicInteger fannedOut = new AtomicInteger();
+        doAnswer(invocation -> fannedOut.addAndGet(invocation.<List<?>>getArgument(0).size()))
+                .when(fanout).applyAll(any());
+        InteractionIngestionBuffer buffer = buffer(10_000, 100);
+        buffer.start();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(buffer.offer(InteractionEvent.of(i % 10, i, InteractionType.VIEW, 5))).isTrue();
+        }
+        buffer.stop();
+
+        assertThat(written.get()).isEqualTo(1000);
+        assertThat(fannedOut.get()).isEqualTo(1000);
+        assertThat(buffer.offer(InteractionEvent.of(1, 1, InteractionType.VIEW, 5))).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void offer_shouldShedLoadWhenWriterFallsBehind() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return new int[0][];
+        });
+        InteractionIngestionBuffer buffer = buffer(5, 1);
+        buffer.start();
+
+        // 첫 이벤트를 쓰는 동안 writer가 막혀 있으므로 용량만큼만 받아야 한다
+        assertThat(buffer.offer(InteractionEvent.of(1, 0, InteractionType.CLICK, null))).isTrue();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        int accepted = 0;
+        for (int i = 1; i <= 10; i++) {
+            if (buffer.offer(InteractionEvent.of(1, i, InteractionType.CLICK, null))) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isEqualTo(5);
+
+        release.countDown();
+        buffer.stop();
+        verify(fanout, times(6)).applyAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_shouldRetryTransientFailuresAndIsolatePoisonRowsWithoutLosingAny() throws Exception {
+        // 첫 시도는 연결 실패, 이후에는 기사 13이 들어 있는 배치만 제약 위반으로 실패
+        AtomicInteger calls = new AtomicInteger();
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<InteractionEvent> batch = invocation.getArgument(1);
+            if (calls.incrementAndGet() == 1) {
+                throw new CannotGetJdbcConnectionException("connection refused");
+            }
+            if (batch.stream().anyMatch(event -> event.articleId() == 13)) {
+                throw new DataIntegrityViolationException("foreign key violation");
+            }
+            batch.forEach(event -> written.add(event.articleId()));
+            return new int[0][];
+        });
+        List<Long> fannedOut = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            invocation.<List<InteractionEvent>>getArgument(0).forEach(event -> fannedOut.add(event.articleId()));
+            return null;
+        }).when(fanout).applyAll(any());
+        InteractionDeadLetterStore deadLetters = new InteractionDeadLetterStore(tempDir.resolve("dead.csv").toString());
+        InteractionIngestionBuffer buffer = buffer(100, 32, deadLetters);
+        buffer.start();
+
+        for (long articleId = 0; articleId < 32; articleId++) {
+            assertThat(buffer.offer(InteractionEvent.of(1, articleId, InteractionType.VIEW, 5))).isTrue();
+        }
+        buffer.stop();
+
+        assertThat(written).hasSize(31).doesNotContain(13L);
+        assertThat(fannedOut).containsExactlyInAnyOrderElementsOf(written);
+        assertThat(deadLetters.readAll()).extracting(InteractionEvent::articleId).containsExactly(13L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_shouldDeadLetterWholeBatchWhenDatabaseStaysDown() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any()))
+                .thenThrow(new CannotGetJdbcConnectionException("connection refused"));
+        InteractionDeadLetterStore deadLetters = new InteractionDeadLetterStore(tempDir.resolve("dead.csv").toString());
+        InteractionIngestionBuffer buffer = buffer(100, 10, deadLetters);
+        buffer.start();
+
+        InteractionEvent event = InteractionEvent.of(7, 70, InteractionType.LIKE, 42);
+        List<InteractionEvent> events = new ArrayList<>(List.of(event));
+        for (long articleId = 71; articleId < 80; articleId++) {
+            events.add(InteractionEvent.of(7, articleId, InteractionType.VIEW, null));
+        }
+        assertThat(buffer.offerAll(events)).isTrue();
+        buffer.stop();
+
+        // 연결 실패는 분할하지 않고 재시도 후 배치 전체를 그대로 보관한다
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+        List<InteractionEvent> stored = deadLetters.readAll();
+        assertThat(stored).hasSize(10).contains(event);
+        verify(fanout, times(0)).applyAll(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_shouldReplayDeadLettersAndKeepOnlyRowsThatFailAgain() throws Exception {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<InteractionEvent> batch = invocation.getArgument(1);
+            if (batch.stream().anyMatch(event -> event.articleId() == 13)) {
+                throw new DataIntegrityViolationException("foreign key violation");
+            }
+            batch.forEach(event -> written.add(event.articleId()));
+            return new int[0][];
+        });
+        Path file = tempDir.resolve("dead.csv");
+        InteractionDeadLetterStore deadLetters = new InteractionDeadLetterStore(file.toString());
+        deadLetters.append(List.of(InteractionEvent.of(1, 11, InteractionType.LIKE, 30),
+                                   InteractionEvent.of(1, 12, InteractionType.VIEW, null),
+                                   InteractionEvent.of(1, 13, InteractionType.VIEW, null)));
+        InteractionIngestionBuffer buffer = buffer(100, 2, deadLetters);
+
+        buffer.start();
+        buffer.stop();
+
+        // 배치 [11, 12]만 기록되어 팬아웃되고 [13]은 다시 실패한다
+        assertThat(written).containsExactlyInAnyOrder(11L, 12L);
+        verify(fanout, times(1)).applyAll(any());
+        // 다시 실패한 행만 새 파일에 남고 꺼낸 파일은 지워진다
+        assertThat(deadLetters.readAll()).extracting(InteractionEvent::articleId).containsExactly(13L);
+        assertThat(Files.exists(tempDir.resolve("dead.csv.replaying"))).isFalse();
+    }
+
+    private InteractionIngestionBuffer buffer(int capacity, int batchSize) {
+        return buffer(capacity, batchSize, new InteractionDeadLetterStore(tempDir.resolve("dead.csv").toString()));
+    }
+
+    private InteractionIngestionBuffer buffer(int capacity, int batchSize, InteractionDeadLetterStore deadLetters) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new InteractionIngestionBuffer(jdbcTemplate, transactionTemplate, fanout, deadLetters,
+                                              new SimpleMeterRegistry(), capacity, batchSize, Duration.ofMillis(5),
+                                              Duration.ofSeconds(10), 3, Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.jibmusil.interaction;
+
+import com.example.jibmusil.interaction.InteractionPartitionManager.Partition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InteractionPartitionManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private InteractionPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        manager = new InteractionPartitionManager(jdbcTemplate, new SimpleMeterRegistry(), 90, 2, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_shouldSplitFuturePartitionOnFirstRun() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.of(new Partition("p_future", null)));
+
+        manager.maintain(LocalDate.of(2026, 10, 19));
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).execute(ddl.capture());
+        assertThat(ddl.getValue()).isEqualTo("ALTER TABLE user_news_interactions REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p_history VALUES LESS THAN ('2026-10-01'), "
+                + "PARTITION p202610 VALUES LESS THAN ('2026-11-01'), "
+                + "PARTITION p202611 VALUES LESS THAN ('2026-12-01'), "
+                + "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_shouldRollUpAndDropOnlyFullyExpiredPartitions() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+                new Partition("p_history", LocalDate.of(2026, 6, 1)),
+                new Partition("p202606", LocalDate.of(2026, 7, 1)),
+                new Partition("p202607", LocalDate.of(2026, 8, 1)),
+                new Partition("p202612", LocalDate.of(2027, 1, 1)),
+                new Partition("p_future", null)));
+
+        // 2026-10-19 - 90일 = 2026-07-21: 7월 파티션은 아직 보존 기간 안의 행을 가진다
+        manager.maintain(LocalDate.of(2026, 10, 19));
+
+        verify(jdbcTemplate).update(contains("PARTITION (p_history)"), any(Object[].class));
+        verify(jdbcTemplate).update(contains("PARTITION (p202606)"), any(Object[].class));
+        verify(jdbcTemplate).execute("ALTER TABLE user_news_interactions DROP PARTITION p_history");
+        verify(jdbcTemplate).execute("ALTER TABLE user_news_interactions DROP PARTITION p202606");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE user_news_interactions DROP PARTITION p202607");
+        // 미래 파티션이 이미 충분하면 REORGANIZE하지 않는다
+        verify(jdbcTemplate, never()).execute(contains("REORGANIZE"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void maintain_shouldFallBackToBatchedDeleteWhenTableIsNotPartitioned() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.update(contains("DELETE"), any(Object[].class))).thenReturn(100, 100, 7);
+
+        manager.maintain(LocalDate.of(2026, 10, 19));
+
+        verify(jdbcTemplate).update(contains("INSERT INTO interaction_daily_rollups"), any(Object[].class));
+        verify(jdbcTemplate, times(3)).update(contains("DELETE"), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void parseUpperBound_shouldHandleRangeColumnsDescriptions() {
+        assertThat(InteractionPartitionManager.parseUpperBound("'2026-11-01 00:00:00'")).isEqualTo(LocalDate.of(2026, 11, 1));
+        assertThat(InteractionPartitionManager.parseUpperBound("'2026-11-01'")).isEqualTo(LocalDate.of(2026, 11, 1));
+        assertThat(InteractionPartitionManager.parseUpperBound("MAXVALUE")).isNull();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.analytics.EngagementWindowStore;
+import com.example.jibmusil.analytics.SentimentTextStore;
+import com.example.jibmusil.config.KafkaConsumerConfig;
+import com.example.jibmusil.event.KafkaEventPublisher;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.util.LongIntHashMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {KafkaConsumerConfig.class, EngagementWindowConsumer.class, NewsKafkaProducer.class,
+                           KafkaEventPublisher.class, EngagementWindowConsumerTest.MetricsConfig.class},
+                properties = {"spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                              "jibmusil.analytics.consumer.fetch-max-wait-ms=100"})
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(kraft = true, partitions = 1, topics = {NewsKafkaProducer.NEWS_VIEW_TOPIC, NewsKafkaProducer.USER_ACTIVITY_TOPIC})
+class EngagementWindowConsumerTest {
+
+    @MockitoBean
+    private EngagementWindowStore windowStore;
+
+    @MockitoBean
+    private NewsRepository newsRepository;
+
+    @MockitoBean
+    private SentimentTextStore sentimentTextStore;
+
+    @Autowired
+    private NewsKafkaProducer producer;
+
+    @Test
+    void consume_shouldRollUpViewsAndActivitiesPerArticleAndCategory() {
+        when(newsRepository.findCategoryIdsByIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, 1L}, new Object[]{11L, 1L}));
+        // 테스트가 분 경계에 걸치면 윈도우가 둘로 나뉘므로 기록된 윈도우를 모두 합산
+        LongIntHashMap articleViews = new LongIntHashMap();
+        LongIntHashMap articleActivities = new LongIntHashMap();
+        LongIntHashMap categoryViews = new LongIntHashMap();
+        LongIntHashMap categoryActivities = new LongIntHashMap();
+        doAnswer(invocation -> {
+            // 아직 반영된 오프셋이 없는 상태로 집계를 실행
+            Map<TopicPartition, Long> nextOffsets = invocation.getArgument(0);
+            Function<Map<TopicPartition, Long>, Collection<EngagementWindowStore.Window>> aggregator =
+                    invocation.getArgument(1);
+            Map<TopicPartition, Long> applied = new HashMap<>();
+            nextOffsets.keySet().forEach(partition -> applied.put(partition, 0L));
+            for (EngagementWindowStore.Window window : aggregator.apply(applied)) {
+                assertThat(window.startMillis() % EngagementWindowConsumer.WINDOW_MILLIS).isZero();
+                synchronized (articleViews) {
+                    window.articleViews().forEach(articleViews::addTo);
+                    window.articleActivities().forEach(articleActivities::addTo);
+                    window.categoryViews().forEach(categoryViews::addTo);
+                    window.categoryActivities().forEach(categoryActivities::addTo);
+                }
+            }
+            return null;
+        }).when(windowStore).write(anyMap(), any());
+
+        // 조회 3건을 한 이벤트로 묶어 보내도 3건으로 집계되어야 한다
+        producer.sendNewsViewEvent(10L, 3);
+        producer.sendNewsViewEvent(11L);
+        producer.sendNewsViewEvent(99L);
+        producer.sendUserActivityEvent(7L, "LIKE", 10L);
+        producer.sendUserActivityEvent(8L, "SHARE", 11L);
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            synchronized (articleViews) {
+                assertThat(articleViews.get(10L, 0)).isEqualTo(3);
+                assertThat(articleViews.get(11L, 0)).isEqualTo(1);
+                assertThat(articleViews.get(99L, 0)).isEqualTo(1);
+                assertThat(articleActivities.get(10L, 0)).isEqualTo(1);
+                assertThat(articleActivities.get(11L, 0)).isEqualTo(1);
+                // 카테고리가 없는 기사(99)는 카테고리 집계에서 빠진다
+                assertThat(categoryViews.get(1L, 0)).isEqualTo(4);
+                assertThat(categoryActivities.get(1L, 0)).isEqualTo(2);
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.util.ContentHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NewsEventCodecTest {
+
+    @Test
+    void encode_shouldRoundTripEveryEventType() {
+        NewsEvent[] events = {
+                new NewsEvent.Processed(42L, "AI 반도체 수출 급증", "https://example.com/a/42", 3L,
+                                        0.35f, 12f, 1_760_000_000_000L, 1_760_000_060_000L),
+                new NewsEvent.Processed(43L, null, "", 0L, Float.NaN, Float.NaN, 0L, 1_760_000_060_000L),
+                new NewsEvent.View(42L, 1_760_000_000_123L, 3),
+                new NewsEvent.UserActivity(42L, 7L, "LIKE", 1_760_000_000_456L),
+                new NewsEvent.SentimentAnalysis(42L, ContentHash.of("x".repeat(300)), -0.4f, "negative", 0.8f,
+                                                1_760_000_000_789L)
+        };
+
+        for (NewsEvent event : events) {
+            byte[] bytes = NewsEventCodec.encode(event);
+            assertThat(NewsEventCodec.decode(bytes)).isEqualTo(event);
+            assertThat(NewsEventCodec.articleId(bytes)).isEqualTo(event.articleId());
+        }
+        assertThat(NewsEventCodec.encode(events[2])).hasSize(22);
+        assertThat(NewsEventCodec.viewCount(NewsEventCodec.encode(events[2]))).isEqualTo(3);
+    }
+
+    @Test
+    void viewEvent_shouldReadEventsWithoutCountAsSingleView() {
+        byte[] bytes = NewsEventCodec.encode(new NewsEvent.View(42L, 1_760_000_000_123L, 1));
+        byte[] legacy = Arrays.copyOf(bytes, bytes.length - 4);
+
+        assertThat(NewsEventCodec.decode(legacy)).isEqualTo(new NewsEvent.View(42L, 1_760_000_000_123L, 1));
+        assertThat(NewsEventCodec.viewCount(legacy)).isEqualTo(1);
+        assertThat(NewsEventCodec.viewCount(NewsEventCodec.encode(new NewsEvent.UserActivity(42L, 7L, "LIKE", 1L))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void sentimentEvent_shouldStaySmallRegardlessOfTextLength() {
+        // 예전에는 원문 전체가 실렸다: 5,000자 기사는 이벤트당 5KB 이상
+        String text = "반도체 수출이 3개월 연속 증가했다. ".repeat(250);
+        byte[] bytes = NewsEventCodec.encode(new NewsEvent.SentimentAnalysis(
+                42L, ContentHash.of(text), 0.6f, "positive", 0.9f, 1_760_000_000_000L));
+
+        assertThat(bytes.length).isLessThan(text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length / 100);
+        assertThat(((NewsEvent.SentimentAnalysis) NewsEventCodec.decode(bytes)).textHash().matches(text)).isTrue();
+    }
+
+    @Test
+    void decode_shouldRejectTruncatedOrForeignPayloads() {
+        byte[] bytes = NewsEventCodec.encode(new NewsEvent.UserActivity(42L, 7L, "SHARE", 1L));
+
+        assertThatThrownBy(() -> NewsEventCodec.decode(Arrays.copyOf(bytes, bytes.length - 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        byte[] json = "{\"articleId\":42}".getBytes();
+        assertThat(NewsEventCodec.articleId(json)).isEqualTo(NewsEventCodec.NO_ARTICLE);
+        assertThat(NewsEventCodec.articleId(null)).isEqualTo(NewsEventCodec.NO_ARTICLE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.jibmusil.kafka;
+
+import com.example.jibmusil.event.EventPublisher;
+import com.example.jibmusil.kafka.OutboxRelay.OutboxRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private EventPublisher eventPublisher;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(EventPublisher.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), eventPublisher, meterRegistry,
+                                500, 20, Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofDays(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_shouldPublishBatchWithOutboxIdsAndMarkRowsSent() {
+        long createdAt = System.currentTimeMillis() - 5_000;
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new OutboxRow(1L, "news-processed", "10", new byte[]{1}, createdAt),
+                new OutboxRow(2L, "news-processed", "11", new byte[]{2}, createdAt + 1_000)));
+        when(eventPublisher.publish(anyString(), anyString(), any(byte[].class), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        // 리스를 건 트랜잭션을 커밋한 뒤 발행하고, 발행 완료 표시는 별도 트랜잭션으로 한다
+        InOrder order = inOrder(jdbcTemplate, transactionManager, eventPublisher);
+        order.verify(jdbcTemplate).batchUpdate(startsWith("UPDATE event_outbox SET claimed_until"), anyCollection(),
+                                               anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(eventPublisher).publish(eq("news-processed"), eq("10"), any(byte[].class), eq(1L));
+        order.verify(eventPublisher).publish(eq("news-processed"), eq("11"), any(byte[].class), eq(2L));
+        order.verify(eventPublisher).flush();
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate).batchUpdate(startsWith("UPDATE event_outbox SET sent_at"), anyCollection(), anyInt(),
+                                               any(ParameterizedPreparedStatementSetter.class));
+        order.verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("outbox.relay.published").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.relay.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(5.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_shouldLeaveRowsUnsentWhenKafkaFails() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new OutboxRow(1L, "news-processed", "10", new byte[]{1}, System.currentTimeMillis())));
+        when(eventPublisher.publish(anyString(), anyString(), any(byte[].class), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay.relay();
+
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("UPDATE event_outbox SET sent_at"), anyCollection(),
+                                                  anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        // 리스를 걸었다가 반납해 다음 주기에 바로 다시 발행한다
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("UPDATE event_outbox SET claimed_until"),
+                                                   anyCollection(), anyInt(),
+                                                   any(ParameterizedPreparedStatementSetter.class));
+        assertThat(meterRegistry.get("outbox.relay.failed").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.jibmusil.news;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PopularityCountersTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PopularityCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counters = new PopularityCounters(jdbcTemplate, new SimpleMeterRegistry(), 500);
+    }
+
+    @Test
+    void flush_shouldAggregateConcurrentIncrementsIntoOneMultiRowUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            long articleId = i % 10 == 0 ? 2L : 1L;
+            executor.execute(() -> counters.increment(articleId));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counters.pending(1L)).isEqualTo(9_000);
+        assertThat(counters.livePopularity(NewsArticle.builder().id(2L).popularityScore(new BigDecimal("5.00")).build()))
+                .isEqualByComparingTo("1005");
+
+        counters.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), parameters.capture());
+        assertThat(sql.getValue()).contains("CASE id WHEN ? THEN ? WHEN ? THEN ? ELSE 0 END WHERE id IN (?, ?)");
+        assertThat(parameters.getValue()).containsExactlyInAnyOrder(1L, 9_000L, 2L, 1_000L, 1L, 2L);
+        assertThat(counters.pending(1L)).isZero();
+    }
+
+    @Test
+    void flush_shouldRequeueDeltasWhenUpdateFails() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new QueryTimeoutException("timeout"));
+        counters.increment(7L);
+        counters.increment(7L);
+
+        counters.flush();
+        counters.increment(7L);
+
+        assertThat(counters.pending(7L)).isEqualTo(3);
+        counters.flush();
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+    }
+}
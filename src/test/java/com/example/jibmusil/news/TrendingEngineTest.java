@@ -0,0 +1,107 @@
+package com.example.jibmusil.news;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendingEngineTest {
+
+    private NewsRepository newsRepository;
+    private final Map<Long, NewsArticle> stored = new HashMap<>();
+    private TrendingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        newsRepository = mock(NewsRepository.class);
+        when(newsRepository.findRecentNews(any(), any(Pageable.class))).thenReturn(List.of());
+        when(newsRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<NewsArticle> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            });
+            return found;
+        });
+        engine = new TrendingEngine(newsRepository, Duration.ofHours(6), 4, 3, 3, 16);
+        engine.warmUp();
+    }
+
+    @Test
+    void getTrending_shouldPreferFreshArticlesOverOldPopularOnes() {
+        NewsArticle lastYear = article(1L, 1L, LocalDateTime.now().minusDays(365), "500");
+        NewsArticle today = article(2L, 1L, LocalDateTime.now().minusHours(1), "0");
+        engine.onArticlesIngested(List.of(lastYear, today));
+
+        assertThat(engine.getTrending(2)).extracting(NewsArticle::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void recordInteraction_shouldReorderGlobalAndCategoryTopK() {
+        LocalDateTime now = LocalDateTime.now();
+        engine.onArticlesIngested(List.of(article(1L, 1L, now, "0"), article(2L, 1L, now, "0"), article(3L, 2L, now, "0")));
+
+        engine.recordInteraction(3L, InteractionType.SHARE);
+        engine.recordInteraction(2L, InteractionType.LIKE);
+
+        assertThat(engine.getTrending(3)).extracting(NewsArticle::getId).containsExactly(3L, 2L, 1L);
+        assertThat(engine.getTrendingInCategory(1L, 3)).extracting(NewsArticle::getId).containsExactly(2L, 1L);
+        verify(newsRepository, never()).findTrendingNews(anyInt());
+    }
+
+    @Test
+    void onArticlesIngested_shouldRecycleSlotsOutsideTopKWhenFull() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 6; id++) {
+            engine.onArticlesIngested(List.of(article(id, id, now, String.valueOf(id * 10))));
+        }
+
+        assertThat(engine.getTrending(3)).extracting(NewsArticle::getId).containsExactly(6L, 5L, 4L);
+    }
+
+    @Test
+    void getTrending_shouldLoadOnlyTopEntitiesAndSkipDeletedOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        engine.onArticlesIngested(List.of(article(1L, 1L, now, "30"), article(2L, 1L, now, "20"),
+                                          article(3L, 1L, now, "10")));
+        stored.remove(2L);
+
+        assertThat(engine.getTrending(3)).extracting(NewsArticle::getId).containsExactly(1L, 3L);
+        // 두 번째 조회에서 1, 3은 캐시에서 읽고 찾지 못한 2만 다시 조회한다
+        assertThat(engine.getTrending(3)).extracting(NewsArticle::getId).containsExactly(1L, 3L);
+        verify(newsRepository, times(2)).findAllById(anyIterable());
+    }
+
+    private NewsArticle article(Long id, Long categoryId, LocalDateTime publishedAt, String popularity) {
+        NewsArticle article = NewsArticle.builder()
+                .id(id)
+                .categoryId(categoryId)
+                .title("article " + id)
+                .url("https://example.com/" + id)
+                .publishedAt(publishedAt)
+                .popularityScore(new BigDecimal(popularity))
+                .build();
+        stored.put(id, article);
+        return article;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.jibmusil.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AlsTrainingJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @TempDir
+    Path modelDirectory;
+
+    private String url;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE user_news_interactions (
+                    user_id BIGINT, news_article_id BIGINT, interaction_type VARCHAR(20),
+                    reading_time_seconds INT, interaction_time TIMESTAMP)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void train_shouldFitAlsWithLocalSparkAndPublishEmbeddings() throws Exception {
+        // 사용자 1 ~ 3은 기사 10 ~ 12, 사용자 4 ~ 6은 기사 20 ~ 22를 읽는 두 무리, 사용자 3은 기사 12를 아직 안 읽었다
+        LocalDateTime recent = LocalDateTime.now().minusHours(1);
+        for (long user = 1; user <= 6; user++) {
+            long firstArticle = user <= 3 ? 10 : 20;
+            for (long article = firstArticle; article < firstArticle + 3; article++) {
+                if (user != 3 || article != 12) {
+                    insert(user, article, "LIKE", 120, recent);
+                }
+            }
+        }
+        insert(1L, 20L, "DISLIKE", 10, recent);
+        EmbeddingScorer scorer = new EmbeddingScorer(modelDirectory.toString(), new SimpleMeterRegistry());
+
+        newJob(scorer).train();
+
+        assertThat(scorer.hasUser(1L)).isTrue();
+        assertThat(scorer.hasUser(6L)).isTrue();
+        float[] scores = scorer.score(3L, new long[]{12L, 22L});
+        assertThat(scores[0]).isGreaterThan(scores[1]);
+        try (var files = Files.list(modelDirectory)) {
+            assertThat(files).isNotEmpty();
+        }
+    }
+
+    @Test
+    void interactionQuery_shouldSumTypeWeightsAndCappedReadingTime() {
+        insert(1L, 10L, "VIEW", 120, NOW.minusHours(1));
+        // 읽은 시간이 없는 상호작용도 유형 가중치는 그대로 반영되어야 한다
+        insert(1L, 10L, "LIKE", null, NOW.minusHours(1));
+        // 읽은 시간은 300초(5점)에서 잘린다
+        insert(1L, 11L, "SAVE", 600, NOW.minusHours(2));
+
+        Map<Long, Double> confidence = confidenceByArticle(1L);
+
+        assertThat(confidence).containsOnlyKeys(10L, 11L);
+        assertThat(confidence.get(10L)).isCloseTo(1 + 2.0 + 4, within(1e-6));
+        assertThat(confidence.get(11L)).isCloseTo(6 + 5.0, within(1e-6));
+    }
+
+    @Test
+    void interactionQuery_shouldSkipDislikesAndInteractionsBeforeHistoryWindow() {
+        insert(2L, 10L, "DISLIKE", 30, NOW.minusHours(1));
+        insert(2L, 12L, "CLICK", null, NOW.minusDays(100));
+        insert(2L, 13L, "SHARE", null, NOW.minusDays(1));
+
+        assertThat(confidenceByArticle(2L)).containsExactly(Map.entry(13L, 5.0));
+    }
+
+    private AlsTrainingJob newJob(EmbeddingScorer scorer) {
+        AlsTrainingJob job = new AlsTrainingJob(scorer, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "datasourceUrl", url);
+        ReflectionTestUtils.setField(job, "datasourceUsername", "sa");
+        ReflectionTestUtils.setField(job, "datasourcePassword", "");
+        ReflectionTestUtils.setField(job, "datasourceDriver", "org.h2.Driver");
+        ReflectionTestUtils.setField(job, "rank", 4);
+        ReflectionTestUtils.setField(job, "maxIterations", 10);
+        ReflectionTestUtils.setField(job, "regParam", 0.05);
+        ReflectionTestUtils.setField(job, "alpha", 10.0);
+        ReflectionTestUtils.setField(job, "historyDays", 90);
+        return job;
+    }
+
+    private Map<Long, Double> confidenceByArticle(long userId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT * FROM " + AlsTrainingJob.interactionQuery(NOW.minusDays(90)) + " WHERE user_id = ?", userId);
+        return rows.stream().collect(Collectors.toMap(
+                row -> ((Number) row.get("NEWS_ARTICLE_ID")).longValue(),
+                row -> ((Number) row.get("CONFIDENCE")).doubleValue()));
+    }
+
+    private void insert(long userId, long articleId, String type, Integer readingSeconds, LocalDateTime time) {
+        jdbcTemplate.update("INSERT INTO user_news_interactions VALUES (?, ?, ?, ?, ?)",
+                            userId, articleId, type, readingSeconds, Timestamp.valueOf(time));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsCategory;
+import com.example.jibmusil.news.NewsCategoryRepository;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class ColdStartPoolsTest {
+
+    private NewsRepository newsRepository;
+    private NewsCategoryRepository categoryRepository;
+    private ColdStartPools pools;
+
+    @BeforeEach
+    void setUp() {
+        newsRepository = mock(NewsRepository.class);
+        categoryRepository = mock(NewsCategoryRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        when(newsRepository.findRecentNews(any(), any())).thenReturn(List.of(
+                article(1L, 1L, "en", 90, now.minusHours(2)),
+                article(2L, 1L, "en", 10, now.minusHours(3)),
+                article(3L, 2L, "en", 80, now.minusHours(1)),
+                article(4L, 2L, "ko", 70, now.minusHours(1)),
+                article(5L, 3L, "en", 100, now.minusDays(3))));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Technology"), category(2L, "Business")));
+        pools = new ColdStartPools(newsRepository, categoryRepository, new ObjectMapper(), new SimpleMeterRegistry(),
+                                   List.of(Duration.ofDays(7), Duration.ofHours(24)), 10, 1000, "en");
+        pools.refresh();
+    }
+
+    @Test
+    void recommend_shouldInterleavePreferredCategoriesThenFillFromLanguagePool() {
+        User user = User.builder().id(7L).preferences("[\"technology\", \"business\"]").build();
+
+        assertThat(ids(pools.recommend(user, 4))).containsExactly(1L, 3L, 2L, 5L);
+    }
+
+    @Test
+    void recommend_shouldUseLanguageFromPreferencesObjectAndServeFromMemory() {
+        User user = User.builder().id(8L).preferences("{\"theme\": \"dark\", \"language\": \"ko\"}").build();
+
+        assertThat(ids(pools.recommend(user, 2))).containsExactly(4L, 1L);
+        assertThat(ids(pools.recommend(null, 3))).containsExactly(1L, 3L, 2L);
+
+        // refresh()의 조회 외에는 저장소 호출이 없어야 한다
+        verify(newsRepository).findRecentNews(any(), any());
+        verifyNoMoreInteractions(newsRepository);
+    }
+
+    private static List<Long> ids(List<NewsArticle> articles) {
+        return articles.stream().map(NewsArticle::getId).toList();
+    }
+
+    private static NewsArticle article(Long id, Long categoryId, String language, int popularity, LocalDateTime publishedAt) {
+        return NewsArticle.builder()
+                .id(id)
+                .categoryId(categoryId)
+                .language(language)
+                .popularityScore(BigDecimal.valueOf(popularity))
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    private static NewsCategory category(Long id, String name) {
+        NewsCategory category = new NewsCategory();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
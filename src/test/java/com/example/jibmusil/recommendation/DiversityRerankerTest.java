@@ -0,0 +1,70 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiversityRerankerTest {
+
+    // 0: 기준 기사, 1: 0번의 신디케이션 중복, 2: 같은 카테고리의 다른 기사, 3: 다른 카테고리
+    private static final List<NewsArticle> CANDIDATES = List.of(
+            article(1L, "source-a", "Chipmakers rally after record earnings"),
+            article(1L, "source-a", "Chipmakers rally after record earnings"),
+            article(1L, "source-b", "Central bank holds interest rates"),
+            article(2L, "source-c", "Local football team wins championship"));
+    private static final float[] RELEVANCE = {1.0f, 0.98f, 0.9f, 0.6f};
+
+    @Test
+    void rerank_shouldPushNearDuplicateBelowLessRelevantDiverseArticles() {
+        DiversityReranker.Result result = reranker(0.7f).rerank(CANDIDATES, RELEVANCE, 4);
+
+        // 중복 기사(1번)는 유사도 1.0 패널티로 관련도가 낮은 3번보다도 뒤로 밀린다
+        assertThat(result.order()).containsExactly(0, 2, 3, 1);
+    }
+
+    @Test
+    void rerank_shouldFollowRelevanceOnlyWhenLambdaIsOne() {
+        DiversityReranker.Result result = reranker(1.0f).rerank(CANDIDATES, RELEVANCE, 4);
+
+        assertThat(result.order()).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void rerank_shouldFollowDissimilarityOnlyWhenLambdaIsZero() {
+        DiversityReranker.Result result = reranker(0.0f).rerank(CANDIDATES, RELEVANCE, 4);
+
+        // 첫 선택은 동점이라 앞선 후보, 이후에는 선택된 기사와 가장 덜 닮은 순서
+        assertThat(result.order()).containsExactly(0, 3, 2, 1);
+    }
+
+    @Test
+    void rerank_shouldReturnEveryCandidateWhenLimitExceedsCount() {
+        DiversityReranker.Result result = reranker(0.7f).rerank(CANDIDATES, RELEVANCE, 10);
+
+        assertThat(result.order()).hasSize(4).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(result.scores()).hasSize(4);
+        for (int i = 1; i < result.scores().length; i++) {
+            assertThat(result.scores()[i]).isLessThanOrEqualTo(result.scores()[i - 1]);
+        }
+        assertThat(result.scores()[3]).isGreaterThanOrEqualTo(0f);
+    }
+
+    @Test
+    void rerank_shouldReturnEmptyResultForNoCandidates() {
+        DiversityReranker.Result result = reranker(0.7f).rerank(List.of(), new float[0], 5);
+
+        assertThat(result.order()).isEmpty();
+        assertThat(result.scores()).isEmpty();
+    }
+
+    private static DiversityReranker reranker(float lambda) {
+        return new DiversityReranker(lambda, 0.4f, 0.2f, 0.4f);
+    }
+
+    private static NewsArticle article(Long categoryId, String sourceName, String title) {
+        return NewsArticle.builder().categoryId(categoryId).sourceName(sourceName).title(title).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.jibmusil.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingScorerTest {
+
+    @TempDir
+    Path modelDirectory;
+
+    // 사용자 1 = (1, 2), 사용자 2 = (0, 1)
+    private final EmbeddingStore users = new EmbeddingStore(2, new long[]{1L, 2L}, new float[]{1f, 2f, 0f, 1f});
+    // 기사 10 = (3, 4), 기사 20 = (-1, 0.5)
+    private final EmbeddingStore articles = new EmbeddingStore(2, new long[]{10L, 20L}, new float[]{3f, 4f, -1f, 0.5f});
+
+    @Test
+    void score_shouldReturnDotProductAndZeroForUnknownArticles() throws Exception {
+        EmbeddingScorer scorer = newScorer();
+        scorer.publish(users, articles);
+
+        assertThat(scorer.hasUser(1L)).isTrue();
+        assertThat(scorer.score(1L, new long[]{10L, 20L, 99L})).containsExactly(11f, 0f, 0f);
+        assertThat(scorer.score(2L, new long[]{20L})).containsExactly(0.5f);
+    }
+
+    @Test
+    void score_shouldReturnZerosForUnknownUserOrBeforeTraining() throws Exception {
+        EmbeddingScorer scorer = newScorer();
+        assertThat(scorer.hasUser(1L)).isFalse();
+        assertThat(scorer.score(1L, new long[]{10L})).containsExactly(0f);
+
+        scorer.publish(users, articles);
+
+        assertThat(scorer.hasUser(3L)).isFalse();
+        assertThat(scorer.score(3L, new long[]{10L, 20L})).containsExactly(0f, 0f);
+    }
+
+    @Test
+    void loadPersistedModel_shouldRestorePublishedEmbeddings() throws Exception {
+        newScorer().publish(users, articles);
+
+        EmbeddingScorer restarted = newScorer();
+        restarted.loadPersistedModel();
+
+        assertThat(restarted.hasUser(2L)).isTrue();
+        assertThat(restarted.score(1L, new long[]{20L, 10L})).containsExactly(0f, 11f);
+    }
+
+    @Test
+    void embeddingStore_shouldRejectVectorsThatDoNotMatchRank() {
+        assertThatThrownBy(() -> new EmbeddingStore(3, new long[]{1L}, new float[]{1f, 2f}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EmbeddingScorer newScorer() {
+        return new EmbeddingScorer(modelDirectory.toString(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import com.example.jibmusil.user.UserNewsInteractionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ItemCooccurrenceModelTest {
+
+    private ItemCooccurrenceModel model;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        model = new ItemCooccurrenceModel(mock(UserNewsInteractionRepository.class), Duration.ofDays(3), 3, 20, 30, 0.01f);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void similarArticles_shouldRankCoReadArticlesFirst() {
+        // 사용자 1, 2 모두 10과 20을 좋아함, 사용자 3만 10과 30을 좋아함
+        model.record(1L, 10L, InteractionType.LIKE, 0, now);
+        model.record(1L, 20L, InteractionType.LIKE, 0, now);
+        model.record(2L, 10L, InteractionType.SAVE, 0, now);
+        model.record(2L, 20L, InteractionType.SAVE, 0, now);
+        model.record(3L, 10L, InteractionType.LIKE, 0, now);
+        model.record(3L, 30L, InteractionType.LIKE, 0, now);
+
+        assertThat(model.similarArticles(10L, 5)).containsExactly(20L, 30L);
+    }
+
+    @Test
+    void record_shouldIgnoreNonPositiveInteractions() {
+        model.record(1L, 10L, InteractionType.VIEW, 120, now);
+        model.record(1L, 20L, InteractionType.CLICK, 0, now);
+        model.record(1L, 30L, InteractionType.DISLIKE, 0, now);
+
+        assertThat(model.similarArticles(10L, 5)).isEmpty();
+        assertThat(model.itemCount()).isZero();
+    }
+
+    @Test
+    void recommendForUser_shouldExcludeSeenArticles() {
+        model.record(1L, 10L, InteractionType.LIKE, 0, now);
+        model.record(1L, 20L, InteractionType.LIKE, 0, now);
+        model.record(1L, 30L, InteractionType.LIKE, 0, now);
+        model.record(2L, 10L, InteractionType.LIKE, 0, now);
+
+        assertThat(model.recommendForUser(2L, 5, id -> false)).containsExactlyInAnyOrder(20L, 30L);
+        assertThat(model.recommendForUser(2L, 5, id -> id == 30L)).containsExactly(20L);
+    }
+
+    @Test
+    void record_shouldCapNeighboursPerItem() {
+        for (long article = 100; article < 120; article++) {
+            model.record(1L, 10L, InteractionType.LIKE, 0, now);
+            model.record(1L, article, InteractionType.LIKE, 0, now);
+        }
+
+        assertThat(model.similarArticles(10L, 100).length).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void record_shouldDecayOldInteractions() {
+        long twoWeeksAgo = now - Duration.ofDays(14).toMillis();
+        model.record(1L, 10L, InteractionType.SAVE, 300, twoWeeksAgo);
+        model.record(1L, 20L, InteractionType.SAVE, 300, twoWeeksAgo);
+        model.record(2L, 10L, InteractionType.LIKE, 0, now);
+        model.record(2L, 30L, InteractionType.LIKE, 0, now);
+
+        assertThat(model.similarArticles(10L, 2)).startsWith(30L);
+    }
+
+    @Test
+    void evictStale_shouldDropDecayedItemsAndUsersButKeepRecentOnes() {
+        long monthAgo = now - Duration.ofDays(30).toMillis();
+        model.record(1L, 10L, InteractionType.LIKE, 0, monthAgo);
+        model.record(1L, 20L, InteractionType.LIKE, 0, monthAgo);
+        model.record(2L, 30L, InteractionType.LIKE, 0, now);
+        model.record(2L, 40L, InteractionType.LIKE, 0, now);
+        assertThat(model.itemCount()).isEqualTo(4);
+
+        model.evictStale(now);
+
+        // 30일(10 반감기) 전 상호작용은 가중치가 0.001 수준이라 사라진다
+        assertThat(model.itemCount()).isEqualTo(2);
+        assertThat(model.similarArticles(10L, 5)).isEmpty();
+        assertThat(model.recommendForUser(1L, 5, id -> false)).isEmpty();
+        assertThat(model.similarArticles(30L, 5)).containsExactly(40L);
+
+        // 제거된 사용자도 새 상호작용부터 다시 쌓인다
+        model.record(1L, 30L, InteractionType.LIKE, 0, now);
+        assertThat(model.recommendForUser(1L, 5, id -> false)).containsExactly(40L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.jibmusil.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PreferenceAccumulatorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PreferenceAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        accumulator = new PreferenceAccumulator(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                                                meterRegistry, 4, 100, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldCoalesceConcurrentDeltasIntoOneRowPerUserCategory() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            executor.execute(() -> accumulator.add(7L, 3L, 0.01f));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        accumulator.add(8L, 3L, -0.1f);
+
+        accumulator.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        Object[] row = rows.getValue().stream().filter(r -> (Long) r[0] == 7L).findFirst().orElseThrow();
+        assertThat((Long) row[1]).isEqualTo(3L);
+        assertThat((Float) row[2]).isCloseTo(80f, within(0.01f));
+        assertThat(accumulator.pendingKeys()).isZero();
+    }
+
+    @Test
+    void flush_shouldRequeueDeltasWhenBatchFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        accumulator.add(1L, 2L, 0.2f);
+
+        accumulator.flush();
+
+        assertThat(accumulator.pendingKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_shouldDropDeltasAfterMaxAttempts() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        accumulator.add(1L, 2L, 0.2f);
+
+        accumulator.flush();
+        accumulator.flush();
+        assertThat(accumulator.pendingKeys()).isEqualTo(1);
+        accumulator.flush();
+
+        assertThat(accumulator.pendingKeys()).isZero();
+        assertThat(meterRegistry.counter("recommendation.preferences.retried.rows").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("recommendation.preferences.dropped.rows").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldDropOnlyRowsThatViolateConstraints() {
+        // 사용자 13의 행만 제약을 위반한다
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> (Long) row[0] == 13L)) {
+                throw new DataIntegrityViolationException("user 13 does not exist");
+            }
+            return new int[rows.size()];
+        });
+        for (long user = 1; user <= 20; user++) {
+            accumulator.add(user, 1L, 0.05f);
+        }
+
+        accumulator.flush();
+
+        assertThat(accumulator.pendingKeys()).isZero();
+        assertThat(meterRegistry.counter("recommendation.preferences.flushed.rows").count()).isEqualTo(19);
+        assertThat(meterRegistry.counter("recommendation.preferences.dropped.rows").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("recommendation.preferences.retried.rows").count()).isZero();
+    }
+
+    @Test
+    void flush_shouldSkipDatabaseWhenNothingIsPending() {
+        accumulator.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_shouldSplitLargeFlushesIntoBatches() {
+        for (long user = 1; user <= 250; user++) {
+            accumulator.add(user, 1L, 0.05f);
+        }
+
+        accumulator.flush();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+    }
+}
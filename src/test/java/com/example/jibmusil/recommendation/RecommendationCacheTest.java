@@ -0,0 +1,129 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.user.UserNewsInteraction.InteractionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationCacheTest {
+
+    private final NewsRepository newsRepository = mock(NewsRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RecommendationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RecommendationCache(new ConcurrentMapCacheManager("recommendations"), newsRepository, meterRegistry);
+        ReflectionTestUtils.setField(cache, "minimumCandidates", 3);
+        when(newsRepository.findCategoryIdById(anyLong())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void withInteraction_shouldRemoveArticleAndReorderBoostedCategory() {
+        ScoredCandidates candidates = new ScoredCandidates(
+                new long[]{1, 2, 3, 4}, new long[]{10, 20, 10, 30}, new float[]{0.9f, 0.8f, 0.7f, 0.6f}, 4);
+
+        ScoredCandidates patched = candidates.withInteraction(1L, 10L, 1.3f);
+
+        // 같은 카테고리(10)인 3번이 0.91로 올라 2번을 앞선다
+        assertThat(patched.articleIds()).containsExactly(3L, 2L, 4L);
+        assertThat(patched.scores()[0]).isEqualTo(0.7f * 1.3f);
+        assertThat(patched.categoryOf(3L)).isEqualTo(10L);
+        assertThat(patched.categoryOf(1L)).isEqualTo(ScoredCandidates.NO_CATEGORY);
+    }
+
+    @Test
+    void canServe_shouldReflectCandidatesLeftAfterPatching() {
+        ScoredCandidates candidates = new ScoredCandidates(
+                new long[]{1, 2, 3}, new long[]{10, 20, 30}, new float[]{0.9f, 0.8f, 0.7f}, 3);
+        assertThat(candidates.canServe(3)).isTrue();
+
+        ScoredCandidates patched = candidates.withInteraction(2L, 20L, 1.1f);
+
+        assertThat(patched.canServe(2)).isTrue();
+        assertThat(patched.canServe(3)).isFalse();
+    }
+
+    @Test
+    void get_shouldMissWhenPatchedPoolCannotFillLimit() {
+        cache.put(1L, pool(5));
+        cache.applyInteraction(1L, 100L, InteractionType.VIEW);
+
+        assertThat(cache.get(1L, 4)).isNotNull();
+        assertThat(cache.get(1L, 5)).isNull();
+        assertThat(meterRegistry.get("recommendation.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void applyInteraction_shouldEvictExhaustedPool() {
+        cache.put(1L, pool(4));
+
+        cache.applyInteraction(1L, 100L, InteractionType.CLICK);
+        assertThat(cache.get(1L, 1)).isNotNull();
+        cache.applyInteraction(1L, 101L, InteractionType.CLICK);
+
+        // 남은 후보가 minimumCandidates(3)보다 적어 다음 요청에서 재계산하도록 비운다
+        assertThat(cache.get(1L, 1)).isNull();
+        assertThat(meterRegistry.get("recommendation.cache.invalidations").tag("reason", "exhausted").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void applyInteraction_shouldNotLoseConcurrentPatchesForSameUser() throws Exception {
+        int interactions = 64;
+        cache.put(1L, pool(interactions + 10));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < interactions; i++) {
+            long articleId = 100L + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                cache.applyInteraction(1L, articleId, InteractionType.VIEW);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // 모든 보정이 반영되어 상호작용한 기사가 하나도 남지 않는다
+        ScoredCandidates remaining = cache.get(1L, 10);
+        assertThat(remaining).isNotNull();
+        assertThat(remaining.articleIds()).hasSize(10);
+        assertThat(Arrays.stream(remaining.articleIds()).min().getAsLong()).isEqualTo(100L + interactions);
+    }
+
+    // 100, 101, ... 순서로 점수가 낮아지는 후보 풀
+    private static ScoredCandidates pool(int size) {
+        long[] ids = new long[size];
+        long[] categories = new long[size];
+        float[] scores = new float[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 100L + i;
+            categories[i] = i % 3;
+            scores[i] = 1f - i * 0.001f;
+        }
+        return new ScoredCandidates(ids, categories, scores, size);
+    }
+}
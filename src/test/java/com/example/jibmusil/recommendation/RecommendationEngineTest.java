@@ -0,0 +1,154 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.news.NewsRepository;
+import com.example.jibmusil.news.TrendingEngine;
+import com.example.jibmusil.user.User;
+import com.example.jibmusil.user.UserNewsInteractionRepository;
+import com.example.jibmusil.user.UserPreferenceProfile;
+import com.example.jibmusil.user.UserPreferenceProfileRepository;
+import com.example.jibmusil.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecommendationEngineTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(100);
+
+    private final NewsRepository newsRepository = mock(NewsRepository.class);
+    private final TrendingEngine trendingEngine = mock(TrendingEngine.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserNewsInteractionRepository interactionRepository = mock(UserNewsInteractionRepository.class);
+    private final UserPreferenceProfileRepository preferenceRepository = mock(UserPreferenceProfileRepository.class);
+    private final ItemCooccurrenceModel itemCooccurrenceModel = mock(ItemCooccurrenceModel.class);
+    private final RecommendationCache recommendationCache = mock(RecommendationCache.class);
+    private final EmbeddingScorer embeddingScorer = mock(EmbeddingScorer.class);
+    private final SeenArticleFilter seenArticleFilter = mock(SeenArticleFilter.class);
+    private final ColdStartPools coldStartPools = mock(ColdStartPools.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RecommendationEngine(newsRepository, trendingEngine, userRepository, interactionRepository,
+                preferenceRepository, itemCooccurrenceModel, recommendationCache,
+                new DiversityReranker(0.7f, 0.4f, 0.2f, 0.4f), embeddingScorer, mock(PreferenceAccumulator.class),
+                seenArticleFilter, coldStartPools, meterRegistry);
+        ReflectionTestUtils.setField(engine, "candidatePoolSize", 4);
+        ReflectionTestUtils.setField(engine, "preferenceTimeout", BUDGET);
+        ReflectionTestUtils.setField(engine, "collaborativeTimeout", BUDGET);
+        ReflectionTestUtils.setField(engine, "contentTimeout", BUDGET);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(preferenceRepository.findByUserIdOrderByPreferenceScoreDesc(1L)).thenReturn(List.of(
+                UserPreferenceProfile.builder().userId(1L).categoryId(5L).preferenceScore(new BigDecimal("0.9")).build()));
+        when(preferenceRepository.existsByUserId(1L)).thenReturn(true);
+        when(seenArticleFilter.forUser(anyLong())).thenReturn(id -> false);
+        // 협업 필터링: 11, 12 / 선호도: 31, 32 / 트렌딩: 21 ~ 24
+        when(itemCooccurrenceModel.recommendForUser(eq(1L), anyInt(), any())).thenReturn(new long[]{11L, 12L});
+        when(newsRepository.findAllById(anyIterable())).thenReturn(List.of(article(11L, 1L), article(12L, 2L)));
+        when(trendingEngine.getTrending(anyInt())).thenReturn(
+                LongStream.rangeClosed(21, 24).mapToObj(id -> article(id, id)).toList());
+        when(interactionRepository.findRecentPositiveInteractionsByUserId(eq(1L), any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdownExecutor();
+    }
+
+    @Test
+    void getPersonalizedRecommendations_shouldNotWaitForSourceThatMissesItsDeadline() {
+        when(newsRepository.findByCategoryIdOrderByPopularityAndDate(eq(5L), any())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of(article(31L, 5L), article(32L, 5L));
+        });
+
+        long started = System.nanoTime();
+        List<NewsArticle> recommendations = engine.getPersonalizedRecommendations(1L, 4);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(elapsedMillis).isLessThan(1_000);
+        // 느린 선호도 소스 대신 협업 필터링 결과와 트렌딩으로 채운다
+        assertThat(recommendations).extracting(NewsArticle::getId)
+                .hasSize(4)
+                .contains(11L, 12L)
+                .doesNotContain(31L, 32L);
+        assertThat(meterRegistry.get("recommendation.source.timeouts").tag("source", "preference").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("recommendation.source.timeouts").tag("source", "collaborative").counter())
+                .isNull();
+        assertThat(meterRegistry.get("recommendation.source.latency").tag("source", "collaborative").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void getPersonalizedRecommendations_shouldCountFailedSourceAndKeepOthers() {
+        when(newsRepository.findByCategoryIdOrderByPopularityAndDate(eq(5L), any()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        List<NewsArticle> recommendations = engine.getPersonalizedRecommendations(1L, 4);
+
+        assertThat(recommendations).extracting(NewsArticle::getId).hasSize(4).contains(11L, 12L);
+        assertThat(meterRegistry.get("recommendation.source.errors").tag("source", "preference").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("recommendation.source.timeouts").counter()).isNull();
+    }
+
+    @Test
+    void getPersonalizedRecommendations_shouldCombineAllSourcesThatAnswerInTime() {
+        when(newsRepository.findByCategoryIdOrderByPopularityAndDate(eq(5L), any()))
+                .thenReturn(List.of(article(31L, 5L), article(32L, 5L)));
+
+        List<NewsArticle> recommendations = engine.getPersonalizedRecommendations(1L, 4);
+
+        assertThat(recommendations).extracting(NewsArticle::getId).containsExactlyInAnyOrder(11L, 12L, 31L, 32L);
+        assertThat(meterRegistry.find("recommendation.source.timeouts").counter()).isNull();
+        assertThat(meterRegistry.get("recommendation.source.latency").tag("source", "preference").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void getPersonalizedRecommendations_shouldServeColdStartPoolWithoutGeneratingCandidates() {
+        User newcomer = User.builder().id(2L).build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(newcomer));
+        when(coldStartPools.isReady()).thenReturn(true);
+        when(coldStartPools.recommend(newcomer, 3)).thenReturn(List.of(article(41L, 1L), article(42L, 2L), article(43L, 3L)));
+
+        List<NewsArticle> recommendations = engine.getPersonalizedRecommendations(2L, 3);
+
+        assertThat(recommendations).extracting(NewsArticle::getId).containsExactly(41L, 42L, 43L);
+        verify(preferenceRepository, never()).findByUserIdOrderByPreferenceScoreDesc(2L);
+        verify(interactionRepository, never()).findRecentPositiveInteractionsByUserId(eq(2L), any(), any());
+        verify(itemCooccurrenceModel, never()).recommendForUser(eq(2L), anyInt(), any());
+        verify(recommendationCache, never()).put(eq(2L), any());
+        assertThat(meterRegistry.find("recommendation.source.latency").timer()).isNull();
+    }
+
+    private static NewsArticle article(long id, long categoryId) {
+        NewsArticle article = NewsArticle.builder().title("Article " + id).sourceName("source-" + id)
+                .categoryId(categoryId).build();
+        article.setId(id);
+        return article;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.jibmusil.recommendation;
+
+import com.example.jibmusil.news.NewsArticle;
+import com.example.jibmusil.util.LongFloatHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringKernelTest {
+
+    @Test
+    void topK_shouldReturnHighestScoresInDescendingOrder() {
+        float[] scores = {0.3f, 0.9f, 0.1f, 0.7f, 0.5f, 0.8f};
+
+        assertThat(ScoringKernel.topK(scores, scores.length, 3)).containsExactly(1, 5, 3);
+        assertThat(ScoringKernel.topK(scores, scores.length, 10)).containsExactly(1, 5, 3, 4, 0, 2);
+        assertThat(ScoringKernel.topK(scores, scores.length, 0)).isEmpty();
+    }
+
+    @Test
+    void score_shouldRankPreferredCategoriesAndBreakTiesByQuality() {
+        List<NewsArticle> articles = List.of(
+                article(1L, 1L, "10", "0.50"),
+                article(2L, 1L, "400", "0.90"),
+                article(3L, 2L, "900", "1.00"),
+                article(4L, 3L, "0", null));
+        LongFloatHashMap preference = new LongFloatHashMap();
+        preference.put(1L, 0.9f);
+        preference.put(3L, 0.8f);
+
+        float[] scores = new float[articles.size()];
+        ScoringKernel.score(ScoringKernel.Features.of(articles), preference, scores);
+
+        assertThat(scores[2]).isZero();
+        assertThat(ScoringKernel.topK(scores, scores.length, 3)).containsExactly(1, 0, 3);
+    }
+
+    private static NewsArticle article(Long id, Long categoryId, String popularity, String factCheck) {
+        return NewsArticle.builder()
+                .id(id)
+                .categoryId(categoryId)
+                .popularityScore(new BigDecimal(popularity))
+                .factCheckScore(factCheck != null ? new BigDecimal(factCheck) : null)
+                .build();
+    }
+}
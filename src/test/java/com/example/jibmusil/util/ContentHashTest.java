@@ -0,0 +1,27 @@
+package com.example.jibmusil.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHashTest {
+
+    @Test
+    void of_shouldMatchReferenceMurmur3X64_128() {
+        // 참조 구현(seed 0)의 h1, h2를 이어 붙인 값
+        assertThat(ContentHash.of("").toHex()).isEqualTo("00000000000000000000000000000000");
+        assertThat(ContentHash.of("hello").toHex()).isEqualTo("cbd8a7b341bd9b025b1e906a48ae1d19");
+        assertThat(ContentHash.of("The quick brown fox jumps over the lazy dog").toHex())
+                .isEqualTo("e34bbc7bbc071b6c7a433ca9c49a9347");
+    }
+
+    @Test
+    void hash_shouldRoundTripThroughBytesAndHex() {
+        ContentHash hash = ContentHash.of("반도체 수출이 3개월 연속 증가했다.");
+
+        assertThat(ContentHash.fromBytes(hash.toBytes())).isEqualTo(hash);
+        assertThat(ContentHash.fromHex(hash.toHex())).isEqualTo(hash);
+        assertThat(hash.matches("반도체 수출이 3개월 연속 증가했다.")).isTrue();
+        assertThat(hash.matches("반도체 수출이 3개월 연속 감소했다.")).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.jibmusil.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectHashMapTest {
+
+    // 초기 용량 16 × 0.75를 여러 번 넘겨 삽입 도중 재해시가 반복되게 한다
+    private static final int ENTRIES = 5_000;
+
+    @Test
+    void put_shouldKeepEveryEntryAcrossRehashes() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        for (long key = 0; key < ENTRIES; key++) {
+            map.put(key * 31, "v" + key);
+        }
+
+        assertThat(map.size()).isEqualTo(ENTRIES);
+        for (long key = 0; key < ENTRIES; key++) {
+            assertThat(map.get(key * 31)).isEqualTo("v" + key);
+        }
+    }
+
+    @Test
+    void computeIfAbsent_shouldKeepEveryEntryAcrossRehashes() {
+        LongObjectHashMap<long[]> map = new LongObjectHashMap<>();
+
+        for (long key = 1; key <= ENTRIES; key++) {
+            map.computeIfAbsent(key, k -> new long[]{k})[0] += 1;
+        }
+
+        assertThat(map.size()).isEqualTo(ENTRIES);
+        for (long key = 1; key <= ENTRIES; key++) {
+            assertThat(map.get(key)).containsExactly(key + 1);
+        }
+    }
+
+    @Test
+    void remove_shouldKeepRemainingKeysReachable() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        for (long key = 0; key < 1_000; key++) {
+            map.put(key, key);
+        }
+
+        for (long key = 0; key < 1_000; key += 2) {
+            assertThat(map.remove(key)).isTrue();
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        for (long key = 0; key < 1_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? null : key);
+        }
+    }
+}
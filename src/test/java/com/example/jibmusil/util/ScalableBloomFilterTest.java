@@ -0,0 +1,39 @@
+package com.example.jibmusil.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldGrowBeyondInitialCapacityWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        for (long key = 0; key < 10_000; key++) {
+            filter.add(key);
+        }
+
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+        assertThat(filter.approximateCount()).isBetween(9_900, 10_000);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(64, 0.01);
+        for (long key = 0; key < 5_000; key++) {
+            filter.add(key);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (long key = 1_000_000; key < 1_000_000 + probes; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}